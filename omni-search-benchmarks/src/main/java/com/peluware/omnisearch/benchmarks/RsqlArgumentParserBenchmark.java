@@ -0,0 +1,112 @@
+package com.peluware.omnisearch.benchmarks;
+
+import com.peluware.omnisearch.rsql.DefaultRsqlArgumentParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultRsqlArgumentParser#parse(String, Class)} for the argument types that
+ * dominate RSQL traffic: numbers, dates in every supported layout, enums, UUIDs and the
+ * reflective {@code valueOf(String)} fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RsqlArgumentParserBenchmark {
+
+    public enum Status {
+        DRAFT, ACTIVE, SUSPENDED, ARCHIVED
+    }
+
+    /**
+     * Type without a dedicated parser, resolved through its {@code valueOf(String)} factory.
+     */
+    public record Code(String value) {
+        public static Code valueOf(String value) {
+            return new Code(value);
+        }
+    }
+
+    private DefaultRsqlArgumentParser parser;
+    private List<String> integerArguments;
+
+    @Setup
+    public void setUp() {
+        parser = new DefaultRsqlArgumentParser();
+        integerArguments = List.of("1", "2", "3", "5", "8", "13", "21", "34");
+    }
+
+    @Benchmark
+    public Object parseString() {
+        return parser.parse("john", String.class);
+    }
+
+    @Benchmark
+    public Object parseInteger() {
+        return parser.parse("12345", Integer.class);
+    }
+
+    @Benchmark
+    public Object parseIntegerList() {
+        return parser.parse(integerArguments, Integer.class);
+    }
+
+    @Benchmark
+    public Object parseDouble() {
+        return parser.parse("1299.99", Double.class);
+    }
+
+    @Benchmark
+    public Object parseIsoLocalDate() {
+        return parser.parse("2024-05-17", LocalDate.class);
+    }
+
+    @Benchmark
+    public Object parseSlashedLocalDate() {
+        return parser.parse("17/05/2024", LocalDate.class);
+    }
+
+    @Benchmark
+    public Object parseIsoLocalDateTime() {
+        return parser.parse("2024-05-17T10:15:30", LocalDateTime.class);
+    }
+
+    @Benchmark
+    public Object parseSpacedLocalDateTime() {
+        return parser.parse("2024-05-17 10:15:30", LocalDateTime.class);
+    }
+
+    @Benchmark
+    public Object parseDateAsLocalDateTime() {
+        return parser.parse("17/05/2024", LocalDateTime.class);
+    }
+
+    @Benchmark
+    public Object parseLocalTime() {
+        return parser.parse("10:15", LocalTime.class);
+    }
+
+    @Benchmark
+    public Object parseEnum() {
+        return parser.parse("SUSPENDED", Status.class);
+    }
+
+    @Benchmark
+    public Object parseUuid() {
+        return parser.parse("3f2504e0-4f89-11d3-9a0c-0305e82c3301", UUID.class);
+    }
+
+    @Benchmark
+    public Object parseViaValueOf() {
+        return parser.parse("ABC-001", Code.class);
+    }
+}
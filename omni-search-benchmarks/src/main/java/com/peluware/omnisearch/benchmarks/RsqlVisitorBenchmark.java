@@ -0,0 +1,134 @@
+package com.peluware.omnisearch.benchmarks;
+
+import com.peluware.omnisearch.benchmarks.jpa.Customer;
+import com.peluware.omnisearch.benchmarks.mongodb.Product;
+import com.peluware.omnisearch.jpa.rsql.DefaultRsqlJpaBuilderOptions;
+import com.peluware.omnisearch.jpa.rsql.JpaPredicateVisitor;
+import com.peluware.omnisearch.jpa.rsql.RsqlJpaBuilderOptions;
+import com.peluware.omnisearch.mongodb.rsql.DefaultRsqlMongoBuilderOptions;
+import com.peluware.omnisearch.mongodb.rsql.MongoFilterVisitor;
+import com.peluware.omnisearch.mongodb.rsql.RsqlMongoBuilderOptions;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Metamodel;
+import org.bson.conversions.Bson;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Measures RSQL parsing and the two AST visitors in isolation over trees of growing size.
+ *
+ * <p>
+ * Queries are built from {@code size} comparisons, OR-ed in groups of four and AND-ed between
+ * groups, mixing wildcard strings, numeric ranges, {@code =in=} lists and nested selectors.
+ * The trees are parsed once during setup so the visitor benchmarks only pay for the traversal.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RsqlVisitorBenchmark {
+
+    private static final int GROUP_SIZE = 4;
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private RSQLParser rsqlParser;
+    private String jpaQuery;
+    private Node jpaNode;
+    private Node mongoNode;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private Metamodel metamodel;
+    private RsqlJpaBuilderOptions jpaBuilderOptions;
+    private RsqlMongoBuilderOptions mongoBuilderOptions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rsqlParser = RsqlNodeCache.defaultParser();
+
+        jpaQuery = buildQuery(size, i -> switch (i % GROUP_SIZE) {
+            case 0 -> "name==*n" + i + "*";
+            case 1 -> "age=gt=" + i;
+            case 2 -> "status=in=(ACTIVE,PROSPECT)";
+            default -> "address.city==c" + i;
+        });
+        var mongoQuery = buildQuery(size, i -> switch (i % GROUP_SIZE) {
+            case 0 -> "name==*n" + i + "*";
+            case 1 -> "stock=gt=" + i;
+            case 2 -> "status=in=(PUBLISHED,DRAFT)";
+            default -> "category.code==c" + i;
+        });
+
+        jpaNode = rsqlParser.parse(jpaQuery);
+        mongoNode = rsqlParser.parse(mongoQuery);
+
+        entityManagerFactory = Persistence.createEntityManagerFactory("benchmark-pu", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:omni-search-visitor-benchmarks;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.jdbc.user", "sa",
+                "jakarta.persistence.jdbc.password", "",
+                "jakarta.persistence.schema-generation.database.action", "drop-and-create"
+        ));
+        entityManager = entityManagerFactory.createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        metamodel = entityManager.getMetamodel();
+        jpaBuilderOptions = new DefaultRsqlJpaBuilderOptions();
+        mongoBuilderOptions = new DefaultRsqlMongoBuilderOptions();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Node parse() {
+        return rsqlParser.parse(jpaQuery);
+    }
+
+    @Benchmark
+    public Node parseCached() {
+        return RsqlNodeCache.shared().parse(rsqlParser, jpaQuery);
+    }
+
+    @Benchmark
+    public Predicate jpaVisitor() {
+        var criteriaQuery = criteriaBuilder.createQuery(Customer.class);
+        var root = criteriaQuery.from(Customer.class);
+        return jpaNode.accept(new JpaPredicateVisitor<>(root, jpaBuilderOptions, criteriaBuilder, metamodel));
+    }
+
+    @Benchmark
+    public Bson mongoVisitor() {
+        return mongoNode.accept(new MongoFilterVisitor<>(Product.class, mongoBuilderOptions));
+    }
+
+    private static String buildQuery(int size, IntFunction<String> comparison) {
+        var groups = new StringJoiner(";");
+        for (int start = 0; start < size; start += GROUP_SIZE) {
+            var group = new StringJoiner(",", "(", ")");
+            for (int i = start; i < Math.min(start + GROUP_SIZE, size); i++) {
+                group.add(comparison.apply(i));
+            }
+            groups.add(group.toString());
+        }
+        return groups.toString();
+    }
+}
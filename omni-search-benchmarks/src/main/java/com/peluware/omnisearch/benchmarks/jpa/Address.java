@@ -0,0 +1,25 @@
+package com.peluware.omnisearch.benchmarks.jpa;
+
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class Address {
+
+    private String street;
+
+    private String city;
+
+    private String country;
+
+    public String getStreet() {
+        return street;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+}
@@ -0,0 +1,76 @@
+package com.peluware.omnisearch.benchmarks.jpa;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Benchmark entity mixing every attribute kind the JPA provider walks: basic columns of
+ * several types, an enum, an embeddable, an element collection and a to-many association.
+ */
+@Entity
+@Table(name = "bench_customer")
+public class Customer {
+
+    public enum Status {
+        PROSPECT, ACTIVE, SUSPENDED, CLOSED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private UUID externalId;
+
+    private String name;
+
+    private String email;
+
+    private boolean active;
+
+    private Integer age;
+
+    private LocalDate birthDate;
+
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Embedded
+    private Address address;
+
+    @ElementCollection
+    @CollectionTable(name = "bench_customer_tags")
+    private Set<String> tags = new HashSet<>();
+
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "customer_id")
+    private List<PurchaseOrder> orders = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public List<PurchaseOrder> getOrders() {
+        return orders;
+    }
+}
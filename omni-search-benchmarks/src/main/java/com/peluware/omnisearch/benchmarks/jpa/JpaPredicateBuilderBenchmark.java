@@ -0,0 +1,99 @@
+package com.peluware.omnisearch.benchmarks.jpa;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.jpa.DefaultJpaOmniSearchPredicateBuilder;
+import com.peluware.omnisearch.jpa.JpaOmniSearchPredicateBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Metamodel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultJpaOmniSearchPredicateBuilder#buildPredicate} against an in-memory H2
+ * database through Hibernate. Only predicate construction is timed: a fresh
+ * {@link jakarta.persistence.criteria.CriteriaQuery} is created per invocation, but nothing is
+ * sent to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JpaPredicateBuilderBenchmark {
+
+    /**
+     * Shape of the request handed to the builder.
+     */
+    public enum Scenario {
+        /**
+         * Free-text keyword only, walking every searchable attribute.
+         */
+        SEARCH,
+        /**
+         * Free-text keyword propagated through the {@code orders} association.
+         */
+        SEARCH_PROPAGATED,
+        /**
+         * RSQL query over basic, embedded and to-many attributes.
+         */
+        QUERY,
+        /**
+         * Keyword and RSQL query combined.
+         */
+        SEARCH_AND_QUERY
+    }
+
+    private static final String QUERY = "status=in=(ACTIVE,PROSPECT);age=ge=18;address.city==*quito*,orders.total=gt=100.50;createdAt=lt=2024-01-01T00:00:00";
+
+    @Param
+    public Scenario scenario;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private Metamodel metamodel;
+    private JpaOmniSearchPredicateBuilder predicateBuilder;
+    private OmniSearchBaseOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("benchmark-pu", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:omni-search-benchmarks;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.jdbc.user", "sa",
+                "jakarta.persistence.jdbc.password", "",
+                "jakarta.persistence.schema-generation.database.action", "drop-and-create"
+        ));
+        entityManager = entityManagerFactory.createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        metamodel = entityManager.getMetamodel();
+        predicateBuilder = new DefaultJpaOmniSearchPredicateBuilder();
+
+        options = switch (scenario) {
+            case SEARCH -> new OmniSearchBaseOptions().search("active");
+            case SEARCH_PROPAGATED -> new OmniSearchBaseOptions().search("2024").propagations(Set.of("orders"));
+            case QUERY -> new OmniSearchBaseOptions().query(QUERY);
+            case SEARCH_AND_QUERY -> new OmniSearchBaseOptions().search("active").query(QUERY);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        var criteriaQuery = criteriaBuilder.createQuery(Customer.class);
+        var root = criteriaQuery.from(Customer.class);
+        return predicateBuilder.buildPredicate(root, options, criteriaBuilder, metamodel);
+    }
+}
@@ -0,0 +1,37 @@
+package com.peluware.omnisearch.benchmarks.jpa;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "bench_purchase_order")
+public class PurchaseOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String code;
+
+    private BigDecimal total;
+
+    private LocalDate placedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public LocalDate getPlacedAt() {
+        return placedAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.peluware.omnisearch.benchmarks.mongodb;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.mongodb.DefaultMongoOmniSearchFilterBuilder;
+import com.peluware.omnisearch.mongodb.MongoOmniSearchFilterBuilder;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultMongoOmniSearchFilterBuilder#buildFilter}. No server is involved:
+ * {@link #buildFilter()} times the construction of the filter tree and {@link #buildAndRenderFilter()}
+ * additionally renders it to BSON, which is what the driver does before sending the command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MongoFilterBuilderBenchmark {
+
+    /**
+     * Shape of the request handed to the builder.
+     */
+    public enum Scenario {
+        /**
+         * Free-text keyword only, walking every searchable field.
+         */
+        SEARCH,
+        /**
+         * Free-text keyword propagated into the {@code category} and {@code reviews} documents.
+         */
+        SEARCH_PROPAGATED,
+        /**
+         * RSQL query over basic, nested and array fields.
+         */
+        QUERY,
+        /**
+         * Keyword and RSQL query combined.
+         */
+        SEARCH_AND_QUERY
+    }
+
+    private static final String QUERY = "status=in=(PUBLISHED,DRAFT);price=ge=10.5;category.name==*tools*,reviews.rating=gt=3;createdAt=lt=2024-01-01T00:00:00";
+
+    @Param
+    public Scenario scenario;
+
+    private MongoOmniSearchFilterBuilder filterBuilder;
+    private CodecRegistry codecRegistry;
+    private OmniSearchBaseOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filterBuilder = new DefaultMongoOmniSearchFilterBuilder();
+        codecRegistry = MongoClientSettings.getDefaultCodecRegistry();
+
+        options = switch (scenario) {
+            case SEARCH -> new OmniSearchBaseOptions().search("published");
+            case SEARCH_PROPAGATED -> new OmniSearchBaseOptions().search("4").propagations(Set.of("category", "reviews"));
+            case QUERY -> new OmniSearchBaseOptions().query(QUERY);
+            case SEARCH_AND_QUERY -> new OmniSearchBaseOptions().search("published").query(QUERY);
+        };
+    }
+
+    @Benchmark
+    public Bson buildFilter() {
+        return filterBuilder.buildFilter(Product.class, options);
+    }
+
+    @Benchmark
+    public BsonDocument buildAndRenderFilter() {
+        return filterBuilder.buildFilter(Product.class, options).toBsonDocument(BsonDocument.class, codecRegistry);
+    }
+}
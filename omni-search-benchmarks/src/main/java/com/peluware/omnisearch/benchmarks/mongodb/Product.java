@@ -0,0 +1,74 @@
+package com.peluware.omnisearch.benchmarks.mongodb;
+
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Benchmark document covering basic fields, an enum, a nested document and arrays of both
+ * basic values and nested documents.
+ */
+public class Product {
+
+    public enum Status {
+        DRAFT, PUBLISHED, DISCONTINUED
+    }
+
+    private ObjectId id;
+    private UUID sku;
+    private String name;
+    private String description;
+    private Double price;
+    private Integer stock;
+    private Boolean active;
+    private Status status;
+    private LocalDateTime createdAt;
+    private Category category;
+    private List<String> tags;
+    private List<Review> reviews;
+
+    public ObjectId getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public List<Review> getReviews() {
+        return reviews;
+    }
+
+    public static class Category {
+        private String name;
+        private String code;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    public static class Review {
+        private String author;
+        private String comment;
+        private Integer rating;
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public Integer getRating() {
+            return rating;
+        }
+    }
+}
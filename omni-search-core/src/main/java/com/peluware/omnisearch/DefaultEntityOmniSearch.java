@@ -1,8 +1,12 @@
 package com.peluware.omnisearch;
 
 import com.peluware.domain.Page;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.count.CountedPage;
+import com.peluware.omnisearch.keyset.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of {@link EntityOmniSearch} that delegates
@@ -37,6 +41,11 @@ public class DefaultEntityOmniSearch<E> implements EntityOmniSearch<E> {
         return omniSearch.list(entityClass, options);
     }
 
+    @Override
+    public Stream<E> stream(OmniSearchOptions options) {
+        return omniSearch.stream(entityClass, options);
+    }
+
     @Override
     public long count(OmniSearchBaseOptions options) {
         return omniSearch.count(entityClass, options);
@@ -46,4 +55,29 @@ public class DefaultEntityOmniSearch<E> implements EntityOmniSearch<E> {
     public Page<E> page(OmniSearchOptions options) {
         return omniSearch.page(entityClass, options);
     }
-}
\ No newline at end of file
+
+    @Override
+    public CountResult countResult(OmniSearchBaseOptions options) {
+        return omniSearch.countResult(entityClass, options);
+    }
+
+    @Override
+    public CountedPage<E> countedPage(OmniSearchOptions options) {
+        return omniSearch.countedPage(entityClass, options);
+    }
+
+    @Override
+    public List<Page<E>> batch(List<OmniSearchOptions> options) {
+        return omniSearch.batch(entityClass, options);
+    }
+
+    @Override
+    public KeysetPage<E> keysetPage(OmniSearchOptions options) {
+        return omniSearch.keysetPage(entityClass, options);
+    }
+
+    @Override
+    public <R> List<R> project(OmniSearchOptions options, Class<R> projection) {
+        return omniSearch.project(entityClass, options, projection);
+    }
+}
@@ -1,8 +1,14 @@
 package com.peluware.omnisearch;
 
 import com.peluware.domain.Page;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.count.CountedPage;
+import com.peluware.omnisearch.keyset.KeysetPage;
+import com.peluware.omnisearch.utils.BatchSearches;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Typed facade for performing search operations on a specific entity type.
@@ -30,6 +36,23 @@ public interface EntityOmniSearch<E> {
      */
     List<E> list(OmniSearchOptions options);
 
+    /**
+     * Executes a search operation using the provided options and returns the matched entities
+     * as a lazily consumed stream.
+     *
+     * <p>
+     * The returned stream may hold an open cursor and must be closed by the caller,
+     * typically with a try-with-resources block.
+     * </p>
+     *
+     * @param options the search options including filters, sorting, and pagination
+     * @return a stream of matched entities that must be closed after use
+     * @see OmniSearch#stream(Class, OmniSearchOptions)
+     */
+    default Stream<E> stream(OmniSearchOptions options) {
+        return list(options).stream();
+    }
+
     /**
      * Counts the total number of matched entities using the provided options.
      *
@@ -38,6 +61,20 @@ public interface EntityOmniSearch<E> {
      */
     long count(OmniSearchBaseOptions options);
 
+    /**
+     * Counts the matched entities with the count accuracy and limit of the options, telling whether the total
+     * is exact or capped.
+     *
+     * @param options the search options including filters, joins and count accuracy
+     * @return the total number of matched entities, or its estimate
+     * @see OmniSearch#countResult(Class, OmniSearchBaseOptions)
+     */
+    default CountResult countResult(OmniSearchBaseOptions options) {
+        var count = count(options);
+        var limit = options.getCountLimit();
+        return limit > 0 ? CountResult.limited(count, limit) : CountResult.exact(count);
+    }
+
     /**
      * Executes a paginated search operation using the provided options.
      *
@@ -51,4 +88,59 @@ public interface EntityOmniSearch<E> {
      * @return a paginated result of matched entities
      */
     Page<E> page(OmniSearchOptions options);
-}
\ No newline at end of file
+
+    /**
+     * Executes a paginated search operation, also telling whether the total of the page is exact.
+     *
+     * @param options the search options including filters, sorting, pagination and count accuracy
+     * @return the paginated result of matched entities and its count
+     * @see OmniSearch#countedPage(Class, OmniSearchOptions)
+     */
+    default CountedPage<E> countedPage(OmniSearchOptions options) {
+        var content = list(options);
+        var count = countResult(options);
+        return new CountedPage<>(Page.deferred(content, options.getPagination(), options.getSort(), count::total), count);
+    }
+
+    /**
+     * Executes several paginated search operations in as few round-trips as the implementation allows.
+     *
+     * @param options the search options of every search, none may use keyset pagination
+     * @return the paginated results, in the order of {@code options}
+     * @see OmniSearch#batch(Class, List)
+     */
+    default List<Page<E>> batch(List<OmniSearchOptions> options) {
+        BatchSearches.requireNoKeyset(options);
+        var pages = new ArrayList<Page<E>>(options.size());
+        for (var option : options) {
+            pages.add(page(option));
+        }
+        return pages;
+    }
+
+    /**
+     * Executes a keyset-paginated search operation using the provided options.
+     *
+     * @param options the search options including filters, sorting, and keyset pagination
+     * @return the page of matched entities and the token of the next page
+     * @throws UnsupportedOperationException if the implementation does not support keyset pagination
+     * @see OmniSearch#keysetPage(Class, OmniSearchOptions)
+     */
+    default KeysetPage<E> keysetPage(OmniSearchOptions options) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support keyset pagination");
+    }
+
+    /**
+     * Executes a search operation that reads only some properties of the matched entities.
+     *
+     * @param options    the search options including filters, sorting, pagination and fields
+     * @param projection the class of the results
+     * @param <R>        the result type
+     * @return a list of the projected matches
+     * @throws UnsupportedOperationException if the implementation does not support projections
+     * @see OmniSearch#project(Class, OmniSearchOptions, Class)
+     */
+    default <R> List<R> project(OmniSearchOptions options, Class<R> projection) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support projections");
+    }
+}
@@ -0,0 +1,124 @@
+package com.peluware.omnisearch;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed lookup of the constants of an enum whose lower-cased name contains a search value, built once per
+ * enum type and used by {@link EnumSearchCandidate#collectEnumCandidates(Class, String)}.
+ *
+ * <p>
+ * Every substring of the lower-cased names maps to the constants containing it, in declaration order, so that
+ * matching names is a single lookup. Enums whose names have too many substrings fall back to scanning the
+ * lower-cased names. Constants implementing {@link EnumSearchCandidate} are still asked on every lookup, since
+ * their answer may depend on anything.
+ * </p>
+ */
+final class EnumCandidateIndex {
+
+    /**
+     * Maximum number of substrings indexed for an enum, beyond which names are scanned instead.
+     */
+    static final int MAX_SUBSTRINGS = 16_384;
+
+    private static final ClassValue<EnumCandidateIndex> INDEXES = new ClassValue<>() {
+        @Override
+        protected EnumCandidateIndex computeValue(Class<?> type) {
+            return new EnumCandidateIndex(type.getEnumConstants());
+        }
+    };
+
+    private final Enum<?>[] constants;
+    private final String[] lowerCaseNames;
+    private final EnumSearchCandidate[] candidates;
+    private final boolean hasCandidates;
+    private final Set<Enum<?>> all;
+    private final @Nullable Map<String, Set<Enum<?>>> substrings;
+
+    private EnumCandidateIndex(Object[] enumConstants) {
+        this.constants = new Enum<?>[enumConstants.length];
+        this.lowerCaseNames = new String[enumConstants.length];
+        this.candidates = new EnumSearchCandidate[enumConstants.length];
+        var markers = false;
+        var substringCount = 0L;
+        for (int i = 0; i < enumConstants.length; i++) {
+            var constant = (Enum<?>) enumConstants[i];
+            constants[i] = constant;
+            lowerCaseNames[i] = constant.name().toLowerCase();
+            if (constant instanceof EnumSearchCandidate candidate) {
+                candidates[i] = candidate;
+                markers = true;
+            }
+            var length = (long) lowerCaseNames[i].length();
+            substringCount += length * (length + 1) / 2;
+        }
+        this.hasCandidates = markers;
+        this.all = immutableSet(List.of(constants));
+        this.substrings = substringCount <= MAX_SUBSTRINGS ? indexSubstrings() : null;
+    }
+
+    /**
+     * @param enumType the enum type
+     * @return the index of {@code enumType}, built on first use
+     */
+    static EnumCandidateIndex of(Class<? extends Enum<?>> enumType) {
+        return INDEXES.get(enumType);
+    }
+
+    /**
+     * @param value the search value
+     * @return the constants whose name contains {@code value} ignoring case, or that accept it as
+     * {@link EnumSearchCandidate}s, in declaration order
+     */
+    Set<Enum<?>> match(String value) {
+        var lowerCase = value.toLowerCase();
+        if (lowerCase.isEmpty()) {
+            return all;
+        }
+        var byName = substrings != null ? substrings.getOrDefault(lowerCase, Set.of()) : null;
+        if (byName != null && !hasCandidates) {
+            return byName;
+        }
+
+        var matched = new ArrayList<Enum<?>>();
+        for (int i = 0; i < constants.length; i++) {
+            var constant = constants[i];
+            var nameMatches = byName != null ? byName.contains(constant) : lowerCaseNames[i].contains(lowerCase);
+            if (nameMatches || (candidates[i] != null && candidates[i].isCandidate(value))) {
+                matched.add(constant);
+            }
+        }
+        return matched.isEmpty() ? Set.of() : immutableSet(matched);
+    }
+
+    private Map<String, Set<Enum<?>>> indexSubstrings() {
+        var index = new HashMap<String, List<Enum<?>>>();
+        for (int i = 0; i < constants.length; i++) {
+            var name = lowerCaseNames[i];
+            var seen = new HashSet<String>();
+            for (int start = 0; start < name.length(); start++) {
+                for (int end = start + 1; end <= name.length(); end++) {
+                    var substring = name.substring(start, end);
+                    if (seen.add(substring)) {
+                        index.computeIfAbsent(substring, s -> new ArrayList<>()).add(constants[i]);
+                    }
+                }
+            }
+        }
+        var result = new HashMap<String, Set<Enum<?>>>(index.size() * 4 / 3 + 1);
+        index.forEach((substring, matches) -> result.put(substring, immutableSet(matches)));
+        return Map.copyOf(result);
+    }
+
+    private static Set<Enum<?>> immutableSet(List<Enum<?>> constants) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(constants));
+    }
+}
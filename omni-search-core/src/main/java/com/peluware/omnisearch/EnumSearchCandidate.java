@@ -1,7 +1,6 @@
 package com.peluware.omnisearch;
 
 import java.util.Collection;
-import java.util.HashSet;
 
 /**
  * Interface for JPA Enum Search Candidates.
@@ -15,20 +14,16 @@ public interface EnumSearchCandidate {
     boolean isCandidate(String value);
 
     /**
-     * Retrieves a list of matching enum constants based on the search term.
+     * Retrieves the enum constants matching the search term: those whose name contains it ignoring case, and
+     * those implementing {@link EnumSearchCandidate} that accept it. Names are matched through an index built
+     * once per enum type.
      *
      * @param enumType the enum type
      * @param value    the value to match
-     * @return a set of matched enum constants
+     * @return an immutable set of matched enum constants, in declaration order
      */
     static Collection<Enum<?>> collectEnumCandidates(Class<? extends Enum<?>> enumType, String value) {
-        var set = new HashSet<Enum<?>>();
-        for (var constant : enumType.getEnumConstants()) {
-            if (constant.name().toLowerCase().contains(value.toLowerCase()) || (constant instanceof EnumSearchCandidate c && c.isCandidate(value))) {
-                set.add(constant);
-            }
-        }
-        return set;
+        return EnumCandidateIndex.of(enumType).match(value);
     }
 
 }
@@ -0,0 +1,337 @@
+package com.peluware.omnisearch;
+
+import com.peluware.domain.DefaultPagination;
+import com.peluware.domain.Order;
+import com.peluware.domain.Pagination;
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.keyset.KeysetPagination;
+import com.peluware.omnisearch.utils.Murmur3;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of search options returned by {@link OmniSearchBaseOptions#freeze()}. It can be passed
+ * to any search method, shared between threads and used as a map key: two snapshots are equal when their
+ * canonical forms are, so requests that only differ in the order of propagations or the whitespace of the RSQL
+ * query share their key. The search term is matched verbatim by the providers and kept as it is.
+ *
+ * <p>
+ * The {@link #canonicalForm() canonical form} and its 128-bit {@link #fingerprint() fingerprint} are computed
+ * once, when the snapshot is taken. Every setter throws {@link UnsupportedOperationException}.
+ * </p>
+ */
+public final class FrozenSearchOptions extends OmniSearchOptions {
+
+    private final @Nullable String search;
+    private final Set<String> propagations;
+    private final @Nullable String query;
+    private final CountAccuracy countAccuracy;
+    private final long countLimit;
+    private final Sort sort;
+    private final Pagination pagination;
+    private final @Nullable KeysetPagination keyset;
+    private final List<String> fields;
+    private final String canonicalForm;
+    private final Fingerprint fingerprint;
+
+    FrozenSearchOptions(OmniSearchBaseOptions options) {
+        this.search = options.getSearch();
+        this.propagations = Collections.unmodifiableSet(new LinkedHashSet<>(options.getPropagations().stream().sorted().toList()));
+        this.query = options.getQuery();
+        this.countAccuracy = options.getCountAccuracy();
+        this.countLimit = options.getCountLimit();
+        if (options instanceof OmniSearchOptions searchOptions) {
+            var source = searchOptions.getPagination();
+            this.sort = Sort.by(List.copyOf(searchOptions.getSort().orders()));
+            this.pagination = source.isPaginated()
+                    ? new DefaultPagination(source.getNumber(), source.getSize())
+                    : Pagination.unpaginated();
+            this.keyset = searchOptions.getKeyset();
+            this.fields = searchOptions.getFields();
+        } else {
+            this.sort = Sort.unsorted();
+            this.pagination = Pagination.unpaginated();
+            this.keyset = null;
+            this.fields = List.of();
+        }
+        this.canonicalForm = canonicalize();
+        this.fingerprint = Fingerprint.of(canonicalForm);
+    }
+
+    /**
+     * The 128-bit MurmurHash3 of a canonical form. It is meant to shorten keys of caches and coalescing
+     * layers, not to resist forged collisions.
+     *
+     * @param high the first 64 bits
+     * @param low  the last 64 bits
+     */
+    public record Fingerprint(long high, long low) {
+
+        static Fingerprint of(String canonicalForm) {
+            var hash = Murmur3.hash128(canonicalForm.getBytes(StandardCharsets.UTF_8), 0);
+            return new Fingerprint(hash[0], hash[1]);
+        }
+
+        /**
+         * @return the 16 bytes of the fingerprint, big-endian
+         */
+        public byte[] toBytes() {
+            return ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+        }
+
+        /**
+         * @return the fingerprint as 32 lowercase hexadecimal digits
+         */
+        @Override
+        public String toString() {
+            return HexFormat.of().toHexDigits(high) + HexFormat.of().toHexDigits(low);
+        }
+    }
+
+    /**
+     * Returns the canonical form of the options: every option in a fixed order, with the search term verbatim
+     * (blank means none), propagations sorted, insignificant whitespace of the RSQL query removed, and the sort,
+     * pagination, keyset and fields folded in. Snapshots with the same canonical form return the same results.
+     *
+     * @return the canonical form
+     */
+    public String canonicalForm() {
+        return canonicalForm;
+    }
+
+    /**
+     * @return the 128-bit fingerprint of the {@link #canonicalForm() canonical form}
+     */
+    public Fingerprint fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns this snapshot, which is already immutable.
+     *
+     * @return this snapshot
+     */
+    @Override
+    public FrozenSearchOptions freeze() {
+        return this;
+    }
+
+    @Override
+    public OmniSearchOptions search(String search) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions propagations(@NonNull Set<String> propagations) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions propagations(String @NonNull ... propagations) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions query(String query) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions countAccuracy(@NonNull CountAccuracy countAccuracy) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions countLimit(long countLimit) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions sort(@NonNull Sort sort) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions sort(Order @NonNull ... orders) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions sort(@NonNull Collection<Order> orders) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions pagination(@NonNull Pagination page) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions pagination(int pageNumber, int pageSize) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions keyset(@Nullable KeysetPagination keyset) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions keyset(int pageSize, @Nullable String token) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions fields(String @NonNull ... fields) {
+        throw frozen();
+    }
+
+    @Override
+    public OmniSearchOptions fields(@NonNull Collection<String> fields) {
+        throw frozen();
+    }
+
+    @Override
+    public String getSearch() {
+        return search;
+    }
+
+    @Override
+    public Set<String> getPropagations() {
+        return propagations;
+    }
+
+    @Override
+    public String getQuery() {
+        return query;
+    }
+
+    @Override
+    public CountAccuracy getCountAccuracy() {
+        return countAccuracy;
+    }
+
+    @Override
+    public long getCountLimit() {
+        return countLimit;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    @Override
+    public @Nullable KeysetPagination getKeyset() {
+        return keyset;
+    }
+
+    @Override
+    public List<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof FrozenSearchOptions other
+                && fingerprint.equals(other.fingerprint)
+                && canonicalForm.equals(other.canonicalForm);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) fingerprint.low();
+    }
+
+    @Override
+    public String toString() {
+        return canonicalForm;
+    }
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("Frozen search options cannot be modified");
+    }
+
+    private String canonicalize() {
+        var builder = new StringBuilder(64);
+        append(builder, "search", search == null || search.isBlank() ? null : search);
+        append(builder, "propagations", String.join(",", propagations));
+        append(builder, "query", query == null || query.isBlank() ? null : normalizeQuery(query));
+        append(builder, "sort", String.join(",", sort.orders().stream().map(order -> order.property() + ":" + order.direction()).toList()));
+        append(builder, "page", pagination.isPaginated() ? pagination.getNumber() + "x" + pagination.getSize() : null);
+        append(builder, "keyset", keyset == null ? null : keyset.size() + ":" + keyset.tiebreaker() + ":" + keyset.token());
+        append(builder, "fields", String.join(",", fields));
+        append(builder, "count", countAccuracy + ":" + countLimit);
+        return builder.toString();
+    }
+
+    /**
+     * Appends {@code name=length:value;} so that values containing separators cannot be confused with one
+     * another; a {@code null} value is written as {@code name=;}.
+     */
+    private static void append(StringBuilder builder, String name, @Nullable String value) {
+        builder.append(name).append('=');
+        if (value != null) {
+            builder.append(value.length()).append(':').append(value);
+        }
+        builder.append(';');
+    }
+
+    /**
+     * Collapses whitespace outside quoted arguments to a single space, and drops it around the structural
+     * characters {@code ;}, {@code ,}, {@code (} and {@code )}. Spaces between words are kept, since they
+     * separate the {@code and}/{@code or} keywords.
+     */
+    static String normalizeQuery(String query) {
+        var builder = new StringBuilder(query.length());
+        char quote = 0;
+        var pendingSpace = false;
+        for (int i = 0; i < query.length(); i++) {
+            var c = query.charAt(i);
+            if (quote != 0) {
+                builder.append(c);
+                if (c == '\\' && i + 1 < query.length()) {
+                    builder.append(query.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && !builder.isEmpty() && !isStructural(c) && !isStructural(builder.charAt(builder.length() - 1))) {
+                builder.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '\'' || c == '"') {
+                quote = c;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isStructural(char c) {
+        return c == ';' || c == ',' || c == '(' || c == ')';
+    }
+}
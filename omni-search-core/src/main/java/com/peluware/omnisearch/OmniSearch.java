@@ -1,8 +1,14 @@
 package com.peluware.omnisearch;
 
 import com.peluware.domain.Page;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.count.CountedPage;
+import com.peluware.omnisearch.keyset.KeysetPage;
+import com.peluware.omnisearch.utils.BatchSearches;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Defines the contract for performing dynamic and flexible entity-based search operations.
@@ -19,6 +25,30 @@ public interface OmniSearch {
      */
     <E> List<E> list(Class<E> entityClass, OmniSearchOptions options);
 
+    /**
+     * Executes a search operation for the specified entity class and returns the matched entities
+     * as a lazily consumed {@link Stream}.
+     *
+     * <p>
+     * Unlike {@link #list(Class, OmniSearchOptions)}, implementations backed by a database cursor
+     * fetch rows incrementally, so arbitrarily large result sets can be processed with constant memory.
+     * The returned stream may hold an open cursor or connection and <b>must be closed</b> by the caller,
+     * typically with a try-with-resources block.
+     * </p>
+     *
+     * <p>
+     * The default implementation simply streams the result of {@link #list(Class, OmniSearchOptions)}.
+     * </p>
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return a stream of matched entities that must be closed after use
+     */
+    default <E> Stream<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return list(entityClass, options).stream();
+    }
+
     /**
      * Counts the total number of matched entities for the specified entity class using the provided options.
      *
@@ -30,6 +60,27 @@ public interface OmniSearch {
     <E> long count(Class<E> entityClass, OmniSearchBaseOptions options);
 
 
+    /**
+     * Counts the matched entities with the {@link OmniSearchBaseOptions#getCountAccuracy() accuracy} and up to
+     * the {@link OmniSearchBaseOptions#getCountLimit() limit} of the options, telling whether the total is exact
+     * or capped.
+     *
+     * <p>
+     * The default implementation runs {@link #count(Class, OmniSearchBaseOptions)} and reports it as exact, or
+     * capped if it reaches the count limit. Implementations able to estimate or limit counts override both methods.
+     * </p>
+     *
+     * @param entityClass the class of the entity to count
+     * @param options     the search options including filters, joins and count accuracy
+     * @param <E>         the entity type
+     * @return the total number of matched entities, or its estimate
+     */
+    default <E> CountResult countResult(Class<E> entityClass, OmniSearchBaseOptions options) {
+        var count = count(entityClass, options);
+        var limit = options.getCountLimit();
+        return limit > 0 ? CountResult.limited(count, limit) : CountResult.exact(count);
+    }
+
     /**
      * Executes a paginated search operation for the specified entity class using the provided options.
      * This method combines the results of {@link #list(Class, OmniSearchOptions)} and {@link #count(Class, OmniSearchBaseOptions)}
@@ -49,6 +100,80 @@ public interface OmniSearch {
         );
     }
 
+    /**
+     * Executes a paginated search operation like {@link #page(Class, OmniSearchOptions)}, also telling whether
+     * the total of the page is exact or was estimated according to the
+     * {@link OmniSearchBaseOptions#getCountAccuracy() count accuracy} of the options. The count is run eagerly.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, pagination and count accuracy
+     * @param <E>         the entity type
+     * @return the paginated result of matched entities and its count
+     */
+    default <E> CountedPage<E> countedPage(Class<E> entityClass, OmniSearchOptions options) {
+        var content = list(entityClass, options);
+        var count = countResult(entityClass, options);
+        return new CountedPage<>(Page.deferred(content, options.getPagination(), options.getSort(), count::total), count);
+    }
+
+    /**
+     * Executes a keyset-paginated search operation for the specified entity class. The page starts right after
+     * the row identified by the token of {@link OmniSearchOptions#getKeyset()} and carries the token of the
+     * following page, so the cost of a page does not grow with its depth.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and keyset pagination
+     * @param <E>         the entity type
+     * @return the page of matched entities and the token of the next page
+     * @throws IllegalArgumentException      if the options have no keyset pagination or the token is invalid
+     * @throws UnsupportedOperationException if the implementation does not support keyset pagination
+     */
+    default <E> KeysetPage<E> keysetPage(Class<E> entityClass, OmniSearchOptions options) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support keyset pagination");
+    }
+
+    /**
+     * Executes a search operation that reads only some properties of the matched entities and returns them as
+     * instances of {@code projection}, typically a record. The properties are those of
+     * {@link OmniSearchOptions#getFields()} or, if none are set, the components of the {@code projection} record.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, pagination and fields
+     * @param projection  the class of the results
+     * @param <E>         the entity type
+     * @param <R>         the result type
+     * @return a list of the projected matches
+     * @throws IllegalArgumentException      if no fields are set and {@code projection} is not a record, or the options use keyset pagination
+     * @throws UnsupportedOperationException if the implementation does not support projections
+     */
+    default <E, R> List<R> project(Class<E> entityClass, OmniSearchOptions options, Class<R> projection) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support projections");
+    }
+
+    /**
+     * Executes several paginated search operations for the same entity class, for instance the widgets of a
+     * dashboard. Implementations may combine them into fewer round-trips than calling
+     * {@link #page(Class, OmniSearchOptions)} for each of them.
+     *
+     * <p>
+     * The default implementation simply calls {@link #page(Class, OmniSearchOptions)} for every options.
+     * </p>
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options of every search, none may use keyset pagination
+     * @param <E>         the entity type
+     * @return the paginated results, in the order of {@code options}
+     * @throws IllegalArgumentException if an options uses keyset pagination
+     */
+    default <E> List<Page<E>> batch(Class<E> entityClass, List<OmniSearchOptions> options) {
+        BatchSearches.requireNoKeyset(options);
+        var pages = new ArrayList<Page<E>>(options.size());
+        for (var option : options) {
+            pages.add(page(entityClass, option));
+        }
+        return pages;
+    }
+
     default <Entity> EntityOmniSearch<Entity> forEntity(Class<Entity> entityClass) {
         return new DefaultEntityOmniSearch<>(this, entityClass);
     }
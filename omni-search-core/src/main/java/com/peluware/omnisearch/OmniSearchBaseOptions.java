@@ -1,6 +1,7 @@
 package com.peluware.omnisearch;
 
 
+import com.peluware.omnisearch.count.CountAccuracy;
 import org.jspecify.annotations.NonNull;
 
 import java.util.Set;
@@ -14,6 +15,8 @@ public class OmniSearchBaseOptions {
     private String search = null;
     private Set<String> propagations = Set.of();
     private String query = null;
+    private CountAccuracy countAccuracy = CountAccuracy.EXACT;
+    private long countLimit = 0;
 
     /**
      * Sets a simple search keyword to be used in the query.
@@ -58,6 +61,44 @@ public class OmniSearchBaseOptions {
         return this;
     }
 
+    /**
+     * Sets how accurate counts must be, {@link CountAccuracy#EXACT} by default.
+     *
+     * @param countAccuracy the accuracy of counts
+     * @return the updated options
+     */
+    public OmniSearchBaseOptions countAccuracy(@NonNull CountAccuracy countAccuracy) {
+        this.countAccuracy = countAccuracy;
+        return this;
+    }
+
+    /**
+     * Sets the number of matches after which counts stop, for totals displayed as "1,000+ results". Counting
+     * up to a limit reads at most that many rows, so it is cheap whatever the size of the collection, and the
+     * {@link #getCountAccuracy() count accuracy} is then ignored.
+     *
+     * @param countLimit the count limit, or {@code 0} to count every match
+     * @return the updated options
+     */
+    public OmniSearchBaseOptions countLimit(long countLimit) {
+        if (countLimit < 0) {
+            throw new IllegalArgumentException("Count limit must not be negative");
+        }
+        this.countLimit = countLimit;
+        return this;
+    }
+
+    /**
+     * Takes an immutable snapshot of these options, safe to share between threads and usable as a cache key.
+     * Later changes to these options do not affect the snapshot.
+     *
+     * @return the snapshot, with its canonical form and fingerprint already computed
+     * @see FrozenSearchOptions#canonicalForm()
+     */
+    public FrozenSearchOptions freeze() {
+        return new FrozenSearchOptions(this);
+    }
+
     /**
      * Gets the simple search keyword.
      *
@@ -84,4 +125,22 @@ public class OmniSearchBaseOptions {
     public String getQuery() {
         return query;
     }
+
+    /**
+     * Gets how accurate counts must be.
+     *
+     * @return the accuracy of counts
+     */
+    public CountAccuracy getCountAccuracy() {
+        return countAccuracy;
+    }
+
+    /**
+     * Gets the number of matches after which counts stop.
+     *
+     * @return the count limit, {@code 0} if every match is counted
+     */
+    public long getCountLimit() {
+        return countLimit;
+    }
 }
@@ -4,9 +4,14 @@ import com.peluware.domain.DefaultPagination;
 import com.peluware.domain.Order;
 import com.peluware.domain.Pagination;
 import com.peluware.domain.Sort;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.keyset.KeysetPagination;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -16,6 +21,8 @@ public class OmniSearchOptions extends OmniSearchBaseOptions {
 
     private Sort sort = Sort.unsorted();
     private Pagination pagination = Pagination.unpaginated();
+    private @Nullable KeysetPagination keyset = null;
+    private List<String> fields = List.of();
 
     /**
      * {@inheritDoc}
@@ -49,6 +56,22 @@ public class OmniSearchOptions extends OmniSearchBaseOptions {
         return (OmniSearchOptions) super.query(query);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OmniSearchOptions countAccuracy(@NonNull CountAccuracy countAccuracy) {
+        return (OmniSearchOptions) super.countAccuracy(countAccuracy);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OmniSearchOptions countLimit(long countLimit) {
+        return (OmniSearchOptions) super.countLimit(countLimit);
+    }
+
     /**
      * Sets the sort configuration.
      *
@@ -102,6 +125,59 @@ public class OmniSearchOptions extends OmniSearchBaseOptions {
         return pagination(new DefaultPagination(pageNumber, pageSize));
     }
 
+    /**
+     * Sets keyset (seek) pagination. When set, it takes precedence over {@link #pagination(Pagination)}:
+     * rows are read after the position encoded in the token instead of skipping the previous pages.
+     *
+     * @param keyset the keyset pagination, or {@code null} to disable it
+     * @return the updated options
+     * @see OmniSearch#keysetPage(Class, OmniSearchOptions)
+     */
+    public OmniSearchOptions keyset(@Nullable KeysetPagination keyset) {
+        this.keyset = keyset;
+        return this;
+    }
+
+    /**
+     * Sets keyset (seek) pagination with the given page size, starting after the given token.
+     *
+     * @param pageSize the size of the page
+     * @param token    the token returned with the previous page, or {@code null} for the first page
+     * @return the updated options
+     */
+    public OmniSearchOptions keyset(int pageSize, @Nullable String token) {
+        return keyset(KeysetPagination.after(token, pageSize));
+    }
+
+    /**
+     * Restricts the properties read for every match to the given ones, so wide entities or documents are not fully
+     * loaded when only a few columns are displayed. Nested properties use dot notation ({@code address.city}).
+     *
+     * @param fields the properties to read, none to read the whole entity
+     * @return the updated options
+     * @see OmniSearch#project(Class, OmniSearchOptions, Class)
+     */
+    public OmniSearchOptions fields(String @NonNull ... fields) {
+        return fields(List.of(fields));
+    }
+
+    /**
+     * Restricts the properties read for every match to the given ones.
+     *
+     * @param fields the properties to read, empty to read the whole entity
+     * @return the updated options
+     * @see #fields(String...)
+     */
+    public OmniSearchOptions fields(@NonNull Collection<String> fields) {
+        for (var field : fields) {
+            if (field == null || field.isBlank()) {
+                throw new IllegalArgumentException("Fields cannot be null or blank");
+            }
+        }
+        this.fields = List.copyOf(new LinkedHashSet<>(fields));
+        return this;
+    }
+
     /**
      * Gets the sort configuration.
      *
@@ -119,4 +195,22 @@ public class OmniSearchOptions extends OmniSearchBaseOptions {
     public Pagination getPagination() {
         return pagination;
     }
+
+    /**
+     * Gets the keyset pagination options.
+     *
+     * @return the keyset pagination, or {@code null} if offset pagination is used
+     */
+    public @Nullable KeysetPagination getKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Gets the properties to read.
+     *
+     * @return the properties to read, in order, or an empty list to read the whole entity
+     */
+    public List<String> getFields() {
+        return fields;
+    }
 }
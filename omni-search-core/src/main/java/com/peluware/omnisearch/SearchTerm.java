@@ -0,0 +1,168 @@
+package com.peluware.omnisearch;
+
+import com.peluware.omnisearch.utils.ParseNumber;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Year;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A free-text search keyword classified once into the typed values it can match, so that providers searching
+ * across every column of an entity do not analyze the keyword again for each of them.
+ *
+ * <p>
+ * A term is created per request with {@link #of(String)} and is read by every column predicate: the lower-cased
+ * text, the UUID, boolean, year and numeric values the keyword parses to, whether it is a 24-digit hexadecimal
+ * object identifier, and the enum constants it matches, memoized per enum type.
+ * </p>
+ */
+public final class SearchTerm {
+
+    private static final Pattern UUID_PATTERN = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+    private static final Pattern OBJECT_ID_PATTERN = Pattern.compile("^[0-9a-fA-F]{24}$");
+    private static final Pattern YEAR_PATTERN = Pattern.compile("\\d{4}");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("[+-]?\\d*\\.?\\d+");
+
+    private final String value;
+    private final String lowerCase;
+    private final Pattern containsPattern;
+    private final @Nullable UUID uuid;
+    private final @Nullable Boolean booleanValue;
+    private final @Nullable Year year;
+    private final boolean objectId;
+    private final Number @Nullable [] numbers;
+    private final Map<Class<?>, Collection<Enum<?>>> enumCandidates = new ConcurrentHashMap<>();
+
+    private SearchTerm(String value) {
+        this.value = value;
+        this.lowerCase = value.toLowerCase();
+        this.containsPattern = Pattern.compile(Pattern.quote(value), Pattern.CASE_INSENSITIVE);
+        this.uuid = UUID_PATTERN.matcher(value).matches() ? UUID.fromString(value) : null;
+        this.booleanValue = lowerCase.equals("true") || lowerCase.equals("false") ? Boolean.valueOf(lowerCase) : null;
+        this.year = YEAR_PATTERN.matcher(value).matches() ? Year.parse(value) : null;
+        this.objectId = OBJECT_ID_PATTERN.matcher(value).matches();
+        this.numbers = NUMBER_PATTERN.matcher(value).matches() ? parseNumbers(value) : null;
+    }
+
+    /**
+     * Classifies a search keyword.
+     *
+     * @param value the search keyword, not blank
+     * @return the classified term
+     */
+    public static SearchTerm of(String value) {
+        return new SearchTerm(value);
+    }
+
+    /**
+     * @return the keyword as entered
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * @return the keyword in lower case
+     */
+    public String lowerCase() {
+        return lowerCase;
+    }
+
+    /**
+     * @return a case-insensitive pattern finding the keyword, as a literal, inside a text
+     */
+    public Pattern containsPattern() {
+        return containsPattern;
+    }
+
+    /**
+     * @return the UUID the keyword represents, or {@code null} if it is not a UUID
+     */
+    public @Nullable UUID uuid() {
+        return uuid;
+    }
+
+    /**
+     * @return the boolean the keyword represents, ignoring case, or {@code null} if it is neither {@code true} nor {@code false}
+     */
+    public @Nullable Boolean booleanValue() {
+        return booleanValue;
+    }
+
+    /**
+     * @return the year the keyword represents, or {@code null} if it is not a four-digit year
+     */
+    public @Nullable Year year() {
+        return year;
+    }
+
+    /**
+     * @return whether the keyword is a 24-digit hexadecimal string, the form of a MongoDB object identifier
+     */
+    public boolean isObjectId() {
+        return objectId;
+    }
+
+    /**
+     * Returns the keyword as a value of a numeric attribute, parsed with the first of {@link ParseNumber#PARSERS}
+     * whose type is assignable to {@code type}.
+     *
+     * @param type the type of the attribute, boxed or primitive
+     * @return the number, or {@code null} if the keyword is not a number or does not fit in {@code type}
+     */
+    public @Nullable Number number(Class<?> type) {
+        if (numbers == null) {
+            return null;
+        }
+        var parsers = ParseNumber.PARSERS;
+        for (int i = 0; i < parsers.size(); i++) {
+            if (type.isAssignableFrom(parsers.get(i).type())) {
+                return numbers[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the constants of an enum matched by the keyword, computed on the first call for each enum type.
+     *
+     * @param enumType the enum type
+     * @return the matched constants, empty if none
+     * @see EnumSearchCandidate#collectEnumCandidates(Class, String)
+     */
+    public Collection<Enum<?>> enumCandidates(Class<? extends Enum<?>> enumType) {
+        return enumCandidates.computeIfAbsent(enumType, type -> EnumSearchCandidate.collectEnumCandidates(enumType, value));
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static Number[] parseNumbers(String value) {
+        var parsers = ParseNumber.PARSERS;
+        var decimal = value.indexOf('.') >= 0;
+        var numbers = new Number[parsers.size()];
+        for (int i = 0; i < parsers.size(); i++) {
+            var parser = parsers.get(i);
+            if (decimal && isIntegral(parser.type())) {
+                continue;
+            }
+            try {
+                numbers[i] = parser.parse(value);
+            } catch (NumberFormatException e) {
+                // out of the range of the type
+            }
+        }
+        return numbers;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == int.class || type == long.class || type == short.class || type == byte.class;
+    }
+}
@@ -0,0 +1,194 @@
+package com.peluware.omnisearch.budget;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Upper bounds on the complexity of a search request, checked before any query is sent to the backend.
+ *
+ * <p>
+ * A single request can otherwise be crafted to tie up a database connection for a long time, for instance a
+ * query with hundreds of {@code OR} branches over to-many associations. The shape of the RSQL tree and the
+ * propagations are checked by {@link #check(OmniSearchBaseOptions, Node)}; joins and searched columns depend on
+ * the entity model and are checked by the providers once they are known. Every limit is
+ * {@link #UNLIMITED} by default.
+ * </p>
+ *
+ * @param maxNodes         the maximum number of nodes of the RSQL tree, comparisons and logical operators
+ * @param maxOrBranches    the maximum number of {@code OR} branches, summed over every {@code OR} of the tree
+ * @param maxJoins         the maximum number of distinct join paths of a query
+ * @param maxArguments     the maximum number of arguments of a single comparison, such as {@code =in=}
+ * @param maxPropagations  the maximum number of propagations
+ * @param maxSearchColumns the maximum number of columns compared with the free-text search term
+ */
+public record QueryBudget(
+        int maxNodes,
+        int maxOrBranches,
+        int maxJoins,
+        int maxArguments,
+        int maxPropagations,
+        int maxSearchColumns
+) {
+
+    /**
+     * The value of a limit that is not enforced.
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final QueryBudget UNLIMITED_BUDGET = new QueryBudget(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
+
+    /**
+     * A limit of a {@link QueryBudget}.
+     */
+    public enum Limit {
+        NODES("RSQL nodes"),
+        OR_BRANCHES("OR branches"),
+        JOINS("joins"),
+        ARGUMENTS("comparison arguments"),
+        PROPAGATIONS("propagations"),
+        SEARCH_COLUMNS("searched columns");
+
+        private final String description;
+
+        Limit(String description) {
+            this.description = description;
+        }
+
+        /**
+         * @return what the limit counts, in plural
+         */
+        public String description() {
+            return description;
+        }
+    }
+
+    public QueryBudget {
+        requireNotNegative(maxNodes);
+        requireNotNegative(maxOrBranches);
+        requireNotNegative(maxJoins);
+        requireNotNegative(maxArguments);
+        requireNotNegative(maxPropagations);
+        requireNotNegative(maxSearchColumns);
+    }
+
+    /**
+     * @return a budget that enforces no limit, the default
+     */
+    public static QueryBudget unlimited() {
+        return UNLIMITED_BUDGET;
+    }
+
+    /**
+     * @param maxNodes the maximum number of nodes of the RSQL tree
+     * @return a copy of this budget with the given limit
+     */
+    public QueryBudget withMaxNodes(int maxNodes) {
+        return new QueryBudget(maxNodes, maxOrBranches, maxJoins, maxArguments, maxPropagations, maxSearchColumns);
+    }
+
+    /**
+     * @param maxOrBranches the maximum number of {@code OR} branches
+     * @return a copy of this budget with the given limit
+     */
+    public QueryBudget withMaxOrBranches(int maxOrBranches) {
+        return new QueryBudget(maxNodes, maxOrBranches, maxJoins, maxArguments, maxPropagations, maxSearchColumns);
+    }
+
+    /**
+     * @param maxJoins the maximum number of distinct join paths
+     * @return a copy of this budget with the given limit
+     */
+    public QueryBudget withMaxJoins(int maxJoins) {
+        return new QueryBudget(maxNodes, maxOrBranches, maxJoins, maxArguments, maxPropagations, maxSearchColumns);
+    }
+
+    /**
+     * @param maxArguments the maximum number of arguments of a single comparison
+     * @return a copy of this budget with the given limit
+     */
+    public QueryBudget withMaxArguments(int maxArguments) {
+        return new QueryBudget(maxNodes, maxOrBranches, maxJoins, maxArguments, maxPropagations, maxSearchColumns);
+    }
+
+    /**
+     * @param maxPropagations the maximum number of propagations
+     * @return a copy of this budget with the given limit
+     */
+    public QueryBudget withMaxPropagations(int maxPropagations) {
+        return new QueryBudget(maxNodes, maxOrBranches, maxJoins, maxArguments, maxPropagations, maxSearchColumns);
+    }
+
+    /**
+     * @param maxSearchColumns the maximum number of searched columns
+     * @return a copy of this budget with the given limit
+     */
+    public QueryBudget withMaxSearchColumns(int maxSearchColumns) {
+        return new QueryBudget(maxNodes, maxOrBranches, maxJoins, maxArguments, maxPropagations, maxSearchColumns);
+    }
+
+    /**
+     * Checks the propagations of {@code options} and the shape of its parsed query.
+     *
+     * @param options the search options
+     * @param node    the parsed query of {@code options}, or {@code null} if it has none
+     * @throws QueryBudgetExceededException if a limit is exceeded
+     */
+    public void check(OmniSearchBaseOptions options, @Nullable Node node) {
+        check(Limit.PROPAGATIONS, options.getPropagations().size(), maxPropagations);
+        if (node == null || this.equals(UNLIMITED_BUDGET)) {
+            return;
+        }
+
+        var usage = new int[3];
+        measure(node, usage);
+        check(Limit.NODES, usage[0], maxNodes);
+        check(Limit.OR_BRANCHES, usage[1], maxOrBranches);
+        check(Limit.ARGUMENTS, usage[2], maxArguments);
+    }
+
+    /**
+     * @param joins the number of distinct join paths of a query
+     * @throws QueryBudgetExceededException if the limit is exceeded
+     */
+    public void checkJoins(int joins) {
+        check(Limit.JOINS, joins, maxJoins);
+    }
+
+    /**
+     * @param searchColumns the number of columns compared with the search term
+     * @throws QueryBudgetExceededException if the limit is exceeded
+     */
+    public void checkSearchColumns(int searchColumns) {
+        check(Limit.SEARCH_COLUMNS, searchColumns, maxSearchColumns);
+    }
+
+    private static void measure(Node node, int[] usage) {
+        usage[0]++;
+        if (node instanceof ComparisonNode comparison) {
+            usage[2] = Math.max(usage[2], comparison.getArguments().size());
+        } else if (node instanceof LogicalNode logical) {
+            if (logical instanceof OrNode) {
+                usage[1] += logical.getChildren().size();
+            }
+            for (var child : logical.getChildren()) {
+                measure(child, usage);
+            }
+        }
+    }
+
+    private static void check(Limit limit, int actual, int maximum) {
+        if (actual > maximum) {
+            throw new QueryBudgetExceededException(limit, actual, maximum);
+        }
+    }
+
+    private static void requireNotNegative(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Query budget limits must not be negative");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.peluware.omnisearch.budget;
+
+import java.io.Serial;
+
+/**
+ * Indicates that a search request exceeds a limit of its {@link QueryBudget}. It is thrown before the query is
+ * sent to the backend and, like other invalid requests, is an {@link IllegalArgumentException}.
+ */
+public class QueryBudgetExceededException extends IllegalArgumentException {
+
+    @Serial
+    private static final long serialVersionUID = 6254913034856247167L;
+
+    private final QueryBudget.Limit limit;
+    private final int actual;
+    private final int maximum;
+
+    public QueryBudgetExceededException(QueryBudget.Limit limit, int actual, int maximum) {
+        super("Search exceeds the query budget: " + actual + " " + limit.description() + ", at most " + maximum + " allowed");
+        this.limit = limit;
+        this.actual = actual;
+        this.maximum = maximum;
+    }
+
+    public QueryBudget.Limit getLimit() {
+        return limit;
+    }
+
+    public int getActual() {
+        return actual;
+    }
+
+    public int getMaximum() {
+        return maximum;
+    }
+}
@@ -0,0 +1,124 @@
+package com.peluware.omnisearch.cache;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.keyset.KeysetPage;
+import com.peluware.omnisearch.utils.CacheStats;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * {@link OmniSearch} decorator caching the results of another implementation.
+ *
+ * <p>
+ * Lists, counts and keyset pages are cached under a {@link SearchCacheKey} normalized from the entity and the
+ * options. Pages are built from a cached list and a cached count, and counts ignore the sort and pagination, so
+ * a user flipping through the pages of a listing only counts once per time-to-live. Streams, projections and
+ * batches are not cached and run on the delegate.
+ * </p>
+ *
+ * <p>
+ * Cached results may be stale until they expire or {@link #invalidate(Class)} is called, typically after writes
+ * to the entity. Cached lists are unmodifiable, but the entities they hold are shared between callers and, for
+ * JPA, no longer managed by the persistence context of later requests: cache read-only views.
+ * </p>
+ */
+public class CachingOmniSearch implements OmniSearch {
+
+    private final OmniSearch delegate;
+    private final SearchCache cache;
+
+    public CachingOmniSearch(OmniSearch delegate, SearchCache cache) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+    }
+
+    /**
+     * @param delegate    the cached implementation
+     * @param maximumSize maximum number of cached results, {@code 0} disables caching
+     * @param timeToLive  how long a result stays cached, {@code null} for no expiry
+     */
+    public CachingOmniSearch(OmniSearch delegate, int maximumSize, @Nullable Duration timeToLive) {
+        this(delegate, new LruSearchCache(maximumSize, timeToLive));
+    }
+
+    public CachingOmniSearch(OmniSearch delegate) {
+        this(delegate, new LruSearchCache());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+        var key = SearchCacheKey.rows(SearchCacheKey.Kind.LIST, entityClass, options);
+        return (List<E>) cache.get(key, k -> Collections.unmodifiableList(new ArrayList<>(delegate.list(entityClass, options))));
+    }
+
+    @Override
+    public <E> Stream<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return delegate.stream(entityClass, options);
+    }
+
+    @Override
+    public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return countResult(entityClass, options).total();
+    }
+
+    @Override
+    public <E> CountResult countResult(Class<E> entityClass, OmniSearchBaseOptions options) {
+        var key = SearchCacheKey.count(entityClass, options);
+        return (CountResult) cache.get(key, k -> delegate.countResult(entityClass, options));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> KeysetPage<E> keysetPage(Class<E> entityClass, OmniSearchOptions options) {
+        var key = SearchCacheKey.rows(SearchCacheKey.Kind.KEYSET_PAGE, entityClass, options);
+        return (KeysetPage<E>) cache.get(key, k -> delegate.keysetPage(entityClass, options));
+    }
+
+    @Override
+    public <E, R> List<R> project(Class<E> entityClass, OmniSearchOptions options, Class<R> projection) {
+        return delegate.project(entityClass, options, projection);
+    }
+
+    @Override
+    public <E> List<Page<E>> batch(Class<E> entityClass, List<OmniSearchOptions> options) {
+        return delegate.batch(entityClass, options);
+    }
+
+    /**
+     * Removes every cached result of an entity, to be called after it is written.
+     *
+     * @param entityClass the entity
+     */
+    public void invalidate(Class<?> entityClass) {
+        cache.invalidateIf(key -> key.entityClass() == entityClass);
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * @return hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public OmniSearch getDelegate() {
+        return delegate;
+    }
+}
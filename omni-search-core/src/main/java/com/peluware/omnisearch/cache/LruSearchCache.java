@@ -0,0 +1,60 @@
+package com.peluware.omnisearch.cache;
+
+import com.peluware.omnisearch.utils.CacheStats;
+import com.peluware.omnisearch.utils.LruCache;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link SearchCache} bounded by size, evicting the least recently used results first, and by a time-to-live
+ * counted from the moment a result was stored.
+ */
+public final class LruSearchCache implements SearchCache {
+
+    /**
+     * Default maximum number of cached results.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * Default time-to-live of a cached result.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    private final LruCache<SearchCacheKey, Object> cache;
+
+    /**
+     * @param maximumSize maximum number of cached results, {@code 0} disables caching
+     * @param timeToLive  how long a result stays cached, {@code null} for no expiry
+     */
+    public LruSearchCache(int maximumSize, @Nullable Duration timeToLive) {
+        this.cache = new LruCache<>(maximumSize, timeToLive);
+    }
+
+    public LruSearchCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    @Override
+    public Object get(SearchCacheKey key, Function<? super SearchCacheKey, ?> loader) {
+        return cache.get(key, loader);
+    }
+
+    @Override
+    public void invalidateIf(Predicate<? super SearchCacheKey> filter) {
+        cache.invalidateIf(filter);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,41 @@
+package com.peluware.omnisearch.cache;
+
+import com.peluware.omnisearch.utils.CacheStats;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Storage of the results cached by {@link CachingOmniSearch}. {@link LruSearchCache} is the default; other
+ * eviction policies, such as W-TinyLFU from a dedicated caching library, can be plugged by implementing this
+ * interface. Implementations must be thread-safe.
+ */
+public interface SearchCache {
+
+    /**
+     * Returns the cached result for {@code key}, computing and storing it on a miss. Exceptions thrown by the
+     * loader are propagated and nothing is stored.
+     *
+     * @param key    the key
+     * @param loader computes the result on a miss, never returns {@code null}
+     * @return the cached or freshly computed result
+     */
+    Object get(SearchCacheKey key, Function<? super SearchCacheKey, ?> loader);
+
+    /**
+     * Removes every result whose key matches {@code filter}.
+     *
+     * @param filter key predicate
+     */
+    void invalidateIf(Predicate<? super SearchCacheKey> filter);
+
+    /**
+     * Removes every result.
+     */
+    void clear();
+
+    /**
+     * @return hit, miss and eviction counters
+     */
+    CacheStats stats();
+}
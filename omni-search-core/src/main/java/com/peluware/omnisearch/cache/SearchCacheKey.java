@@ -0,0 +1,106 @@
+package com.peluware.omnisearch.cache;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.keyset.KeysetPagination;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Normalized key of a cached search result: the operation, the entity and only the options that affect its
+ * result, so that equivalent requests share an entry. A blank free-text search means none, but the search is
+ * otherwise kept as it is, since the providers match it verbatim; propagations are sorted, and counts ignore the sort and pagination so every page of a listing shares its count.
+ *
+ * @param kind         the cached operation
+ * @param entityClass  the searched entity
+ * @param search       the free-text search, or {@code null} if blank
+ * @param propagations the propagated associations, sorted
+ * @param query        the RSQL query, or {@code null}
+ * @param sort         the sort orders as {@code property:DIRECTION}, empty for counts
+ * @param pageNumber   the page number, {@code -1} if unpaginated or for counts
+ * @param pageSize     the page size, {@code -1} if unpaginated or for counts
+ * @param keyset       the keyset pagination, {@code null} if absent or for counts
+ * @param fields       the properties read, empty for whole entities and for counts
+ * @param accuracy     the count accuracy, {@link CountAccuracy#EXACT} except for counts
+ * @param countLimit   the count limit, {@code 0} except for counts
+ */
+public record SearchCacheKey(
+        Kind kind,
+        Class<?> entityClass,
+        @Nullable String search,
+        List<String> propagations,
+        @Nullable String query,
+        List<String> sort,
+        int pageNumber,
+        int pageSize,
+        @Nullable KeysetPagination keyset,
+        List<String> fields,
+        CountAccuracy accuracy,
+        long countLimit
+) {
+
+    /**
+     * The cached operations.
+     */
+    public enum Kind {
+        LIST,
+        COUNT,
+        KEYSET_PAGE
+    }
+
+    /**
+     * @param kind        {@link Kind#LIST} or {@link Kind#KEYSET_PAGE}
+     * @param entityClass the searched entity
+     * @param options     the search options
+     * @return the key of the rows of a search
+     */
+    public static SearchCacheKey rows(Kind kind, Class<?> entityClass, OmniSearchOptions options) {
+        var pagination = options.getPagination();
+        var paginated = pagination.isPaginated();
+        return new SearchCacheKey(
+                kind,
+                entityClass,
+                normalizeSearch(options.getSearch()),
+                options.getPropagations().stream().sorted().toList(),
+                options.getQuery(),
+                options.getSort().orders().stream().map(order -> order.property() + ":" + order.direction()).toList(),
+                paginated ? pagination.getNumber() : -1,
+                paginated ? pagination.getSize() : -1,
+                options.getKeyset(),
+                options.getFields(),
+                CountAccuracy.EXACT,
+                0
+        );
+    }
+
+    /**
+     * @param entityClass the counted entity
+     * @param options     the search options
+     * @return the key of the count of a search
+     */
+    public static SearchCacheKey count(Class<?> entityClass, OmniSearchBaseOptions options) {
+        return new SearchCacheKey(
+                Kind.COUNT,
+                entityClass,
+                normalizeSearch(options.getSearch()),
+                options.getPropagations().stream().sorted().toList(),
+                options.getQuery(),
+                List.of(),
+                -1,
+                -1,
+                null,
+                List.of(),
+                options.getCountAccuracy(),
+                options.getCountLimit()
+        );
+    }
+
+    private static @Nullable String normalizeSearch(@Nullable String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        return search;
+    }
+}
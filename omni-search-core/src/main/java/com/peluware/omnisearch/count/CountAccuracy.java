@@ -0,0 +1,57 @@
+package com.peluware.omnisearch.count;
+
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * How accurate the total of a count must be.
+ *
+ * <p>
+ * Exact counts visit every matching row, which takes seconds on collections of hundreds of millions of
+ * documents. Estimates come from statistics the database already keeps (collection metadata, planner row
+ * estimates) and are answered in milliseconds, at the cost of being approximate.
+ * </p>
+ */
+public enum CountAccuracy {
+
+    /**
+     * Always count the matching rows, the default.
+     */
+    EXACT,
+
+    /**
+     * Use the estimate of the provider when it has one, otherwise count the matching rows.
+     */
+    ESTIMATED,
+
+    /**
+     * Use the estimate of the provider when it is at least the configured threshold, otherwise count the
+     * matching rows: small totals, where an error is visible and an exact count is cheap, are always exact.
+     */
+    AUTO;
+
+    /**
+     * Default threshold from which {@link #AUTO} keeps an estimate instead of counting.
+     */
+    public static final long DEFAULT_AUTO_THRESHOLD = 100_000;
+
+    /**
+     * Resolves a count with this accuracy.
+     *
+     * @param estimate      supplies the estimate of the provider, empty if it cannot estimate the count
+     * @param exact         runs the exact count
+     * @param autoThreshold the threshold from which {@link #AUTO} keeps the estimate
+     * @return the count
+     */
+    public CountResult resolve(Supplier<OptionalLong> estimate, LongSupplier exact, long autoThreshold) {
+        if (this == EXACT) {
+            return CountResult.exact(exact.getAsLong());
+        }
+        var estimated = estimate.get();
+        if (estimated.isEmpty() || (this == AUTO && estimated.getAsLong() < autoThreshold)) {
+            return CountResult.exact(exact.getAsLong());
+        }
+        return CountResult.estimated(estimated.getAsLong());
+    }
+}
@@ -0,0 +1,53 @@
+package com.peluware.omnisearch.count;
+
+/**
+ * The total of a count and how it was obtained.
+ *
+ * @param total  the number of matching rows, its estimate, or the count limit if it was reached
+ * @param exact  whether {@code total} is the counted number of matching rows
+ * @param capped whether counting stopped at the count limit, so there are at least {@code total} matching rows
+ */
+public record CountResult(long total, boolean exact, boolean capped) {
+
+    public CountResult {
+        if (total < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        if (exact && capped) {
+            throw new IllegalArgumentException("A capped count is not exact");
+        }
+    }
+
+    /**
+     * @param total the counted number of matching rows
+     * @return an exact count
+     */
+    public static CountResult exact(long total) {
+        return new CountResult(total, true, false);
+    }
+
+    /**
+     * @param total the estimated number of matching rows
+     * @return an estimated count
+     */
+    public static CountResult estimated(long total) {
+        return new CountResult(total, false, false);
+    }
+
+    /**
+     * @param limit the count limit that was reached
+     * @return a count telling there are at least {@code limit} matching rows
+     */
+    public static CountResult capped(long limit) {
+        return new CountResult(limit, false, true);
+    }
+
+    /**
+     * @param counted the number of rows counted, stopping at {@code limit}
+     * @param limit   the count limit
+     * @return a capped count if {@code counted} reached {@code limit}, an exact one otherwise
+     */
+    public static CountResult limited(long counted, long limit) {
+        return counted >= limit ? capped(limit) : exact(counted);
+    }
+}
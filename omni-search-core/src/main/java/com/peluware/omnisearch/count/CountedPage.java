@@ -0,0 +1,27 @@
+package com.peluware.omnisearch.count;
+
+import com.peluware.domain.Page;
+
+/**
+ * A page together with the count its total was read from, telling whether that total is exact.
+ *
+ * @param page  the page, its total is {@link CountResult#total()}
+ * @param count the count of the page
+ * @param <E>   the entity type
+ */
+public record CountedPage<E>(Page<E> page, CountResult count) {
+
+    /**
+     * @return whether the total of the page was counted rather than estimated
+     */
+    public boolean isExact() {
+        return count.exact();
+    }
+
+    /**
+     * @return whether counting stopped at the count limit, so the page has at least its total of matches
+     */
+    public boolean isCapped() {
+        return count.capped();
+    }
+}
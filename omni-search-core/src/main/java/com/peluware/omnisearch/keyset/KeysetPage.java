@@ -0,0 +1,26 @@
+package com.peluware.omnisearch.keyset;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A page read with {@link KeysetPagination}.
+ *
+ * @param content   the rows of the page
+ * @param nextToken the token to request the following page, or {@code null} if this is the last one
+ * @param <E>       the entity type
+ */
+public record KeysetPage<E>(List<E> content, @Nullable String nextToken) {
+
+    public KeysetPage {
+        content = List.copyOf(content);
+    }
+
+    /**
+     * @return whether there is a page after this one
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
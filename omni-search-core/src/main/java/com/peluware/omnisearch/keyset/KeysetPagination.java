@@ -0,0 +1,80 @@
+package com.peluware.omnisearch.keyset;
+
+import com.peluware.domain.Order;
+import com.peluware.domain.Sort;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination: instead of skipping {@code number * size} rows, the next page starts right after
+ * the last row of the previous one, identified by an opaque continuation token. The cost of a page no longer
+ * depends on how deep it is.
+ *
+ * <p>
+ * The rows are ordered by the requested sort followed by a unique tiebreaker (the identifier by default), so
+ * every row has a distinct position and no row is skipped or repeated between pages. Sort properties should
+ * be non-null and, ideally, covered by an index together with the tiebreaker.
+ * </p>
+ *
+ * @param size       the maximum number of rows of a page
+ * @param token      the token returned with the previous page, or {@code null} for the first page
+ * @param tiebreaker the unique property that breaks ties between equal sort keys, or {@code null} for the identifier
+ * @see KeysetPage
+ */
+public record KeysetPagination(int size, @Nullable String token, @Nullable String tiebreaker) {
+
+    public KeysetPagination {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Keyset page size must be positive");
+        }
+    }
+
+    /**
+     * @param size the maximum number of rows of the page
+     * @return the pagination of the first page
+     */
+    public static KeysetPagination first(int size) {
+        return new KeysetPagination(size, null, null);
+    }
+
+    /**
+     * @param token the token returned with the previous page, {@code null} for the first page
+     * @param size  the maximum number of rows of the page
+     * @return the pagination of the page following {@code token}
+     */
+    public static KeysetPagination after(@Nullable String token, int size) {
+        return new KeysetPagination(size, token, null);
+    }
+
+    /**
+     * @param tiebreaker the unique property that breaks ties between equal sort keys
+     * @return a copy of this pagination using the given tiebreaker
+     */
+    public KeysetPagination withTiebreaker(String tiebreaker) {
+        return new KeysetPagination(size, token, tiebreaker);
+    }
+
+    /**
+     * Returns the orders that define the position of a row: the orders of {@code sort} followed by the
+     * tiebreaker in ascending order, unless the sort already includes it.
+     *
+     * @param sort              the requested sort
+     * @param defaultTiebreaker the tiebreaker used when none was set, usually the identifier of the entity
+     * @return the keyset orders, never empty
+     */
+    public List<Order> orders(Sort sort, String defaultTiebreaker) {
+        var unique = tiebreaker != null ? tiebreaker : defaultTiebreaker;
+        var orders = new ArrayList<Order>(sort.orders().size() + 1);
+        var sorted = false;
+        for (var order : sort.orders()) {
+            orders.add(order);
+            sorted |= order.property().equals(unique);
+        }
+        if (!sorted) {
+            orders.add(Order.ascending(unique));
+        }
+        return List.copyOf(orders);
+    }
+}
@@ -0,0 +1,96 @@
+package com.peluware.omnisearch.keyset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes and decodes the opaque continuation tokens of {@link KeysetPagination}.
+ *
+ * <p>
+ * A token carries the sort-key values of the last row of a page, rendered as strings by the provider, and a
+ * checksum of the key signature (entity, properties and directions) they were read with. A token presented with
+ * a different sort is rejected instead of silently seeking to the wrong position. Tokens are URL-safe.
+ * </p>
+ *
+ * <p>
+ * The checksum only catches mistakes, it is not a signature: tokens are neither authenticated nor encrypted, so
+ * clients can read the key values and craft a token for any position. The values are parsed and bound like query
+ * arguments and the seek is combined with the filters of the request, so a crafted token only changes where the
+ * page starts. Encrypt tokens at the application boundary if the key values must stay hidden.
+ * </p>
+ */
+public final class KeysetToken {
+
+    private static final byte VERSION = 1;
+    private static final String MALFORMED = "Malformed keyset token";
+
+    private KeysetToken() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param signature identifies the keys the values were read with
+     * @param values    the key values of the last row, in key order
+     * @return the token
+     */
+    public static String encode(String signature, List<String> values) {
+        var bytes = new ByteArrayOutputStream(16 + values.size() * 16);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(checksum(signature));
+            out.writeShort(values.size());
+            for (var value : values) {
+                out.writeUTF(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param token     a token created by {@link #encode(String, List)}
+     * @param signature identifies the keys the values are expected for
+     * @return the key values
+     * @throws IllegalArgumentException if the token is malformed or was issued for a different signature
+     */
+    public static List<String> decode(String token, String signature) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(MALFORMED, e);
+        }
+
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported keyset token version");
+            }
+            if (in.readInt() != checksum(signature)) {
+                throw new IllegalArgumentException("Keyset token was issued for a different entity or sort");
+            }
+            var size = in.readUnsignedShort();
+            var values = new ArrayList<String>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(in.readUTF());
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException(MALFORMED);
+            }
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException(MALFORMED, e);
+        }
+    }
+
+    private static int checksum(String signature) {
+        return signature.hashCode();
+    }
+}
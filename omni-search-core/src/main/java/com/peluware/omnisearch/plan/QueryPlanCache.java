@@ -0,0 +1,76 @@
+package com.peluware.omnisearch.plan;
+
+import com.peluware.omnisearch.utils.CacheStats;
+import com.peluware.omnisearch.utils.LruCache;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of provider-specific plans keyed by {@link QueryShape}.
+ *
+ * <p>
+ * Plans only depend on the entity model, which does not change at runtime, so by default entries
+ * never expire and are only evicted by size. Use {@link #invalidate(Class)} if the model of an
+ * entity is redefined.
+ * </p>
+ *
+ * @param <P> the plan type
+ */
+public final class QueryPlanCache<P> {
+
+    /**
+     * Default maximum number of cached plans.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+    private final LruCache<QueryShape, P> cache;
+
+    /**
+     * @param maximumSize maximum number of cached plans, {@code 0} disables caching
+     * @param timeToLive  how long a plan stays cached, {@code null} for no expiry
+     */
+    public QueryPlanCache(int maximumSize, @Nullable Duration timeToLive) {
+        this.cache = new LruCache<>(maximumSize, timeToLive);
+    }
+
+    public QueryPlanCache() {
+        this(DEFAULT_MAXIMUM_SIZE, null);
+    }
+
+    /**
+     * Returns the plan for {@code shape}, compiling it on a miss. Compilation errors are propagated
+     * and nothing is cached.
+     *
+     * @param shape    the request shape
+     * @param compiler compiles the plan for the shape
+     * @return the plan
+     */
+    public P get(QueryShape shape, Function<? super QueryShape, ? extends P> compiler) {
+        return cache.get(shape, compiler);
+    }
+
+    /**
+     * Removes every plan of the given entity.
+     *
+     * @param entityClass the entity
+     */
+    public void invalidate(Class<?> entityClass) {
+        cache.invalidateIf(shape -> shape.entityClass() == entityClass);
+    }
+
+    /**
+     * Removes every plan.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
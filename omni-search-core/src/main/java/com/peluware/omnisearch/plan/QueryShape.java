@@ -0,0 +1,53 @@
+package com.peluware.omnisearch.plan;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.rsql.RsqlNodes;
+import cz.jirutka.rsql.parser.ast.Node;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Everything of a search request that does not depend on argument values. Requests with the same
+ * shape resolve the same property paths, types and joins, so a provider can compile that work once
+ * into a plan and only bind values afterwards.
+ *
+ * @param entityClass  the searched entity
+ * @param search       whether a free-text search term is present
+ * @param propagations the propagated associations, sorted
+ * @param query        the shape of the RSQL query as rendered by {@link RsqlNodes#shape(Node)}, empty if absent
+ * @param sort         the sort orders as {@code property:DIRECTION}, empty if unsorted or not applicable
+ */
+public record QueryShape(
+        Class<?> entityClass,
+        boolean search,
+        List<String> propagations,
+        String query,
+        List<String> sort
+) {
+
+    /**
+     * Computes the shape of a request. The sort is taken into account only when {@code options} is
+     * an {@link OmniSearchOptions}.
+     *
+     * @param entityClass the searched entity
+     * @param options     the search options
+     * @param node        the parsed query of {@code options}, or {@code null} if it has none
+     * @return the shape
+     */
+    public static QueryShape of(Class<?> entityClass, OmniSearchBaseOptions options, @Nullable Node node) {
+        var search = options.getSearch();
+        var sort = options instanceof OmniSearchOptions searchOptions
+                ? searchOptions.getSort().orders().stream().map(order -> order.property() + ":" + order.direction()).toList()
+                : List.<String>of();
+
+        return new QueryShape(
+                entityClass,
+                search != null && !search.isBlank(),
+                options.getPropagations().stream().sorted().toList(),
+                node == null ? "" : RsqlNodes.shape(node),
+                sort
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.peluware.omnisearch.profile;
+
+/**
+ * The result of a profiled call together with its profile.
+ *
+ * @param result  the result of the call
+ * @param profile the profile of the call
+ * @param <T>     the result type
+ */
+public record Profiled<T>(T result, QueryProfile profile) {
+}
@@ -0,0 +1,72 @@
+package com.peluware.omnisearch.profile;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.keyset.KeysetPage;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * {@link OmniSearch} decorator profiling every call of another implementation with a {@link QueryProfiler} and
+ * delivering the {@link QueryProfile}s to a listener.
+ *
+ * <p>
+ * Pages are built from a profiled list and a profiled count, so the listener receives one profile for each.
+ * The profile of {@link #stream(Class, OmniSearchOptions)} only covers opening the stream, and batches are
+ * profiled as a whole without a row count.
+ * </p>
+ */
+public class ProfilingOmniSearch implements OmniSearch {
+
+    private final OmniSearch delegate;
+    private final QueryProfileListener listener;
+
+    public ProfilingOmniSearch(OmniSearch delegate, QueryProfileListener listener) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+        this.listener = Objects.requireNonNull(listener, "Listener cannot be null");
+    }
+
+    @Override
+    public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+        return QueryProfiler.profile("list", entityClass, () -> delegate.list(entityClass, options), List::size, listener);
+    }
+
+    @Override
+    public <E> Stream<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return QueryProfiler.profile("stream", entityClass, () -> delegate.stream(entityClass, options), stream -> -1, listener);
+    }
+
+    @Override
+    public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return countResult(entityClass, options).total();
+    }
+
+    @Override
+    public <E> CountResult countResult(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return QueryProfiler.profile("count", entityClass, () -> delegate.countResult(entityClass, options), CountResult::total, listener);
+    }
+
+    @Override
+    public <E> KeysetPage<E> keysetPage(Class<E> entityClass, OmniSearchOptions options) {
+        return QueryProfiler.profile("keysetPage", entityClass, () -> delegate.keysetPage(entityClass, options), page -> page.content().size(), listener);
+    }
+
+    @Override
+    public <E, R> List<R> project(Class<E> entityClass, OmniSearchOptions options, Class<R> projection) {
+        return QueryProfiler.profile("project", entityClass, () -> delegate.project(entityClass, options, projection), List::size, listener);
+    }
+
+    @Override
+    public <E> List<Page<E>> batch(Class<E> entityClass, List<OmniSearchOptions> options) {
+        return QueryProfiler.profile("batch", entityClass, () -> delegate.batch(entityClass, options), pages -> -1, listener);
+    }
+
+    public OmniSearch getDelegate() {
+        return delegate;
+    }
+}
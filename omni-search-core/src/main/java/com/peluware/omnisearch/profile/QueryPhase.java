@@ -0,0 +1,34 @@
+package com.peluware.omnisearch.profile;
+
+/**
+ * The phases of a search recorded by a {@link QueryProfiler}.
+ */
+public enum QueryPhase {
+
+    /**
+     * Parsing the RSQL query, or reading its tree from the cache.
+     */
+    PARSE,
+
+    /**
+     * Building the predicate, filter, sort and query of the provider, excluding the other phases it includes.
+     */
+    BUILD,
+
+    /**
+     * Resolving properties against the metamodel or by reflection, or reading the plan from the cache.
+     */
+    RESOLVE,
+
+    /**
+     * Running the query in the database and reading its results. Providers whose driver reads and converts
+     * rows in one step, such as JPA, include the conversion here.
+     */
+    EXECUTE,
+
+    /**
+     * Converting results read from the database into the returned entities, when done apart from
+     * {@link #EXECUTE}.
+     */
+    MATERIALIZE
+}
@@ -0,0 +1,45 @@
+package com.peluware.omnisearch.profile;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The time spent in each phase of one search call.
+ *
+ * @param operation   the called operation, such as {@code list} or {@code count}
+ * @param entityClass the searched entity
+ * @param total       the duration of the whole call
+ * @param phases      the exclusive time of every recorded phase, a nested phase is not counted in its parent
+ * @param rows        the number of returned entities, or the count, {@code -1} if unknown
+ */
+public record QueryProfile(
+        String operation,
+        Class<?> entityClass,
+        Duration total,
+        Map<QueryPhase, Duration> phases,
+        long rows
+) {
+
+    public QueryProfile {
+        phases = Map.copyOf(phases);
+    }
+
+    /**
+     * @param phase the phase
+     * @return the time spent in {@code phase}, zero if it was not recorded
+     */
+    public Duration get(QueryPhase phase) {
+        return phases.getOrDefault(phase, Duration.ZERO);
+    }
+
+    /**
+     * @return the time of the call not spent in any recorded phase
+     */
+    public Duration unaccounted() {
+        var unaccounted = total;
+        for (var duration : phases.values()) {
+            unaccounted = unaccounted.minus(duration);
+        }
+        return unaccounted.isNegative() ? Duration.ZERO : unaccounted;
+    }
+}
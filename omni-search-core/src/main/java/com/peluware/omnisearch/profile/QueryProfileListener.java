@@ -0,0 +1,15 @@
+package com.peluware.omnisearch.profile;
+
+/**
+ * Receives the profile of every call of a {@link ProfilingOmniSearch}.
+ */
+@FunctionalInterface
+public interface QueryProfileListener {
+
+    /**
+     * Called on the thread of the search once it completes, successfully or not.
+     *
+     * @param profile the profile of the call
+     */
+    void onProfile(QueryProfile profile);
+}
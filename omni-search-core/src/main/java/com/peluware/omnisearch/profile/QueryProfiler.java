@@ -0,0 +1,152 @@
+package com.peluware.omnisearch.profile;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Records the time spent in each {@link QueryPhase} of the search running on the current thread.
+ *
+ * <p>
+ * Providers mark their phases with {@link #phase(QueryPhase)}, which does nothing unless a call is being
+ * profiled with {@link #profile(String, Class, Supplier, ToLongFunction)}, so profiling is opt-in and costs a
+ * thread-local read otherwise. Phases may nest: the time of a nested phase is only counted in that phase.
+ * Work done on other threads, such as counts of concurrent pages, is not recorded.
+ * </p>
+ */
+public final class QueryProfiler {
+
+    private static final ThreadLocal<QueryProfiler> CURRENT = new ThreadLocal<>();
+    private static final Span NO_SPAN = () -> {
+    };
+
+    private final EnumMap<QueryPhase, Long> nanos = new EnumMap<>(QueryPhase.class);
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+
+    private QueryProfiler() {
+    }
+
+    /**
+     * A recorded phase, closed when the phase ends.
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Starts a phase of the search profiled on the current thread, if any.
+     *
+     * @param phase the phase
+     * @return the span to close when the phase ends
+     */
+    public static Span phase(QueryPhase phase) {
+        var profiler = CURRENT.get();
+        if (profiler == null) {
+            return NO_SPAN;
+        }
+        var frame = new Frame(phase, System.nanoTime());
+        profiler.frames.push(frame);
+        return () -> profiler.end(frame);
+    }
+
+    /**
+     * @return whether a search is being profiled on the current thread
+     */
+    public static boolean isProfiling() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Profiles a call on the current thread. Profiled calls do not nest: a call made while another one is
+     * profiled is recorded as part of it.
+     *
+     * @param operation   the name of the operation
+     * @param entityClass the searched entity
+     * @param call        the call
+     * @param rows        the number of rows of the result, {@code -1} if unknown
+     * @param <T>         the result type
+     * @return the result and its profile
+     */
+    public static <T> Profiled<T> profile(String operation, Class<?> entityClass, Supplier<T> call, ToLongFunction<? super T> rows) {
+        if (CURRENT.get() != null) {
+            var result = call.get();
+            return new Profiled<>(result, new QueryProfile(operation, entityClass, Duration.ZERO, Map.of(), rows.applyAsLong(result)));
+        }
+
+        var profiler = new QueryProfiler();
+        CURRENT.set(profiler);
+        var start = System.nanoTime();
+        try {
+            var result = call.get();
+            return new Profiled<>(result, profiler.toProfile(operation, entityClass, System.nanoTime() - start, rows.applyAsLong(result)));
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Profiles a call on the current thread, delivering the profile to {@code listener} even if the call fails.
+     *
+     * @param operation   the name of the operation
+     * @param entityClass the searched entity
+     * @param call        the call
+     * @param rows        the number of rows of the result, {@code -1} if unknown
+     * @param listener    receives the profile
+     * @param <T>         the result type
+     * @return the result
+     */
+    public static <T> T profile(String operation, Class<?> entityClass, Supplier<T> call, ToLongFunction<? super T> rows, QueryProfileListener listener) {
+        if (CURRENT.get() != null) {
+            return call.get();
+        }
+
+        var profiler = new QueryProfiler();
+        CURRENT.set(profiler);
+        var start = System.nanoTime();
+        long count = -1;
+        try {
+            var result = call.get();
+            count = rows.applyAsLong(result);
+            return result;
+        } finally {
+            CURRENT.remove();
+            listener.onProfile(profiler.toProfile(operation, entityClass, System.nanoTime() - start, count));
+        }
+    }
+
+    private void end(Frame frame) {
+        var elapsed = System.nanoTime() - frame.start;
+        // Spans are closed in order by try-with-resources; drop frames left open by an exception
+        while (!frames.isEmpty() && frames.peek() != frame) {
+            frames.pop();
+        }
+        frames.poll();
+        nanos.merge(frame.phase, elapsed - frame.children, Long::sum);
+        var parent = frames.peek();
+        if (parent != null) {
+            parent.children += elapsed;
+        }
+    }
+
+    private QueryProfile toProfile(String operation, Class<?> entityClass, long totalNanos, long rows) {
+        var phases = new EnumMap<QueryPhase, Duration>(QueryPhase.class);
+        nanos.forEach((phase, value) -> phases.put(phase, Duration.ofNanos(value)));
+        return new QueryProfile(operation, entityClass, Duration.ofNanos(totalNanos), phases, rows);
+    }
+
+    private static final class Frame {
+        private final QueryPhase phase;
+        private final long start;
+        private long children;
+
+        private Frame(QueryPhase phase, long start) {
+            this.phase = phase;
+            this.start = start;
+        }
+    }
+}
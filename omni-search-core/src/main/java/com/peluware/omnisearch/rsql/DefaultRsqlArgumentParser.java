@@ -5,13 +5,13 @@ import com.peluware.omnisearch.utils.ParseNumber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -26,36 +26,73 @@ public class DefaultRsqlArgumentParser implements RsqlArgumentParser {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultRsqlArgumentParser.class);
 
-    // Date formatters for flexible parsing
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_DATE,
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy")
-    );
-
-    private static final List<DateTimeFormatter> DATETIME_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+    /**
+     * Converters for types that need no configuration, shared by every instance.
+     */
+    private static final Map<Class<?>, Function<String, ?>> BASIC_CONVERTERS = Map.ofEntries(
+            Map.entry(String.class, Function.identity()),
+            Map.entry(Integer.class, Integer::valueOf),
+            Map.entry(int.class, Integer::valueOf),
+            Map.entry(Long.class, Long::valueOf),
+            Map.entry(long.class, Long::valueOf),
+            Map.entry(Double.class, Double::valueOf),
+            Map.entry(double.class, Double::valueOf),
+            Map.entry(Float.class, Float::valueOf),
+            Map.entry(float.class, Float::valueOf),
+            Map.entry(Boolean.class, Boolean::valueOf),
+            Map.entry(boolean.class, Boolean::valueOf),
+            Map.entry(Byte.class, Byte::valueOf),
+            Map.entry(byte.class, Byte::valueOf),
+            Map.entry(Short.class, Short::valueOf),
+            Map.entry(short.class, Short::valueOf),
+            Map.entry(Character.class, DefaultRsqlArgumentParser::parseCharacter),
+            Map.entry(char.class, DefaultRsqlArgumentParser::parseCharacter),
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(BigInteger.class, BigInteger::new),
+            Map.entry(ZonedDateTime.class, ZonedDateTime::parse),
+            Map.entry(OffsetDateTime.class, OffsetDateTime::parse),
+            Map.entry(OffsetTime.class, OffsetTime::parse),
+            Map.entry(Duration.class, Duration::parse),
+            Map.entry(Period.class, Period::parse),
+            Map.entry(UUID.class, UUID::fromString),
+            Map.entry(byte[].class, String::getBytes)
     );
 
-    private static final List<DateTimeFormatter> TIME_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_TIME,
-            DateTimeFormatter.ofPattern("HH:mm:ss"),
-            DateTimeFormatter.ofPattern("HH:mm")
-    );
+    /**
+     * Converter of each requested type that needs no configuration, resolved by {@link #resolveStaticConverter(Class)}
+     * on first use and shared by every instance.
+     *
+     * <p>
+     * A {@link ClassValue} keeps its values alive as long as the key class, so cached converters must be
+     * stateless and reference nothing but their own type: a converter capturing a parser instance would keep it,
+     * and the class loader of any custom parser, alive for as long as the type is loaded.
+     * Converters depending on instance configuration (custom parsers and time types) are looked up on each call.
+     * </p>
+     */
+    private static final ClassValue<Function<String, ?>> STATIC_CONVERTERS = new ClassValue<>() {
+        @Override
+        protected Function<String, ?> computeValue(Class<?> type) {
+            return resolveStaticConverter(type);
+        }
+    };
 
     // Custom parsers registry
     protected final Map<Class<?>, Function<String, ?>> customParsers = new ConcurrentHashMap<>();
 
-    public DefaultRsqlArgumentParser() {
+    private final Map<Class<?>, Function<String, ?>> timeConverters;
+
+    /**
+     * @param temporalParser parser for {@code java.time} arguments and legacy {@link Date}s
+     */
+    public DefaultRsqlArgumentParser(TemporalArgumentParser temporalParser) {
+        this.timeConverters = timeConverters(temporalParser);
         registerDefaultParsers();
     }
 
+    public DefaultRsqlArgumentParser() {
+        this(new TemporalArgumentParser());
+    }
+
     @Override
     public <T> T parse(String argument, Class<T> type) throws RsqlArgumentFormatException, IllegalArgumentException {
 
@@ -69,35 +106,9 @@ public class DefaultRsqlArgumentParser implements RsqlArgumentParser {
         argument = argument.trim();
 
         try {
-            // Check custom parsers first
-            if (customParsers.containsKey(type)) {
-                @SuppressWarnings("unchecked")
-                var result = (T) customParsers.get(type).apply(argument);
-                return result;
-            }
-
-            // Handle primitive and wrapper types
-            var result = parsePrimitiveAndWrapperTypes(argument, type);
-            if (result != null) return result;
-
-            // Handle time types
-            result = parseTimeTypes(argument, type);
-            if (result != null) return result;
-
-            // Handle other common types
-            result = parseCommonTypes(argument, type);
-            if (result != null) return result;
-
-            // Handle enums
-            if (type.isEnum()) {
-                @SuppressWarnings("unchecked")
-                T enumValue = (T) Enum.valueOf((Class<? extends Enum>) type, argument);
-                return enumValue;
-            }
-
-            // Try valueOf method via reflection
-            return parseViaValueOf(argument, type);
-
+            @SuppressWarnings("unchecked")
+            var result = (T) resolveConverter(type).apply(argument);
+            return result;
         } catch (Exception e) {
             log.info("Failed to parse argument ''{}'' as {}: {}", argument, type.getSimpleName(), e.getMessage());
             throw new RsqlArgumentFormatException(argument, type);
@@ -114,104 +125,109 @@ public class DefaultRsqlArgumentParser implements RsqlArgumentParser {
     }
 
     /**
-     * Parse primitive and wrapper types
+     * Resolves the converter of a type, on every parsed argument.
+     *
+     * <p>
+     * Resolution order: custom parsers, time types, then the shared converters of types that need no
+     * configuration, see {@link #resolveStaticConverter(Class)}.
+     * </p>
+     *
+     * @param type the requested type
+     * @return the converter
      */
-    @SuppressWarnings({"unchecked", "java:S3776"})
-    private <T> T parsePrimitiveAndWrapperTypes(String argument, Class<T> type) {
-        if (type.equals(String.class)) return (T) argument;
-
-        if (type.equals(Integer.class) || type.equals(int.class)) return (T) Integer.valueOf(argument);
-        if (type.equals(Long.class) || type.equals(long.class)) return (T) Long.valueOf(argument);
-        if (type.equals(Double.class) || type.equals(double.class)) return (T) Double.valueOf(argument);
-        if (type.equals(Float.class) || type.equals(float.class)) return (T) Float.valueOf(argument);
-        if (type.equals(Boolean.class) || type.equals(boolean.class)) return (T) Boolean.valueOf(argument);
-        if (type.equals(Byte.class) || type.equals(byte.class)) return (T) Byte.valueOf(argument);
-        if (type.equals(Short.class) || type.equals(short.class)) return (T) Short.valueOf(argument);
-        if (type.equals(Character.class) || type.equals(char.class)) {
-            if (argument.length() != 1) {
-                throw new IllegalArgumentException("Character argument must be exactly one character");
-            }
-            return (T) Character.valueOf(argument.charAt(0));
+    protected Function<String, ?> resolveConverter(Class<?> type) {
+        var custom = customParsers.get(type);
+        if (custom != null) {
+            return custom;
         }
 
-        if (type.equals(BigDecimal.class)) return (T) new BigDecimal(argument);
-        if (type.equals(BigInteger.class)) return (T) new BigInteger(argument);
-        return null;
-    }
-
-    /**
-     * Parse Java 8+ time types
-     */
-    @SuppressWarnings("unchecked")
-    private <T> T parseTimeTypes(String argument, Class<T> type) {
-        if (type.equals(LocalDate.class)) return (T) parseLocalDate(argument);
-        if (type.equals(LocalDateTime.class)) return (T) parseLocalDateTime(argument);
-        if (type.equals(LocalTime.class)) return (T) parseLocalTime(argument);
-        if (type.equals(Instant.class)) return (T) parseInstant(argument);
-        if (type.equals(ZonedDateTime.class)) return (T) ZonedDateTime.parse(argument);
-        if (type.equals(OffsetDateTime.class)) return (T) OffsetDateTime.parse(argument);
-        if (type.equals(OffsetTime.class)) return (T) OffsetTime.parse(argument);
-        if (type.equals(Duration.class)) return (T) Duration.parse(argument);
-        if (type.equals(Period.class)) return (T) Period.parse(argument);
-
-        // Legacy Date support
-        if (type.equals(Date.class)) {
-            var dateTime = parseLocalDateTime(argument);
-            return (T) Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        var time = timeConverters.get(type);
+        if (time != null) {
+            return time;
         }
 
-        return null;
+        return STATIC_CONVERTERS.get(type);
     }
 
     /**
-     * Parse other common types
+     * Resolves the converter of a type that needs no configuration. Called once per type, the result is
+     * cached for the lifetime of the type and must not capture any instance state.
+     *
+     * <p>
+     * Resolution order: built-in types, enums, arrays and finally a public static {@code valueOf(String)}
+     * factory bound as a {@link MethodHandle}. Types with no converter get one that always fails, so the
+     * lookup is not repeated.
+     * </p>
      */
-    @SuppressWarnings("unchecked")
-    private <T> T parseCommonTypes(String argument, Class<T> type) {
-        if (type.equals(UUID.class)) return (T) UUID.fromString(argument);
-        if (type.equals(byte[].class)) return (T) argument.getBytes();
+    private static Function<String, ?> resolveStaticConverter(Class<?> type) {
+        var basic = BASIC_CONVERTERS.get(type);
+        if (basic != null) {
+            return basic;
+        }
+
+        if (type.isEnum()) {
+            return enumConverter(type);
+        }
 
-        // Handle arrays of primitives
         if (type.isArray()) {
-            return parseArray(argument, type);
+            var array = resolveArrayConverter(type.getComponentType());
+            if (array != null) {
+                return array;
+            }
         }
 
-        return null;
+        return valueOfConverter(type);
     }
 
     /**
-     * Parse arrays (simple comma-separated values)
+     * Java 8+ time types and legacy dates, parsed with the configured temporal parser
      */
-    @SuppressWarnings("unchecked")
-    private <T> T parseArray(String argument, Class<T> type) {
-        var componentType = type.getComponentType();
-        var parts = argument.split(",");
+    private static Map<Class<?>, Function<String, ?>> timeConverters(TemporalArgumentParser temporalParser) {
+        return Map.of(
+                LocalDate.class, temporalParser::parseLocalDate,
+                LocalDateTime.class, temporalParser::parseLocalDateTime,
+                LocalTime.class, temporalParser::parseLocalTime,
+                Instant.class, temporalParser::parseInstant,
+                Date.class, argument -> Date.from(temporalParser.parseLocalDateTime(argument).atZone(ZoneId.systemDefault()).toInstant())
+        );
+    }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, ?> enumConverter(Class<?> type) {
+        var enumType = (Class<? extends Enum>) type;
+        return argument -> Enum.valueOf(enumType, argument);
+    }
+
+    /**
+     * Resolve arrays (simple comma-separated values)
+     */
+    private static Function<String, ?> resolveArrayConverter(Class<?> componentType) {
         if (componentType.equals(String.class)) {
-            return (T) parts;
+            return argument -> argument.split(",");
         }
 
         if (componentType.equals(Boolean.class) || componentType.equals(boolean.class)) {
-            Boolean[] result = new Boolean[parts.length];
-            for (int i = 0; i < parts.length; i++) {
-                result[i] = Boolean.valueOf(parts[i].trim());
-            }
-            return (T) result;
+            return argument -> {
+                var parts = argument.split(",");
+                Boolean[] result = new Boolean[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    result[i] = Boolean.valueOf(parts[i].trim());
+                }
+                return result;
+            };
         }
 
-        return tryParseArray(parts, componentType);
-    }
-
-    @SuppressWarnings("unchecked")
-    private static <T> T tryParseArray(String[] parts, Class<?> componentType) {
         // Manejo de tipos numéricos usando ParseNumber
         for (var parser : ParseNumber.PARSERS) {
             if (parser.type().equals(componentType)) {
-                Number[] result = new Number[parts.length];
-                for (int i = 0; i < parts.length; i++) {
-                    result[i] = parser.parse(parts[i].trim());
-                }
-                return (T) result;
+                return argument -> {
+                    var parts = argument.split(",");
+                    Number[] result = new Number[parts.length];
+                    for (int i = 0; i < parts.length; i++) {
+                        result[i] = parser.parse(parts[i].trim());
+                    }
+                    return result;
+                };
             }
         }
 
@@ -219,101 +235,41 @@ public class DefaultRsqlArgumentParser implements RsqlArgumentParser {
     }
 
     /**
-     * Parse via valueOf method using reflection
+     * Bind the public static valueOf(String) method of a type
      */
-    private <T> T parseViaValueOf(String argument, Class<T> type) {
+    private static Function<String, ?> valueOfConverter(Class<?> type) {
+        MethodHandle handle;
         try {
-            Method method = type.getMethod("valueOf", String.class);
-            @SuppressWarnings("unchecked")
-            T result = (T) method.invoke(null, argument);
-            return result;
-        } catch (InvocationTargetException e) {
-            throw new RsqlArgumentFormatException(argument, type);
+            var method = type.getMethod("valueOf", String.class);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                throw new NoSuchMethodException(type.getName() + ".valueOf(String) is not static");
+            }
+            handle = MethodHandles.publicLookup()
+                    .unreflect(method)
+                    .asType(MethodType.methodType(Object.class, String.class));
         } catch (ReflectiveOperationException e) {
             log.warn("{} does not have method valueOf(String s) or method is inaccessible", type);
-            throw new IllegalArgumentException("Cannot parse argument type " + type);
+            return argument -> {
+                throw new IllegalArgumentException("Cannot parse argument type " + type);
+            };
         }
-    }
 
-    /**
-     * Parse LocalDate with multiple format support
-     */
-    private LocalDate parseLocalDate(String argument) {
-        for (var formatter : DATE_FORMATTERS) {
+        return argument -> {
             try {
-                return LocalDate.parse(argument, formatter);
-            } catch (DateTimeParseException ignored) {
-                // Try next formatter
+                return (Object) handle.invokeExact(argument);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RsqlArgumentFormatException(argument, type);
             }
-        }
-        throw new DateTimeParseException("Unable to parse LocalDate: " + argument, argument, 0);
+        };
     }
 
-    /**
-     * Parse LocalDateTime with multiple format support
-     */
-    private LocalDateTime parseLocalDateTime(String argument) {
-        for (var formatter : DATETIME_FORMATTERS) {
-            try {
-                return LocalDateTime.parse(argument, formatter);
-            } catch (DateTimeParseException ignored) {
-                // Try next formatter
-            }
-        }
-
-        // Try parsing as LocalDate and convert to LocalDateTime at start of day
-        try {
-            LocalDate date = parseLocalDate(argument);
-            return date.atStartOfDay();
-        } catch (DateTimeParseException ignored) {
-            // Continue
+    private static Character parseCharacter(String argument) {
+        if (argument.length() != 1) {
+            throw new IllegalArgumentException("Character argument must be exactly one character");
         }
-
-        throw new DateTimeParseException("Unable to parse LocalDateTime: " + argument, argument, 0);
-    }
-
-    /**
-     * Parse LocalTime with multiple format support
-     */
-    private LocalTime parseLocalTime(String argument) {
-        for (var formatter : TIME_FORMATTERS) {
-            try {
-                return LocalTime.parse(argument, formatter);
-            } catch (DateTimeParseException ignored) {
-                // Try next formatter
-            }
-        }
-        throw new DateTimeParseException("Unable to parse LocalTime: " + argument, argument, 0);
-    }
-
-    /**
-     * Parse Instant with flexible format support
-     */
-    private Instant parseInstant(String argument) {
-        // Try ISO format first
-        try {
-            return Instant.parse(argument);
-        } catch (DateTimeParseException ignored) {
-            // Continue
-        }
-
-        // Try as epoch milliseconds
-        try {
-            long epochMilli = Long.parseLong(argument);
-            return Instant.ofEpochMilli(epochMilli);
-        } catch (NumberFormatException ignored) {
-            // Continue
-        }
-
-        // Try as epoch seconds
-        try {
-            long epochSecond = Long.parseLong(argument);
-            return Instant.ofEpochSecond(epochSecond);
-        } catch (NumberFormatException ignored) {
-            // Continue
-        }
-
-        throw new DateTimeParseException("Unable to parse Instant: " + argument, argument, 0);
+        return argument.charAt(0);
     }
 
     /**
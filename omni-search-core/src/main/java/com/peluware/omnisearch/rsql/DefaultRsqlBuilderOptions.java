@@ -1,8 +1,13 @@
 package com.peluware.omnisearch.rsql;
 
+import com.peluware.omnisearch.budget.QueryBudget;
+
 public class DefaultRsqlBuilderOptions implements RsqlBuilderOptions {
 
     private RsqlArgumentParser argumentParser;
+    private RsqlNodeCache nodeCache;
+    private QueryBudget queryBudget;
+    private RsqlOptimizer optimizer;
 
     public RsqlArgumentParser getArgumentParser() {
         if (this.argumentParser == null) {
@@ -10,4 +15,37 @@ public class DefaultRsqlBuilderOptions implements RsqlBuilderOptions {
         }
         return this.argumentParser;
     }
+
+    public RsqlNodeCache getNodeCache() {
+        if (this.nodeCache == null) {
+            this.nodeCache = RsqlNodeCache.shared();
+        }
+        return this.nodeCache;
+    }
+
+    public void setNodeCache(RsqlNodeCache nodeCache) {
+        this.nodeCache = nodeCache;
+    }
+
+    public QueryBudget getQueryBudget() {
+        if (this.queryBudget == null) {
+            this.queryBudget = QueryBudget.unlimited();
+        }
+        return this.queryBudget;
+    }
+
+    public void setQueryBudget(QueryBudget queryBudget) {
+        this.queryBudget = queryBudget;
+    }
+
+    public RsqlOptimizer getOptimizer() {
+        if (this.optimizer == null) {
+            this.optimizer = RsqlOptimizer.standard();
+        }
+        return this.optimizer;
+    }
+
+    public void setOptimizer(RsqlOptimizer optimizer) {
+        this.optimizer = optimizer;
+    }
 }
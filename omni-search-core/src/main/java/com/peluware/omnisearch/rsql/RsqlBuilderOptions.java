@@ -23,6 +23,7 @@
  */
 package com.peluware.omnisearch.rsql;
 
+import com.peluware.omnisearch.budget.QueryBudget;
 
 public interface RsqlBuilderOptions {
 
@@ -33,4 +34,31 @@ public interface RsqlBuilderOptions {
      */
     RsqlArgumentParser getArgumentParser();
 
+    /**
+     * Get the cache of parsed RSQL trees.
+     *
+     * @return RsqlNodeCache, {@link RsqlNodeCache#shared()} by default
+     */
+    default RsqlNodeCache getNodeCache() {
+        return RsqlNodeCache.shared();
+    }
+
+    /**
+     * Get the complexity limits of the searches, checked before any query is executed.
+     *
+     * @return QueryBudget, {@link QueryBudget#unlimited()} by default
+     */
+    default QueryBudget getQueryBudget() {
+        return QueryBudget.unlimited();
+    }
+
+    /**
+     * Get the optimizer applied to parsed RSQL trees before they are translated.
+     *
+     * @return RsqlOptimizer, {@link RsqlOptimizer#standard()} by default
+     */
+    default RsqlOptimizer getOptimizer() {
+        return RsqlOptimizer.standard();
+    }
+
 }
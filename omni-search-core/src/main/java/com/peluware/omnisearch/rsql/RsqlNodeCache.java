@@ -0,0 +1,119 @@
+package com.peluware.omnisearch.rsql;
+
+import com.peluware.omnisearch.profile.QueryPhase;
+import com.peluware.omnisearch.profile.QueryProfiler;
+import com.peluware.omnisearch.utils.CacheStats;
+import com.peluware.omnisearch.utils.LruCache;
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of parsed RSQL trees shared by the providers, so that the same query string is not
+ * parsed again on every {@code list} and {@code count} call.
+ *
+ * <p>
+ * Entries are keyed by the query string and the {@link RSQLParser} that parsed it, since the parser
+ * determines the set of accepted operators. Use {@link #parser(Set)} to obtain parsers: it returns
+ * the same instance for equal operator sets, so providers configured with the same operators share
+ * their entries. Parsed {@link Node}s are immutable and safe to share between threads. Queries that
+ * fail to parse are not cached.
+ * </p>
+ */
+public final class RsqlNodeCache {
+
+    /**
+     * Default maximum number of cached trees.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * Default time-to-live of a cached tree.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final Map<Set<ComparisonOperator>, RSQLParser> PARSERS = new ConcurrentHashMap<>();
+    private static final RsqlNodeCache SHARED = new RsqlNodeCache(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+
+    private final LruCache<Key, Node> cache;
+
+    /**
+     * @param maximumSize maximum number of cached trees, {@code 0} disables caching
+     * @param timeToLive  how long a tree stays cached, {@code null} for no expiry
+     */
+    public RsqlNodeCache(int maximumSize, @Nullable Duration timeToLive) {
+        this.cache = new LruCache<>(maximumSize, timeToLive);
+    }
+
+    /**
+     * @return the process-wide cache used by default by every provider
+     */
+    public static RsqlNodeCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a parser for the given operators, reusing the same instance for equal operator sets.
+     *
+     * @param operators the supported comparison operators
+     * @return the parser
+     */
+    public static RSQLParser parser(Set<ComparisonOperator> operators) {
+        return PARSERS.computeIfAbsent(Set.copyOf(operators), RSQLParser::new);
+    }
+
+    /**
+     * @return the parser for {@link RSQLOperators#defaultOperators()}
+     */
+    public static RSQLParser defaultParser() {
+        return parser(RSQLOperators.defaultOperators());
+    }
+
+    /**
+     * Returns the tree for {@code query}, parsing it with {@code parser} on a miss.
+     *
+     * @param parser the parser, which defines the accepted operators
+     * @param query  the RSQL query
+     * @return the parsed tree
+     * @throws cz.jirutka.rsql.parser.RSQLParserException if the query is not valid
+     */
+    public Node parse(RSQLParser parser, String query) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.PARSE)) {
+            return cache.get(new Key(parser, query), key -> key.parser().parse(key.query()));
+        }
+    }
+
+    /**
+     * @return hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Removes every cached tree.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private record Key(RSQLParser parser, String query) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key(var otherParser, var otherQuery) && parser == otherParser && query.equals(otherQuery);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(parser) + query.hashCode();
+        }
+    }
+}
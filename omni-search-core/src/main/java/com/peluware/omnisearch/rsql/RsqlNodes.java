@@ -0,0 +1,90 @@
+package com.peluware.omnisearch.rsql;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Helpers to inspect parsed RSQL trees.
+ */
+public final class RsqlNodes {
+
+    private RsqlNodes() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Renders the structure of a tree without its argument values, e.g. {@code (name==?;age=gt=?)}
+     * for {@code name==john;age=gt=25}. Two queries with the same shape select the same properties
+     * with the same operators, so anything derived only from selectors and operators can be shared.
+     *
+     * @param node the tree
+     * @return the shape of the tree
+     */
+    public static String shape(Node node) {
+        return node.accept(ShapeWriter.INSTANCE, new StringBuilder()).toString();
+    }
+
+    /**
+     * Collects the distinct selectors of a tree, in order of appearance.
+     *
+     * @param node the tree
+     * @return the selectors
+     */
+    public static Set<String> selectors(Node node) {
+        var selectors = new LinkedHashSet<String>();
+        collectSelectors(node, selectors);
+        return selectors;
+    }
+
+    private static void collectSelectors(Node node, Set<String> selectors) {
+        if (node instanceof ComparisonNode comparison) {
+            selectors.add(comparison.getSelector());
+        } else if (node instanceof LogicalNode logical) {
+            for (var child : logical.getChildren()) {
+                collectSelectors(child, selectors);
+            }
+        }
+    }
+
+    private static final class ShapeWriter implements RSQLVisitor<StringBuilder, StringBuilder> {
+
+        private static final ShapeWriter INSTANCE = new ShapeWriter();
+
+        @Override
+        public StringBuilder visit(AndNode node, StringBuilder builder) {
+            return visitLogicalNode(node, ';', builder);
+        }
+
+        @Override
+        public StringBuilder visit(OrNode node, StringBuilder builder) {
+            return visitLogicalNode(node, ',', builder);
+        }
+
+        @Override
+        public StringBuilder visit(ComparisonNode node, StringBuilder builder) {
+            return builder
+                    .append(node.getSelector())
+                    .append(node.getOperator().getSymbol())
+                    .append(node.getOperator().isMultiValue() ? "(?)" : "?");
+        }
+
+        private StringBuilder visitLogicalNode(LogicalNode node, char separator, StringBuilder builder) {
+            builder.append('(');
+            var children = node.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                if (i > 0) {
+                    builder.append(separator);
+                }
+                children.get(i).accept(this, builder);
+            }
+            return builder.append(')');
+        }
+    }
+}
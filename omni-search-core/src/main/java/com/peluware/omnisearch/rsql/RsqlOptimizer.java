@@ -0,0 +1,311 @@
+package com.peluware.omnisearch.rsql;
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Simplifies parsed RSQL trees before providers translate them into predicates or filters.
+ *
+ * <p>
+ * Clients that generate queries programmatically often produce redundant trees. The optimizer flattens nested
+ * {@code AND}/{@code OR} nodes, removes duplicate children and, when the selector types are known, keeps only
+ * the tightest lower and upper bound of a numeric property ({@code age>=18;age>=21} becomes {@code age>=21}).
+ * Contradictory bounds ({@code age>5;age<3}) fold the conjunction into {@link #alwaysFalse()}, an empty
+ * {@code OR} that providers translate into a constant-false condition.
+ * </p>
+ *
+ * <p>
+ * Merging {@code a==x,a==y} into {@code a=in=(x,y)} is only enabled with {@link #withEqualityMerging()}, for
+ * providers where {@code ==} is an exact comparison: the JPA provider compares strings with a case-insensitive
+ * {@code LIKE} instead. Arguments with wildcards are never merged.
+ * </p>
+ */
+public final class RsqlOptimizer {
+
+    private static final Node FALSE = new OrNode(List.of());
+    private static final RsqlOptimizer STANDARD = new RsqlOptimizer(true, false);
+    private static final RsqlOptimizer NONE = new RsqlOptimizer(false, false);
+
+    private final boolean enabled;
+    private final boolean mergeEqualities;
+
+    private RsqlOptimizer(boolean enabled, boolean mergeEqualities) {
+        this.enabled = enabled;
+        this.mergeEqualities = mergeEqualities;
+    }
+
+    /**
+     * @return the optimizer applying every simplification but equality merging, the default
+     */
+    public static RsqlOptimizer standard() {
+        return STANDARD;
+    }
+
+    /**
+     * @return an optimizer that returns trees unchanged
+     */
+    public static RsqlOptimizer none() {
+        return NONE;
+    }
+
+    /**
+     * @return a copy of this optimizer that also merges equalities on the same selector into {@code =in=}
+     */
+    public RsqlOptimizer withEqualityMerging() {
+        return new RsqlOptimizer(enabled, true);
+    }
+
+    /**
+     * @return the tree matching nothing, an {@code OR} without children
+     */
+    public static Node alwaysFalse() {
+        return FALSE;
+    }
+
+    /**
+     * @param node a tree
+     * @return whether {@code node} is an {@code OR} without children, which matches nothing
+     */
+    public static boolean isAlwaysFalse(Node node) {
+        return node instanceof OrNode or && or.getChildren().isEmpty();
+    }
+
+    /**
+     * Applies the simplifications that do not depend on the selector types.
+     *
+     * @param node the tree
+     * @return the simplified tree, {@code node} itself if nothing changed
+     */
+    public Node optimize(Node node) {
+        return optimize(node, selector -> null);
+    }
+
+    /**
+     * Applies every simplification, folding the bounds of the selectors whose type is numeric.
+     *
+     * @param node  the tree
+     * @param types resolves the type of a selector, or returns {@code null} if it is unknown
+     * @return the simplified tree, {@code node} itself if nothing changed
+     */
+    public Node optimize(Node node, Function<String, @Nullable Class<?>> types) {
+        if (!enabled) {
+            return node;
+        }
+        return simplify(node, types);
+    }
+
+    private Node simplify(Node node, Function<String, @Nullable Class<?>> types) {
+        if (!(node instanceof LogicalNode logical)) {
+            return node;
+        }
+
+        var operator = logical.getOperator();
+        var unique = new LinkedHashSet<Node>();
+        for (var child : logical.getChildren()) {
+            var simplified = simplify(child, types);
+            if (isAlwaysFalse(simplified) && operator == LogicalOperator.AND) {
+                return FALSE;
+            }
+            if (simplified instanceof LogicalNode nested && nested.getOperator() == operator) {
+                unique.addAll(nested.getChildren());
+            } else {
+                unique.add(simplified);
+            }
+        }
+
+        List<Node> children = new ArrayList<>(unique);
+        if (operator == LogicalOperator.OR && mergeEqualities) {
+            children = mergeEqualities(children);
+        }
+        if (operator == LogicalOperator.AND) {
+            children = foldBounds(children, types);
+            if (children == null) {
+                return FALSE;
+            }
+        }
+
+        if (children.isEmpty()) {
+            return FALSE;
+        }
+        if (children.size() == 1) {
+            return children.getFirst();
+        }
+        return children.equals(logical.getChildren()) ? logical : logical.withChildren(children);
+    }
+
+    private static List<Node> mergeEqualities(List<Node> children) {
+        var groups = new LinkedHashMap<String, List<ComparisonNode>>();
+        for (var child : children) {
+            if (isMergeableEquality(child)) {
+                var comparison = (ComparisonNode) child;
+                groups.computeIfAbsent(comparison.getSelector(), selector -> new ArrayList<>()).add(comparison);
+            }
+        }
+        if (groups.values().stream().noneMatch(group -> group.size() > 1)) {
+            return children;
+        }
+
+        var merged = new ArrayList<Node>(children.size());
+        for (var child : children) {
+            if (!isMergeableEquality(child)) {
+                merged.add(child);
+                continue;
+            }
+            var selector = ((ComparisonNode) child).getSelector();
+            var group = groups.get(selector);
+            if (group.size() == 1) {
+                merged.add(child);
+            } else if (group.getFirst() == child) {
+                var arguments = new LinkedHashSet<String>();
+                for (var comparison : group) {
+                    arguments.addAll(comparison.getArguments());
+                }
+                merged.add(new ComparisonNode(RSQLOperators.IN, selector, List.copyOf(arguments)));
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isMergeableEquality(Node node) {
+        if (!(node instanceof ComparisonNode comparison)) {
+            return false;
+        }
+        var operator = comparison.getOperator();
+        if (!RSQLOperators.EQUAL.equals(operator) && !RSQLOperators.IN.equals(operator)) {
+            return false;
+        }
+        return comparison.getArguments().stream().noneMatch(argument -> argument.indexOf('*') >= 0);
+    }
+
+    private static @Nullable List<Node> foldBounds(List<Node> children, Function<String, @Nullable Class<?>> types) {
+        var bounds = new LinkedHashMap<String, Bounds>();
+        for (var child : children) {
+            var bound = Bound.of(child, types);
+            if (bound != null) {
+                bounds.computeIfAbsent(bound.node().getSelector(), selector -> new Bounds()).add(bound);
+            }
+        }
+        if (bounds.values().stream().noneMatch(Bounds::isFoldable)) {
+            return children;
+        }
+
+        var folded = new ArrayList<Node>(children.size());
+        var emitted = new LinkedHashSet<String>();
+        for (var child : children) {
+            var bound = Bound.of(child, types);
+            if (bound == null) {
+                folded.add(child);
+                continue;
+            }
+            var selector = bound.node().getSelector();
+            var selectorBounds = bounds.get(selector);
+            if (!selectorBounds.isFoldable()) {
+                folded.add(child);
+                continue;
+            }
+            if (selectorBounds.isContradictory()) {
+                return null;
+            }
+            if (emitted.add(selector)) {
+                if (selectorBounds.lower != null) {
+                    folded.add(selectorBounds.lower.node());
+                }
+                if (selectorBounds.upper != null) {
+                    folded.add(selectorBounds.upper.node());
+                }
+            }
+        }
+        return folded;
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return Number.class.isAssignableFrom(type) || type.isPrimitive() && type != boolean.class && type != char.class;
+    }
+
+    private record Bound(ComparisonNode node, BigDecimal value, boolean lower, boolean inclusive) {
+
+        private static final Map<ComparisonOperator, Kind> KINDS = Map.of(
+                RSQLOperators.GREATER_THAN, new Kind(true, false),
+                RSQLOperators.GREATER_THAN_OR_EQUAL, new Kind(true, true),
+                RSQLOperators.LESS_THAN, new Kind(false, false),
+                RSQLOperators.LESS_THAN_OR_EQUAL, new Kind(false, true)
+        );
+
+        private record Kind(boolean lower, boolean inclusive) {
+        }
+
+        private static @Nullable Bound of(Node node, Function<String, @Nullable Class<?>> types) {
+            if (!(node instanceof ComparisonNode comparison)) {
+                return null;
+            }
+            var kind = KINDS.get(comparison.getOperator());
+            if (kind == null) {
+                return null;
+            }
+            var type = types.apply(comparison.getSelector());
+            if (type == null || !isNumeric(type)) {
+                return null;
+            }
+            try {
+                var value = new BigDecimal(comparison.getArguments().getFirst());
+                return new Bound(comparison, value, kind.lower(), kind.inclusive());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return whether this bound excludes more values than {@code other}, a bound of the same side
+         */
+        private boolean isTighterThan(Bound other) {
+            var comparison = value.compareTo(other.value);
+            if (comparison == 0) {
+                return !inclusive && other.inclusive;
+            }
+            return lower ? comparison > 0 : comparison < 0;
+        }
+    }
+
+    private static final class Bounds {
+        private @Nullable Bound lower;
+        private @Nullable Bound upper;
+        private int count;
+
+        private void add(Bound bound) {
+            count++;
+            if (bound.lower()) {
+                if (lower == null || bound.isTighterThan(lower)) {
+                    lower = bound;
+                }
+            } else if (upper == null || bound.isTighterThan(upper)) {
+                upper = bound;
+            }
+        }
+
+        private boolean isFoldable() {
+            return count > 1;
+        }
+
+        private boolean isContradictory() {
+            if (lower == null || upper == null) {
+                return false;
+            }
+            var comparison = lower.value().compareTo(upper.value());
+            return comparison > 0 || comparison == 0 && !(lower.inclusive() && upper.inclusive());
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.peluware.omnisearch.rsql;
+
+import org.jspecify.annotations.Nullable;
+
+import java.text.ParsePosition;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
+import java.util.List;
+
+/**
+ * Parses RSQL arguments into {@code java.time} values without relying on exceptions to try each
+ * supported layout.
+ *
+ * <p>
+ * Parsing happens in two steps:
+ * </p>
+ * <ol>
+ *     <li>An optional sniffer that recognises the default layouts ({@code yyyy-MM-dd}, {@code dd/MM/yyyy},
+ *     {@code dd-MM-yyyy}, ISO date-times with {@code T}, date-times separated by a space, {@code HH:mm[:ss]})
+ *     from their length and separator positions, and builds the value directly from the digits.</li>
+ *     <li>The configured formatters, tried in order. Each one is first matched with
+ *     {@link DateTimeFormatter#parseUnresolved(CharSequence, ParsePosition)}, which reports mismatches
+ *     through the {@link ParsePosition} instead of throwing, so only a formatter that matches the whole
+ *     argument is used to resolve the value.</li>
+ * </ol>
+ *
+ * <p>
+ * A {@link DateTimeParseException} is only thrown when no layout matches the argument.
+ * </p>
+ */
+public class TemporalArgumentParser {
+
+    public static final List<DateTimeFormatter> DEFAULT_DATE_FORMATTERS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy")
+    );
+
+    public static final List<DateTimeFormatter> DEFAULT_DATETIME_FORMATTERS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+    );
+
+    public static final List<DateTimeFormatter> DEFAULT_TIME_FORMATTERS = List.of(
+            DateTimeFormatter.ISO_LOCAL_TIME,
+            DateTimeFormatter.ofPattern("HH:mm:ss"),
+            DateTimeFormatter.ofPattern("HH:mm")
+    );
+
+    private final List<DateTimeFormatter> dateFormatters;
+    private final List<DateTimeFormatter> dateTimeFormatters;
+    private final List<DateTimeFormatter> timeFormatters;
+    private final boolean sniffing;
+
+    /**
+     * @param dateFormatters     formatters for {@link LocalDate}, tried in order
+     * @param dateTimeFormatters formatters for {@link LocalDateTime}, tried in order before falling back to a date at start of day
+     * @param timeFormatters     formatters for {@link LocalTime}, tried in order
+     * @param sniffing           whether to recognise the default layouts before trying the formatters; only enable
+     *                           it if those layouts should be accepted
+     */
+    public TemporalArgumentParser(
+            List<DateTimeFormatter> dateFormatters,
+            List<DateTimeFormatter> dateTimeFormatters,
+            List<DateTimeFormatter> timeFormatters,
+            boolean sniffing
+    ) {
+        this.dateFormatters = List.copyOf(dateFormatters);
+        this.dateTimeFormatters = List.copyOf(dateTimeFormatters);
+        this.timeFormatters = List.copyOf(timeFormatters);
+        this.sniffing = sniffing;
+    }
+
+    /**
+     * Parser for the default layouts, with sniffing enabled.
+     */
+    public TemporalArgumentParser() {
+        this(DEFAULT_DATE_FORMATTERS, DEFAULT_DATETIME_FORMATTERS, DEFAULT_TIME_FORMATTERS, true);
+    }
+
+    public LocalDate parseLocalDate(String argument) {
+        var date = sniffing ? sniffLocalDate(argument, 0, argument.length()) : null;
+        if (date == null) {
+            date = parseWith(dateFormatters, argument, LocalDate::from);
+        }
+        if (date == null) {
+            throw new DateTimeParseException("Unable to parse LocalDate: " + argument, argument, 0);
+        }
+        return date;
+    }
+
+    public LocalDateTime parseLocalDateTime(String argument) {
+        var dateTime = sniffing ? sniffLocalDateTime(argument) : null;
+        if (dateTime == null) {
+            dateTime = parseWith(dateTimeFormatters, argument, LocalDateTime::from);
+        }
+        if (dateTime == null) {
+            // Try parsing as LocalDate and convert to LocalDateTime at start of day
+            var date = parseWith(dateFormatters, argument, LocalDate::from);
+            if (date != null) {
+                dateTime = date.atStartOfDay();
+            }
+        }
+        if (dateTime == null) {
+            throw new DateTimeParseException("Unable to parse LocalDateTime: " + argument, argument, 0);
+        }
+        return dateTime;
+    }
+
+    public LocalTime parseLocalTime(String argument) {
+        var time = sniffing ? sniffLocalTime(argument, 0, true) : null;
+        if (time == null) {
+            time = parseWith(timeFormatters, argument, LocalTime::from);
+        }
+        if (time == null) {
+            throw new DateTimeParseException("Unable to parse LocalTime: " + argument, argument, 0);
+        }
+        return time;
+    }
+
+    /**
+     * Parses an ISO-8601 instant, or epoch milliseconds when the argument only has digits.
+     */
+    public Instant parseInstant(String argument) {
+        if (isEpoch(argument)) {
+            return Instant.ofEpochMilli(Long.parseLong(argument));
+        }
+        var instant = parseWith(List.of(DateTimeFormatter.ISO_INSTANT), argument, Instant::from);
+        if (instant == null) {
+            throw new DateTimeParseException("Unable to parse Instant: " + argument, argument, 0);
+        }
+        return instant;
+    }
+
+    /**
+     * Tries each formatter, only resolving with the first one that matches the whole argument.
+     *
+     * @return the parsed value, or {@code null} if no formatter matches
+     */
+    protected <T> @Nullable T parseWith(List<DateTimeFormatter> formatters, String argument, TemporalQuery<T> query) {
+        for (var formatter : formatters) {
+            var position = new ParsePosition(0);
+            var unresolved = formatter.parseUnresolved(argument, position);
+            if (unresolved == null || position.getErrorIndex() >= 0 || position.getIndex() != argument.length()) {
+                continue;
+            }
+            try {
+                return formatter.parse(argument, query);
+            } catch (DateTimeException ignored) {
+                // The layout matches but the fields do not resolve (e.g. 31 of April in strict mode)
+            }
+        }
+        return null;
+    }
+
+    // Sniffer
+
+    private static boolean isEpoch(String argument) {
+        var length = argument.length();
+        if (length == 0 || length > 18) {
+            return false;
+        }
+        var start = argument.charAt(0) == '-' ? 1 : 0;
+        if (start == length) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            var c = argument.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recognises {@code yyyy-MM-dd}, {@code dd/MM/yyyy} and {@code dd-MM-yyyy} between {@code from} and {@code to}.
+     * Dates that are not strictly valid are left to the formatters.
+     */
+    private static @Nullable LocalDate sniffLocalDate(String argument, int from, int to) {
+        if (to - from != 10) {
+            return null;
+        }
+
+        int year;
+        int month;
+        int day;
+        var first = argument.charAt(from + 2);
+        if (first == '/' || first == '-') {
+            if (argument.charAt(from + 5) != first) {
+                return null;
+            }
+            day = digits(argument, from, from + 2);
+            month = digits(argument, from + 3, from + 5);
+            year = digits(argument, from + 6, from + 10);
+        } else if (argument.charAt(from + 4) == '-' && argument.charAt(from + 7) == '-') {
+            year = digits(argument, from, from + 4);
+            month = digits(argument, from + 5, from + 7);
+            day = digits(argument, from + 8, from + 10);
+        } else {
+            return null;
+        }
+
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Recognises a sniffable date followed by {@code T} and an ISO time, or by a space and {@code HH:mm[:ss]}.
+     * A date alone resolves to the start of that day.
+     */
+    private static @Nullable LocalDateTime sniffLocalDateTime(String argument) {
+        var length = argument.length();
+        if (length == 10) {
+            var date = sniffLocalDate(argument, 0, 10);
+            return date == null ? null : date.atStartOfDay();
+        }
+        if (length < 16) {
+            return null;
+        }
+
+        var separator = argument.charAt(10);
+        var iso = separator == 'T';
+        if (!iso && separator != ' ') {
+            return null;
+        }
+        // ISO date-times only use yyyy-MM-dd, and dd-MM-yyyy is only accepted as a date
+        if (iso ? argument.charAt(4) != '-' : argument.charAt(2) == '-') {
+            return null;
+        }
+
+        var date = sniffLocalDate(argument, 0, 10);
+        if (date == null) {
+            return null;
+        }
+        var time = sniffLocalTime(argument, 11, iso);
+        return time == null ? null : LocalDateTime.of(date, time);
+    }
+
+    /**
+     * Recognises {@code HH:mm} and {@code HH:mm:ss} from {@code from} to the end of the argument, plus an
+     * optional fraction of up to nine digits when {@code fraction} is set.
+     */
+    private static @Nullable LocalTime sniffLocalTime(String argument, int from, boolean fraction) {
+        var length = argument.length() - from;
+        if (length != 5 && length < 8) {
+            return null;
+        }
+        if (argument.charAt(from + 2) != ':') {
+            return null;
+        }
+
+        var hour = digits(argument, from, from + 2);
+        var minute = digits(argument, from + 3, from + 5);
+        var second = 0;
+        var nano = 0;
+
+        if (length > 5) {
+            if (argument.charAt(from + 5) != ':') {
+                return null;
+            }
+            second = digits(argument, from + 6, from + 8);
+            if (length > 8) {
+                var fractionDigits = length - 9;
+                if (!fraction || argument.charAt(from + 8) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return null;
+                }
+                nano = digits(argument, from + 9, from + length);
+                for (int i = fractionDigits; i < 9 && nano >= 0; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || nano < 0) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /**
+     * @return the decimal value of the characters between {@code from} and {@code to}, or {@code -1} if any is not a digit
+     */
+    private static int digits(String argument, int from, int to) {
+        var value = 0;
+        for (int i = from; i < to; i++) {
+            var c = argument.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
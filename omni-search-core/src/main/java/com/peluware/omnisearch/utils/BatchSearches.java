@@ -0,0 +1,31 @@
+package com.peluware.omnisearch.utils;
+
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchOptions;
+
+import java.util.List;
+
+/**
+ * Helpers shared by the implementations of {@link OmniSearch#batch(Class, List)}.
+ */
+public final class BatchSearches {
+
+    private BatchSearches() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Keyset pages carry a continuation token that a {@link com.peluware.domain.Page} cannot hold, so they are
+     * not part of batches.
+     *
+     * @param options the search options of a batch
+     * @throws IllegalArgumentException if an options uses keyset pagination
+     */
+    public static void requireNoKeyset(List<OmniSearchOptions> options) {
+        for (int i = 0; i < options.size(); i++) {
+            if (options.get(i).getKeyset() != null) {
+                throw new IllegalArgumentException("Keyset pagination is not supported in batch searches (options at index " + i + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.peluware.omnisearch.utils;
+
+/**
+ * Point-in-time statistics of a {@link LruCache}.
+ *
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups that had to compute the value
+ * @param evictions entries dropped because of the size bound or their time-to-live
+ * @param size      entries currently held
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    /**
+     * @return total number of lookups
+     */
+    public long requests() {
+        return hits + misses;
+    }
+
+    /**
+     * @return ratio of hits over lookups, {@code 0} when nothing was requested yet
+     */
+    public double hitRate() {
+        var requests = requests();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,87 @@
+package com.peluware.omnisearch.utils;
+
+import com.peluware.domain.Page;
+import com.peluware.domain.Pagination;
+import com.peluware.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Builds {@link Page}s whose count query runs on another thread while the list query runs on the caller,
+ * so the latency of a page is that of the slowest query instead of their sum.
+ *
+ * <p>
+ * The count is always executed, even if the total of the page is never read. Exceptions thrown by the
+ * count are rethrown unwrapped when the total is read.
+ * </p>
+ */
+public final class ConcurrentPages {
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("omni-search-count-", 0).factory()
+    );
+
+    private ConcurrentPages() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @return the executor used when none is configured, starting a virtual thread per count
+     */
+    public static Executor defaultExecutor() {
+        return DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * Runs {@code count} on {@code executor} and {@code list} on the calling thread.
+     *
+     * @param list       the list query
+     * @param count      the count query, must not depend on state confined to the calling thread
+     * @param pagination the pagination of the page
+     * @param sort       the sort of the page
+     * @param executor   the executor of the count query
+     * @param <E>        the entity type
+     * @return the page, its total is available once the count completes
+     */
+    public static <E> Page<E> page(Supplier<List<E>> list, LongSupplier count, Pagination pagination, Sort sort, Executor executor) {
+        var total = CompletableFuture.supplyAsync(count::getAsLong, executor);
+
+        List<E> content;
+        try {
+            content = list.get();
+        } catch (RuntimeException | Error e) {
+            total.cancel(false);
+            throw e;
+        }
+
+        return Page.deferred(content, pagination, sort, () -> join(total));
+    }
+
+    /**
+     * Waits for {@code future}, rethrowing the exception it completed with unwrapped.
+     *
+     * @param future the future to wait for
+     * @param <T>    the result type
+     * @return the result of the future
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.peluware.omnisearch.utils;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small thread-safe cache bounded by size (least recently used entries are evicted first) and,
+ * optionally, by a time-to-live counted from the moment an entry was stored.
+ *
+ * <p>
+ * Values are computed outside the lock, so two threads missing the same key at the same time may
+ * both compute it; the last one wins. The lock is therefore never held while a loader runs, however
+ * long it takes, at the price of possibly duplicated work on concurrent misses.
+ * A {@code maximumSize} of {@code 0} disables caching while still counting misses.
+ * </p>
+ *
+ * <p>
+ * Every invalidation starts a new generation. A value computed by {@link #get(Object, Function)} is
+ * only stored if no invalidation happened while it was computed, so that a load started before an
+ * invalidation cannot store a result that the invalidation was meant to discard.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class LruCache<K, V> {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize maximum number of entries kept, {@code 0} disables caching
+     * @param timeToLive  how long an entry stays valid after being stored, {@code null} or zero for no expiry
+     */
+    public LruCache(int maximumSize, @Nullable Duration timeToLive) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+        if (timeToLive != null && timeToLive.isNegative()) {
+            throw new IllegalArgumentException("timeToLive must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+    }
+
+    /**
+     * Cache without expiry.
+     *
+     * @param maximumSize maximum number of entries kept
+     */
+    public LruCache(int maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * Returns the cached value for {@code key}, computing and storing it on a miss. Exceptions
+     * thrown by the loader are propagated and nothing is stored.
+     *
+     * @param key    the key
+     * @param loader computes the value on a miss, must not return {@code null}
+     * @return the cached or freshly computed value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long started;
+        lock.lock();
+        try {
+            started = generation;
+        } finally {
+            lock.unlock();
+        }
+        var value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = Objects.requireNonNull(loader.apply(key), "Cache loader returned null");
+        lock.lock();
+        try {
+            if (generation == started) {
+                store(key, value);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or {@code null} if absent or expired.
+     *
+     * @param key the key
+     * @return the value, or {@code null}
+     */
+    public @Nullable V getIfPresent(K key) {
+        lock.lock();
+        try {
+            var entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entries if the cache is full.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        if (maximumSize == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            store(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(K key, V value) {
+        if (maximumSize == 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        var iterator = entries.values().iterator();
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes the entry for {@code key}, if any.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches {@code filter}.
+     *
+     * @param filter key predicate
+     */
+    public void invalidateIf(Predicate<? super K> filter) {
+        lock.lock();
+        try {
+            generation++;
+            entries.keySet().removeIf(filter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry. Statistics are kept.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of entries currently held, including expired ones not yet evicted
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.storedAt() >= ttlNanos;
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.peluware.omnisearch.utils;
+
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchOptions;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers shared by the implementations of {@link OmniSearch#project(Class, OmniSearchOptions, Class)}.
+ */
+public final class ProjectionFields {
+
+    private ProjectionFields() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Resolves the properties read by a projection: the fields of the options or, if none are set, the
+     * components of the projection record in declaration order.
+     *
+     * @param options    the search options
+     * @param projection the class of the results
+     * @return the properties to read, never empty
+     * @throws IllegalArgumentException if no fields are set and {@code projection} is not a record, or the options use keyset pagination
+     */
+    public static List<String> resolve(OmniSearchOptions options, Class<?> projection) {
+        if (options.getKeyset() != null) {
+            throw new IllegalArgumentException("Keyset pagination is not supported in projections");
+        }
+        var fields = options.getFields();
+        if (!fields.isEmpty()) {
+            return fields;
+        }
+        if (!projection.isRecord()) {
+            throw new IllegalArgumentException("No fields set and projection " + projection.getName() + " is not a record");
+        }
+        return Arrays.stream(projection.getRecordComponents())
+                .map(RecordComponent::getName)
+                .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.peluware.omnisearch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumSearchCandidateTest {
+
+    enum Status {
+        ACTIVE,
+        INACTIVE,
+        PENDING_REVIEW
+    }
+
+    enum Level implements EnumSearchCandidate {
+        LOW("1"),
+        HIGH("2");
+
+        private final String code;
+
+        Level(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public boolean isCandidate(String value) {
+            return code.equals(value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match constants whose name contains the value, in declaration order")
+    void testNames() {
+        // When
+        var candidates = EnumSearchCandidate.collectEnumCandidates(Status.class, "Act");
+
+        // Then
+        assertEquals(List.of(Status.ACTIVE, Status.INACTIVE), List.copyOf(candidates));
+        assertEquals(List.of(Status.PENDING_REVIEW), List.copyOf(EnumSearchCandidate.collectEnumCandidates(Status.class, "g_r")));
+        assertTrue(EnumSearchCandidate.collectEnumCandidates(Status.class, "closed").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> candidates.add(Status.PENDING_REVIEW));
+    }
+
+    @Test
+    @DisplayName("Should ask candidates implementing EnumSearchCandidate on every lookup")
+    void testCandidates() {
+        // When & Then
+        assertEquals(List.of(Level.HIGH), List.copyOf(EnumSearchCandidate.collectEnumCandidates(Level.class, "2")));
+        assertEquals(List.of(Level.HIGH), List.copyOf(EnumSearchCandidate.collectEnumCandidates(Level.class, "Hi")));
+        assertEquals(List.of(Level.LOW), List.copyOf(EnumSearchCandidate.collectEnumCandidates(Level.class, "1")));
+    }
+}
@@ -0,0 +1,93 @@
+package com.peluware.omnisearch;
+
+import com.peluware.domain.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenSearchOptionsTest {
+
+    @Test
+    @DisplayName("Should give equivalent options the same canonical form, fingerprint and hash")
+    void testEquivalentOptions() {
+        // Given
+        var first = new OmniSearchOptions()
+                .search("john")
+                .propagations("address", "contacts")
+                .query("name==john ; (age=gt=25 , status=in=(A, B))")
+                .sort(Order.ascending("name"))
+                .pagination(2, 20);
+        var second = new OmniSearchOptions()
+                .search("john")
+                .propagations("contacts", "address")
+                .query("name==john;(age=gt=25,status=in=(A,B))")
+                .sort(Order.ascending("name"))
+                .pagination(2, 20);
+
+        // When
+        var frozenFirst = first.freeze();
+        var frozenSecond = second.freeze();
+
+        // Then
+        assertEquals(frozenFirst.canonicalForm(), frozenSecond.canonicalForm());
+        assertEquals(frozenFirst.fingerprint(), frozenSecond.fingerprint());
+        assertEquals(frozenFirst, frozenSecond);
+        assertEquals(frozenFirst.hashCode(), frozenSecond.hashCode());
+        assertEquals(32, frozenFirst.fingerprint().toString().length());
+        assertEquals(16, frozenFirst.fingerprint().toBytes().length);
+    }
+
+    @Test
+    @DisplayName("Should distinguish options that change the results")
+    void testDistinctOptions() {
+        // Given
+        var base = new OmniSearchOptions().query("name=='john doe'").pagination(0, 20);
+
+        // When & Then
+        assertNotEquals(base.freeze(), new OmniSearchOptions().query("name=='john  doe'").pagination(0, 20).freeze());
+        assertNotEquals(base.freeze(), new OmniSearchOptions().query("name=='john doe'").pagination(1, 20).freeze());
+        assertNotEquals(base.freeze(), new OmniSearchOptions().query("name=='john doe'").pagination(0, 20).fields("name").freeze());
+        assertNotEquals(new OmniSearchOptions().search(" john ").freeze(), new OmniSearchOptions().search("john").freeze());
+        assertEquals(new OmniSearchOptions().search("  ").freeze(), new OmniSearchOptions().freeze());
+        assertNotEquals(
+                new OmniSearchOptions().query("a==1 and b==2").freeze(),
+                new OmniSearchOptions().query("a==1andb==2").freeze()
+        );
+    }
+
+    @Test
+    @DisplayName("Should be immutable and unaffected by later changes to the source options")
+    void testImmutable() {
+        // Given
+        var options = new OmniSearchOptions().search("john").propagations(Set.of("b", "a")).fields("name");
+        var frozen = options.freeze();
+
+        // When
+        options.search("jane").fields("email");
+
+        // Then
+        assertEquals("john", frozen.getSearch());
+        assertEquals(List.of("a", "b"), List.copyOf(frozen.getPropagations()));
+        assertEquals(List.of("name"), frozen.getFields());
+        assertSame(frozen, frozen.freeze());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.search("jane"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.pagination(0, 10));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.getPropagations().add("c"));
+    }
+
+    @Test
+    @DisplayName("Should freeze base options as unsorted and unpaginated")
+    void testBaseOptions() {
+        // When
+        var frozen = new OmniSearchBaseOptions().query("a==1").freeze();
+
+        // Then
+        assertFalse(frozen.getPagination().isPaginated());
+        assertTrue(frozen.getSort().orders().isEmpty());
+        assertEquals(new OmniSearchOptions().query("a==1").freeze(), frozen);
+    }
+}
@@ -0,0 +1,80 @@
+package com.peluware.omnisearch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Year;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTermTest {
+
+    enum Status {
+        ACTIVE,
+        INACTIVE,
+        DELETED
+    }
+
+    @Test
+    @DisplayName("Should classify a number into every numeric type it fits")
+    void testNumbers() {
+        // When
+        var term = SearchTerm.of("2024");
+
+        // Then
+        assertEquals(2024, term.number(Integer.class));
+        assertEquals(2024, term.number(int.class));
+        assertEquals(2024L, term.number(long.class));
+        assertEquals(2024.0, term.number(Double.class));
+        assertEquals(new BigDecimal("2024"), term.number(BigDecimal.class));
+        assertNull(term.number(Byte.class));
+        assertEquals(Year.of(2024), term.year());
+        assertNull(term.uuid());
+        assertNull(term.booleanValue());
+    }
+
+    @Test
+    @DisplayName("Should not give decimals to integral types")
+    void testDecimal() {
+        // When
+        var term = SearchTerm.of("1.5");
+
+        // Then
+        assertNull(term.number(Integer.class));
+        assertNull(term.number(long.class));
+        assertEquals(1.5, term.number(Double.class));
+        assertEquals(1.5f, term.number(float.class));
+        assertNull(term.year());
+    }
+
+    @Test
+    @DisplayName("Should classify UUIDs, booleans and object identifiers")
+    void testTypedValues() {
+        // Given
+        var uuid = UUID.randomUUID();
+
+        // When & Then
+        assertEquals(uuid, SearchTerm.of(uuid.toString()).uuid());
+        assertEquals(Boolean.TRUE, SearchTerm.of("True").booleanValue());
+        assertEquals(Boolean.FALSE, SearchTerm.of("false").booleanValue());
+        assertTrue(SearchTerm.of("507f1f77bcf86cd799439011").isObjectId());
+        assertFalse(SearchTerm.of("john").isObjectId());
+        assertNull(SearchTerm.of("john").number(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should match text and enum constants ignoring case")
+    void testTextAndEnums() {
+        // When
+        var term = SearchTerm.of("ActIve");
+
+        // Then
+        assertEquals("active", term.lowerCase());
+        assertTrue(term.containsPattern().matcher("an INACTIVE user").find());
+        assertEquals(Set.of(Status.ACTIVE, Status.INACTIVE), Set.copyOf(term.enumCandidates(Status.class)));
+        assertSame(term.enumCandidates(Status.class), term.enumCandidates(Status.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.peluware.omnisearch.budget;
+
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import cz.jirutka.rsql.parser.ast.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetTest {
+
+    private static Node parse(String query) {
+        return RsqlNodeCache.defaultParser().parse(query);
+    }
+
+    @Test
+    @DisplayName("Should accept any request with the unlimited budget")
+    void testUnlimited() {
+        // Given
+        var budget = QueryBudget.unlimited();
+        var options = new OmniSearchOptions().propagations("a", "b", "c");
+
+        // When & Then
+        assertDoesNotThrow(() -> budget.check(options, parse("a==1,a==2,a==3;b=in=(1,2,3,4)")));
+        assertDoesNotThrow(() -> budget.checkJoins(100));
+        assertDoesNotThrow(() -> budget.checkSearchColumns(100));
+    }
+
+    @Test
+    @DisplayName("Should count OR branches over the whole tree")
+    void testOrBranches() {
+        // Given
+        var budget = QueryBudget.unlimited().withMaxOrBranches(4);
+        var options = new OmniSearchOptions();
+
+        // When & Then
+        assertDoesNotThrow(() -> budget.check(options, parse("(a==1,a==2);(b==1,b==2)")));
+        var exception = assertThrows(QueryBudgetExceededException.class, () -> budget.check(options, parse("(a==1,a==2,a==3);(b==1,b==2)")));
+        assertEquals(QueryBudget.Limit.OR_BRANCHES, exception.getLimit());
+        assertEquals(5, exception.getActual());
+        assertEquals(4, exception.getMaximum());
+    }
+
+    @Test
+    @DisplayName("Should reject too many nodes, arguments and propagations")
+    void testLimits() {
+        // Given
+        var budget = QueryBudget.unlimited()
+                .withMaxNodes(3)
+                .withMaxArguments(3)
+                .withMaxPropagations(1);
+
+        // When & Then
+        assertEquals(QueryBudget.Limit.NODES, assertThrows(QueryBudgetExceededException.class,
+                () -> budget.check(new OmniSearchOptions(), parse("a==1;b==2;c==3"))).getLimit());
+        assertEquals(QueryBudget.Limit.ARGUMENTS, assertThrows(QueryBudgetExceededException.class,
+                () -> budget.check(new OmniSearchOptions(), parse("a=in=(1,2,3,4)"))).getLimit());
+        assertEquals(QueryBudget.Limit.PROPAGATIONS, assertThrows(QueryBudgetExceededException.class,
+                () -> budget.check(new OmniSearchOptions().propagations("a", "b"), null)).getLimit());
+    }
+
+    @Test
+    @DisplayName("Should reject negative limits")
+    void testNegativeLimit() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> QueryBudget.unlimited().withMaxJoins(-1));
+    }
+}
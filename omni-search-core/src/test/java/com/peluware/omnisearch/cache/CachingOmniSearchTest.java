@@ -0,0 +1,167 @@
+package com.peluware.omnisearch.cache;
+
+import com.peluware.domain.Order;
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.count.CountAccuracy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingOmniSearchTest {
+
+    private final AtomicInteger lists = new AtomicInteger();
+    private final AtomicInteger counts = new AtomicInteger();
+
+    private final OmniSearch delegate = new OmniSearch() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+            lists.incrementAndGet();
+            return (List<E>) List.of("a", "b");
+        }
+
+        @Override
+        public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+            counts.incrementAndGet();
+            return 42;
+        }
+    };
+
+    private final CachingOmniSearch omniSearch = new CachingOmniSearch(delegate);
+
+    @Test
+    @DisplayName("Should answer equivalent lists from the cache")
+    void testListCached() {
+        // Given
+        var first = new OmniSearchOptions().search("smith").propagations("b", "a").query("age>30");
+        var second = new OmniSearchOptions().search("smith").propagations("a", "b").query("age>30");
+
+        // When
+        var firstResult = omniSearch.list(String.class, first);
+        var secondResult = omniSearch.list(String.class, second);
+
+        // Then
+        assertEquals(List.of("a", "b"), secondResult);
+        assertSame(firstResult, secondResult);
+        assertEquals(1, lists.get());
+        assertEquals(1, omniSearch.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Should not share entries between searches differing in surrounding whitespace")
+    void testSearchWhitespaceNotShared() {
+        // When
+        omniSearch.list(String.class, new OmniSearchOptions().search(" smith "));
+        omniSearch.list(String.class, new OmniSearchOptions().search("smith"));
+        omniSearch.list(String.class, new OmniSearchOptions().search("  "));
+        omniSearch.list(String.class, new OmniSearchOptions());
+
+        // Then
+        assertEquals(3, lists.get());
+        assertEquals(1, omniSearch.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Should share the count between the pages of a listing")
+    void testCountSharedBetweenPages() {
+        // When
+        for (int page = 0; page < 3; page++) {
+            omniSearch.count(String.class, new OmniSearchOptions()
+                    .query("age>30")
+                    .sort(Sort.by("name", Order.Direction.ASC))
+                    .pagination(page, 20));
+        }
+
+        // Then
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    @DisplayName("Should separate entries by entity, pagination and count options")
+    void testDistinctKeys() {
+        // When
+        omniSearch.list(String.class, new OmniSearchOptions().pagination(0, 10));
+        omniSearch.list(String.class, new OmniSearchOptions().pagination(1, 10));
+        omniSearch.list(Integer.class, new OmniSearchOptions().pagination(0, 10));
+        omniSearch.countResult(String.class, new OmniSearchOptions());
+        omniSearch.countResult(String.class, new OmniSearchOptions().countLimit(10));
+        omniSearch.countResult(String.class, new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED));
+
+        // Then
+        assertEquals(3, lists.get());
+        assertEquals(3, counts.get());
+    }
+
+    @Test
+    @DisplayName("Should drop only the results of an invalidated entity")
+    void testInvalidate() {
+        // Given
+        var options = new OmniSearchOptions();
+        omniSearch.list(String.class, options);
+        omniSearch.list(Integer.class, options);
+
+        // When
+        omniSearch.invalidate(String.class);
+        omniSearch.list(String.class, options);
+        omniSearch.list(Integer.class, options);
+
+        // Then
+        assertEquals(3, lists.get());
+    }
+
+    @Test
+    @DisplayName("Should not store a result loaded while the entity was invalidated")
+    void testInvalidateDuringLoad() {
+        // Given
+        var loads = new AtomicInteger();
+        var holder = new CachingOmniSearch[1];
+        var racing = new OmniSearch() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+                if (loads.incrementAndGet() == 1) {
+                    // a write committed while the first load runs
+                    holder[0].invalidate(entityClass);
+                }
+                return (List<E>) List.of("a");
+            }
+
+            @Override
+            public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+                return 1;
+            }
+        };
+        holder[0] = new CachingOmniSearch(racing);
+
+        // When
+        holder[0].list(String.class, new OmniSearchOptions());
+        holder[0].list(String.class, new OmniSearchOptions());
+        holder[0].list(String.class, new OmniSearchOptions());
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache when the maximum size is zero")
+    void testDisabled() {
+        // Given
+        var uncached = new CachingOmniSearch(delegate, 0, Duration.ofMinutes(1));
+
+        // When
+        uncached.list(String.class, new OmniSearchOptions());
+        uncached.list(String.class, new OmniSearchOptions());
+
+        // Then
+        assertEquals(2, lists.get());
+        assertEquals(2, uncached.stats().misses());
+    }
+}
@@ -0,0 +1,89 @@
+package com.peluware.omnisearch.count;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountAccuracyTest {
+
+    private final AtomicInteger estimates = new AtomicInteger();
+    private final AtomicInteger exactCounts = new AtomicInteger();
+
+    private CountResult resolve(CountAccuracy accuracy, OptionalLong estimate) {
+        return accuracy.resolve(
+                () -> {
+                    estimates.incrementAndGet();
+                    return estimate;
+                },
+                () -> {
+                    exactCounts.incrementAndGet();
+                    return 42;
+                },
+                1_000
+        );
+    }
+
+    @Test
+    @DisplayName("Should count exactly without estimating")
+    void testExact() {
+        // When
+        var result = resolve(CountAccuracy.EXACT, OptionalLong.of(5_000));
+
+        // Then
+        assertEquals(CountResult.exact(42), result);
+        assertEquals(0, estimates.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the estimate without counting")
+    void testEstimated() {
+        // When
+        var result = resolve(CountAccuracy.ESTIMATED, OptionalLong.of(10));
+
+        // Then
+        assertEquals(CountResult.estimated(10), result);
+        assertFalse(result.exact());
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    @DisplayName("Should count exactly when there is no estimate")
+    void testEstimatedFallsBackToExact() {
+        // When
+        var result = resolve(CountAccuracy.ESTIMATED, OptionalLong.empty());
+
+        // Then
+        assertEquals(CountResult.exact(42), result);
+    }
+
+    @Test
+    @DisplayName("Should count exactly below the auto threshold and estimate above it")
+    void testAuto() {
+        // When
+        var small = resolve(CountAccuracy.AUTO, OptionalLong.of(999));
+        var large = resolve(CountAccuracy.AUTO, OptionalLong.of(1_000));
+
+        // Then
+        assertEquals(CountResult.exact(42), small);
+        assertEquals(CountResult.estimated(1_000), large);
+        assertEquals(1, exactCounts.get());
+    }
+
+    @Test
+    @DisplayName("Should report a capped count when the limit is reached")
+    void testLimited() {
+        assertEquals(CountResult.exact(999), CountResult.limited(999, 1_000));
+        assertEquals(CountResult.capped(1_000), CountResult.limited(1_000, 1_000));
+        assertFalse(CountResult.capped(1_000).exact());
+    }
+
+    @Test
+    @DisplayName("Should reject negative counts")
+    void testNegativeCount() {
+        assertThrows(IllegalArgumentException.class, () -> CountResult.estimated(-1));
+    }
+}
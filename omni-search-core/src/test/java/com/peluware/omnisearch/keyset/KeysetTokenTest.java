@@ -0,0 +1,98 @@
+package com.peluware.omnisearch.keyset;
+
+import com.peluware.domain.Order;
+import com.peluware.domain.Sort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetTokenTest {
+
+    private static final String SIGNATURE = "com.example.User;lastName:ASC;id:ASC";
+
+    @Nested
+    @DisplayName("Token encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should decode the values it encoded")
+        void testRoundTrip() {
+            // Given
+            var values = List.of("Müller", "", "2024-05-17T10:15:30Z", "42");
+
+            // When
+            var token = KeysetToken.encode(SIGNATURE, values);
+
+            // Then
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL-safe: " + token);
+            assertEquals(values, KeysetToken.decode(token, SIGNATURE));
+        }
+
+        @Test
+        @DisplayName("Should reject a token issued for another sort")
+        void testRejectOtherSignature() {
+            // Given
+            var token = KeysetToken.encode(SIGNATURE, List.of("Smith", "7"));
+
+            // When / Then
+            var exception = assertThrows(IllegalArgumentException.class,
+                    () -> KeysetToken.decode(token, "com.example.User;lastName:DESC;id:ASC"));
+            assertTrue(exception.getMessage().contains("different"));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed tokens")
+        void testRejectMalformed() {
+            // Given
+            var token = KeysetToken.encode(SIGNATURE, List.of("Smith", "7"));
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> KeysetToken.decode("not a token!", SIGNATURE));
+            assertThrows(IllegalArgumentException.class, () -> KeysetToken.decode(token.substring(0, token.length() - 3), SIGNATURE));
+            assertThrows(IllegalArgumentException.class, () -> KeysetToken.decode(token + "AAAA", SIGNATURE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset orders")
+    class OrdersTests {
+
+        @Test
+        @DisplayName("Should append the tiebreaker after the requested sort")
+        void testAppendTiebreaker() {
+            // Given
+            var sort = Sort.by("createdAt", Order.Direction.DESC);
+
+            // When
+            var orders = KeysetPagination.first(20).orders(sort, "id");
+
+            // Then
+            assertEquals(List.of("createdAt", "id"), orders.stream().map(Order::property).toList());
+            assertEquals(List.of(Order.Direction.DESC, Order.Direction.ASC), orders.stream().map(Order::direction).toList());
+        }
+
+        @Test
+        @DisplayName("Should not repeat a tiebreaker that is already sorted")
+        void testTiebreakerAlreadySorted() {
+            // Given
+            var sort = Sort.by("code", Order.Direction.DESC);
+
+            // When
+            var orders = KeysetPagination.first(20).withTiebreaker("code").orders(sort, "id");
+
+            // Then
+            assertEquals(1, orders.size());
+            assertEquals(Order.Direction.DESC, orders.getFirst().direction());
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive page sizes")
+        void testRejectInvalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> KeysetPagination.first(0));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.peluware.omnisearch.profile;
+
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryProfilerTest {
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count the time of a nested phase only in that phase")
+    void testNestedPhases() {
+        // When
+        var profiled = QueryProfiler.profile("list", String.class, () -> {
+            try (var build = QueryProfiler.phase(QueryPhase.BUILD)) {
+                sleep(20);
+                try (var resolve = QueryProfiler.phase(QueryPhase.RESOLVE)) {
+                    sleep(30);
+                }
+            }
+            try (var execute = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+                sleep(10);
+            }
+            return List.of("a", "b");
+        }, List::size);
+
+        // Then
+        var profile = profiled.profile();
+        assertEquals(List.of("a", "b"), profiled.result());
+        assertEquals(2, profile.rows());
+        assertTrue(profile.get(QueryPhase.RESOLVE).compareTo(Duration.ofMillis(30)) >= 0);
+        assertTrue(profile.get(QueryPhase.BUILD).compareTo(Duration.ofMillis(20)) >= 0);
+        assertTrue(profile.get(QueryPhase.EXECUTE).compareTo(Duration.ofMillis(10)) >= 0);
+        assertEquals(Duration.ZERO, profile.get(QueryPhase.MATERIALIZE));
+
+        var phases = profile.get(QueryPhase.BUILD).plus(profile.get(QueryPhase.RESOLVE)).plus(profile.get(QueryPhase.EXECUTE));
+        assertTrue(phases.compareTo(profile.total()) <= 0);
+    }
+
+    @Test
+    @DisplayName("Should not record phases outside a profiled call")
+    void testNotProfiling() {
+        // When
+        try (var span = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            // Then
+            assertFalse(QueryProfiler.isProfiling());
+        }
+        var profiled = QueryProfiler.profile("count", String.class, QueryProfiler::isProfiling, result -> -1);
+
+        // Then
+        assertTrue(profiled.result());
+        assertFalse(QueryProfiler.isProfiling());
+        assertTrue(profiled.profile().phases().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should deliver the profile of a failed call to the listener")
+    void testListenerOnFailure() {
+        // Given
+        var profiles = new ArrayList<QueryProfile>();
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> QueryProfiler.profile("list", String.class, () -> {
+            try (var build = QueryProfiler.phase(QueryPhase.BUILD)) {
+                throw new IllegalArgumentException("Unknown property");
+            }
+        }, result -> 0, profiles::add));
+
+        // Then
+        assertEquals(1, profiles.size());
+        assertEquals(-1, profiles.getFirst().rows());
+        assertTrue(profiles.getFirst().phases().containsKey(QueryPhase.BUILD));
+        assertFalse(QueryProfiler.isProfiling());
+    }
+
+    @Test
+    @DisplayName("Should profile every call of the decorated search")
+    void testProfilingOmniSearch() {
+        // Given
+        var profiles = new ArrayList<QueryProfile>();
+        var omniSearch = new ProfilingOmniSearch(new OmniSearch() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+                try (var execute = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+                    return (List<E>) List.of("a", "b", "c");
+                }
+            }
+
+            @Override
+            public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+                return 42;
+            }
+        }, profiles::add);
+
+        // When
+        omniSearch.list(String.class, new OmniSearchOptions());
+        omniSearch.count(String.class, new OmniSearchOptions());
+
+        // Then
+        assertEquals(2, profiles.size());
+        assertEquals("list", profiles.get(0).operation());
+        assertEquals(3, profiles.get(0).rows());
+        assertTrue(profiles.get(0).phases().containsKey(QueryPhase.EXECUTE));
+        assertEquals("count", profiles.get(1).operation());
+        assertEquals(42, profiles.get(1).rows());
+        assertEquals(String.class, profiles.get(1).entityClass());
+    }
+}
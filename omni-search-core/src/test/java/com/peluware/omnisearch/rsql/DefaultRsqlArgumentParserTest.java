@@ -0,0 +1,147 @@
+package com.peluware.omnisearch.rsql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultRsqlArgumentParserTest {
+
+    enum Status {
+        ACTIVE, INACTIVE
+    }
+
+    public record Code(String value) {
+        public static Code valueOf(String value) {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Empty code");
+            }
+            return new Code(value.toUpperCase());
+        }
+    }
+
+    public record NoFactory(String value) {
+    }
+
+    private final DefaultRsqlArgumentParser parser = new DefaultRsqlArgumentParser();
+
+    @Nested
+    @DisplayName("Built-in types")
+    class BuiltInTypeTests {
+
+        @Test
+        @DisplayName("Should parse numbers, booleans and characters")
+        void testBasicTypes() {
+            assertEquals(42, parser.parse("42", Integer.class));
+            assertEquals(42, parser.parse(" 42 ", int.class));
+            assertEquals(42L, parser.parse("42", Long.class));
+            assertEquals(new BigDecimal("12.50"), parser.parse("12.50", BigDecimal.class));
+            assertEquals(true, parser.parse("true", boolean.class));
+            assertEquals('x', parser.parse("x", Character.class));
+        }
+
+        @Test
+        @DisplayName("Should parse UUIDs, dates and lists")
+        void testCommonTypes() {
+            var uuid = UUID.randomUUID();
+            assertEquals(uuid, parser.parse(uuid.toString(), UUID.class));
+            assertEquals(LocalDate.of(2024, 5, 17), parser.parse("2024-05-17", LocalDate.class));
+            assertEquals(LocalDateTime.of(2024, 5, 17, 0, 0), parser.parse("17/05/2024", LocalDateTime.class));
+            assertEquals(List.of(1, 2, 3), parser.parse(List.of("1", "2", "3"), Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should return null for blank arguments")
+        void testBlankArgument() {
+            assertNull(parser.parse(" ", Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should fail with a format exception for invalid arguments")
+        void testInvalidArgument() {
+            var exception = assertThrows(RsqlArgumentFormatException.class, () -> parser.parse("abc", Integer.class));
+            assertEquals("abc", exception.getArgument());
+            assertEquals(Integer.class, exception.getPropertyType());
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolved types")
+    class ResolvedTypeTests {
+
+        @Test
+        @DisplayName("Should parse enum constants")
+        void testEnum() {
+            assertEquals(Status.INACTIVE, parser.parse("INACTIVE", Status.class));
+            assertThrows(RsqlArgumentFormatException.class, () -> parser.parse("UNKNOWN", Status.class));
+        }
+
+        @Test
+        @DisplayName("Should parse through a static valueOf(String) factory")
+        void testValueOf() {
+            assertEquals(new Code("ABC"), parser.parse("abc", Code.class));
+            assertEquals(new Code("DEF"), parser.parse("def", Code.class));
+        }
+
+        @Test
+        @DisplayName("Should fail with a format exception for types without converter")
+        void testUnsupportedType() {
+            assertThrows(RsqlArgumentFormatException.class, () -> parser.parse("abc", NoFactory.class));
+            assertThrows(RsqlArgumentFormatException.class, () -> parser.parse("abc", NoFactory.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Custom parsers")
+    class CustomParserTests {
+
+        @Test
+        @DisplayName("Should use a custom parser registered after the type was already resolved")
+        void testCustomParserReplacesResolvedConverter() {
+            // Given
+            assertEquals(new Code("ABC"), parser.parse("abc", Code.class));
+
+            // When
+            parser.addCustomParser(Code.class, value -> new Code("custom-" + value));
+
+            // Then
+            assertEquals(new Code("custom-abc"), parser.parse("abc", Code.class));
+            assertTrue(parser.hasCustomParser(Code.class));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the default converter once the custom parser is removed")
+        void testRemoveCustomParser() {
+            // Given
+            parser.addCustomParser(Integer.class, value -> -1);
+            assertEquals(-1, parser.parse("42", Integer.class));
+
+            // When
+            parser.removeCustomParser(Integer.class);
+
+            // Then
+            assertEquals(42, parser.parse("42", Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should keep custom parsers to the instance they were registered on")
+        void testCustomParserNotShared() {
+            // Given
+            var other = new DefaultRsqlArgumentParser();
+
+            // When
+            parser.addCustomParser(Code.class, value -> new Code("custom-" + value));
+
+            // Then
+            assertEquals(new Code("custom-abc"), parser.parse("abc", Code.class));
+            assertEquals(new Code("ABC"), other.parse("abc", Code.class));
+        }
+    }
+}
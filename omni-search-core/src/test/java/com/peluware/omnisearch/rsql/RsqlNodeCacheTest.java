@@ -0,0 +1,130 @@
+package com.peluware.omnisearch.rsql;
+
+import cz.jirutka.rsql.parser.RSQLParserException;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RsqlNodeCacheTest {
+
+    @Nested
+    @DisplayName("Parser interning")
+    class ParserTests {
+
+        @Test
+        @DisplayName("Should return the same parser for equal operator sets")
+        void testSameParserForEqualOperators() {
+            // Given
+            var operators = new HashSet<>(RSQLOperators.defaultOperators());
+
+            // When
+            var parser = RsqlNodeCache.parser(operators);
+
+            // Then
+            assertSame(RsqlNodeCache.defaultParser(), parser);
+        }
+
+        @Test
+        @DisplayName("Should return a different parser for other operator sets")
+        void testDifferentParserForOtherOperators() {
+            // When
+            var parser = RsqlNodeCache.parser(Set.of(RSQLOperators.EQUAL));
+
+            // Then
+            assertNotSame(RsqlNodeCache.defaultParser(), parser);
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class CachingTests {
+
+        @Test
+        @DisplayName("Should parse a query once and count hits and misses")
+        void testHitsAndMisses() {
+            // Given
+            var cache = new RsqlNodeCache(16, null);
+            var parser = RsqlNodeCache.defaultParser();
+
+            // When
+            var first = cache.parse(parser, "name==john;age=gt=25");
+            var second = cache.parse(parser, "name==john;age=gt=25");
+
+            // Then
+            assertSame(first, second);
+            assertEquals(1, cache.stats().hits());
+            assertEquals(1, cache.stats().misses());
+            assertEquals(1, cache.stats().size());
+        }
+
+        @Test
+        @DisplayName("Should keep separate entries per operator set")
+        void testSeparateEntriesPerOperatorSet() {
+            // Given
+            var cache = new RsqlNodeCache(16, null);
+
+            // When
+            cache.parse(RsqlNodeCache.defaultParser(), "name==john");
+            cache.parse(RsqlNodeCache.parser(Set.of(RSQLOperators.EQUAL)), "name==john");
+
+            // Then
+            assertEquals(2, cache.stats().misses());
+            assertEquals(2, cache.stats().size());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used query")
+        void testLruEviction() {
+            // Given
+            var cache = new RsqlNodeCache(2, null);
+            var parser = RsqlNodeCache.defaultParser();
+            var first = cache.parse(parser, "a==1");
+            cache.parse(parser, "b==2");
+            cache.parse(parser, "a==1");
+
+            // When
+            cache.parse(parser, "c==3");
+
+            // Then
+            assertEquals(2, cache.stats().size());
+            assertEquals(1, cache.stats().evictions());
+            assertSame(first, cache.parse(parser, "a==1"));
+        }
+
+        @Test
+        @DisplayName("Should reparse expired queries")
+        void testTimeToLive() throws InterruptedException {
+            // Given
+            var cache = new RsqlNodeCache(16, Duration.ofMillis(5));
+            var parser = RsqlNodeCache.defaultParser();
+            cache.parse(parser, "name==john");
+
+            // When
+            Thread.sleep(20);
+            cache.parse(parser, "name==john");
+
+            // Then
+            assertEquals(0, cache.stats().hits());
+            assertEquals(2, cache.stats().misses());
+        }
+
+        @Test
+        @DisplayName("Should not cache invalid queries")
+        void testInvalidQueryNotCached() {
+            // Given
+            var cache = new RsqlNodeCache(16, null);
+            var parser = RsqlNodeCache.defaultParser();
+
+            // When / Then
+            assertThrows(RSQLParserException.class, () -> cache.parse(parser, "name=="));
+            assertEquals(0, cache.stats().size());
+        }
+    }
+}
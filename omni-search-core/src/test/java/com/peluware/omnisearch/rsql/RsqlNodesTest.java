@@ -0,0 +1,53 @@
+package com.peluware.omnisearch.rsql;
+
+import cz.jirutka.rsql.parser.RSQLParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RsqlNodesTest {
+
+    private final RSQLParser parser = RsqlNodeCache.defaultParser();
+
+    @Test
+    @DisplayName("Should render the same shape for queries differing only in values")
+    void testShapeIgnoresValues() {
+        // Given
+        var first = parser.parse("name==john;(age=gt=25,status=in=(A,B))");
+        var second = parser.parse("name==jane;(age=gt=40,status=in=(C))");
+
+        // When
+        var shape = RsqlNodes.shape(first);
+
+        // Then
+        assertEquals("(name==?;(age=gt=?,status=in=(?)))", shape);
+        assertEquals(shape, RsqlNodes.shape(second));
+    }
+
+    @Test
+    @DisplayName("Should render different shapes for different operators")
+    void testShapeDependsOnOperators() {
+        // Given
+        var first = parser.parse("age=gt=25");
+        var second = parser.parse("age=lt=25");
+
+        // Then
+        assertNotEquals(RsqlNodes.shape(first), RsqlNodes.shape(second));
+    }
+
+    @Test
+    @DisplayName("Should collect distinct selectors in order of appearance")
+    void testSelectors() {
+        // Given
+        var node = parser.parse("name==john;(age=gt=25,name==jane);address.city==Quito");
+
+        // When
+        var selectors = RsqlNodes.selectors(node);
+
+        // Then
+        assertEquals(List.of("name", "age", "address.city"), List.copyOf(selectors));
+    }
+}
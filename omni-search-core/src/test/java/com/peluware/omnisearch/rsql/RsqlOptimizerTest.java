@@ -0,0 +1,90 @@
+package com.peluware.omnisearch.rsql;
+
+import cz.jirutka.rsql.parser.ast.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RsqlOptimizerTest {
+
+    private static final Function<String, Class<?>> NUMERIC = selector -> selector.startsWith("name") ? String.class : Integer.class;
+
+    private static Node parse(String query) {
+        return RsqlNodeCache.defaultParser().parse(query);
+    }
+
+    @Test
+    @DisplayName("Should flatten nested logical nodes and remove duplicates")
+    void testFlattenAndDeduplicate() {
+        // When
+        var optimized = RsqlOptimizer.standard().optimize(parse("(a==1;(b==2;a==1));(c==3,(c==3,d==4))"));
+
+        // Then
+        assertEquals(parse("a==1;b==2;(c==3,d==4)"), optimized);
+    }
+
+    @Test
+    @DisplayName("Should return the same tree when nothing can be simplified")
+    void testUnchanged() {
+        // Given
+        var node = parse("name==john;age=gt=25");
+        var duplicated = parse("a==1;a==1");
+
+        // When & Then
+        assertSame(node, RsqlOptimizer.standard().optimize(node, NUMERIC));
+        assertSame(duplicated, RsqlOptimizer.none().optimize(duplicated));
+    }
+
+    @Test
+    @DisplayName("Should merge equalities into =in= only when enabled")
+    void testMergeEqualities() {
+        // Given
+        var node = parse("status==OPEN,status==LATE,status=in=(OPEN,DONE),name==jo*,name==ann");
+
+        // When
+        var standard = RsqlOptimizer.standard().optimize(node);
+        var merged = RsqlOptimizer.standard().withEqualityMerging().optimize(node);
+
+        // Then
+        assertSame(node, standard);
+        assertEquals(parse("status=in=(OPEN,LATE,DONE),name==jo*,name==ann"), merged);
+    }
+
+    @Test
+    @DisplayName("Should keep the tightest bounds of numeric properties")
+    void testFoldBounds() {
+        // When
+        var optimized = RsqlOptimizer.standard().optimize(parse("age>=18;age>=21;name==x;age<65;age<=65;age>21"), NUMERIC);
+
+        // Then
+        assertEquals(parse("age>21;age<65;name==x"), optimized);
+    }
+
+    @Test
+    @DisplayName("Should fold contradictory bounds into a constant false")
+    void testContradiction() {
+        // When
+        var contradiction = RsqlOptimizer.standard().optimize(parse("age>5;age<3"), NUMERIC);
+        var open = RsqlOptimizer.standard().optimize(parse("age>=5;age<5"), NUMERIC);
+        var inOr = RsqlOptimizer.standard().optimize(parse("(age>5;age<3),name==x"), NUMERIC);
+
+        // Then
+        assertTrue(RsqlOptimizer.isAlwaysFalse(contradiction));
+        assertTrue(RsqlOptimizer.isAlwaysFalse(open));
+        assertEquals(parse("name==x"), inOr);
+    }
+
+    @Test
+    @DisplayName("Should not fold bounds of non-numeric or unknown properties")
+    void testNonNumericBounds() {
+        // Given
+        var node = parse("name>10;name<9");
+
+        // When & Then
+        assertSame(node, RsqlOptimizer.standard().optimize(node, NUMERIC));
+        assertFalse(RsqlOptimizer.isAlwaysFalse(RsqlOptimizer.standard().optimize(parse("age>5;age<3"))));
+    }
+}
@@ -0,0 +1,109 @@
+package com.peluware.omnisearch.rsql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemporalArgumentParserTest {
+
+    private final TemporalArgumentParser sniffing = new TemporalArgumentParser();
+    private final TemporalArgumentParser formattersOnly = new TemporalArgumentParser(
+            TemporalArgumentParser.DEFAULT_DATE_FORMATTERS,
+            TemporalArgumentParser.DEFAULT_DATETIME_FORMATTERS,
+            TemporalArgumentParser.DEFAULT_TIME_FORMATTERS,
+            false
+    );
+
+    /**
+     * The sniffer is a shortcut: it must accept and reject exactly what the formatters do.
+     */
+    private static <T> void assertSameOutcome(String argument, Function<TemporalArgumentParser, T> parse, TemporalArgumentParser sniffing, TemporalArgumentParser formattersOnly) {
+        Object expected;
+        try {
+            expected = parse.apply(formattersOnly);
+        } catch (DateTimeParseException e) {
+            expected = DateTimeParseException.class;
+        }
+
+        Object actual;
+        try {
+            actual = parse.apply(sniffing);
+        } catch (DateTimeParseException e) {
+            actual = DateTimeParseException.class;
+        }
+
+        assertEquals(expected, actual, () -> "Different outcome for '" + argument + "'");
+    }
+
+    @Nested
+    @DisplayName("Parity with the formatters")
+    class ParityTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "2024-05-17", "17/05/2024", "17-05-2024", "05/17/2024", "2024-02-29", "2023-02-29",
+                "31/04/2024", "2024-04-31", "00/01/2024", "2024-13-01", "2024/05/17", "2024-5-17", "abc", "0000-01-01"
+        })
+        @DisplayName("Should parse dates like the formatters")
+        void testLocalDate(String argument) {
+            assertSameOutcome(argument, parser -> parser.parseLocalDate(argument), sniffing, formattersOnly);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "2024-05-17T10:15:30", "2024-05-17T10:15", "2024-05-17T10:15:30.5", "2024-05-17T10:15:30.123456789",
+                "2024-05-17 10:15:30", "2024-05-17 10:15", "17/05/2024 10:15:30", "17/05/2024 10:15",
+                "17-05-2024 10:15", "17/05/2024T10:15", "2024-05-17 10:15:30.5", "2024-05-17T24:00",
+                "2024-05-17T10:60", "17/05/2024", "2024-05-17", "05/17/2024", "2024-05-17T10:15:30.1234567890"
+        })
+        @DisplayName("Should parse date-times like the formatters")
+        void testLocalDateTime(String argument) {
+            assertSameOutcome(argument, parser -> parser.parseLocalDateTime(argument), sniffing, formattersOnly);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"10:15", "10:15:30", "10:15:30.25", "23:59:59", "24:00", "9:15", "10:15:3", "10-15"})
+        @DisplayName("Should parse times like the formatters")
+        void testLocalTime(String argument) {
+            assertSameOutcome(argument, parser -> parser.parseLocalTime(argument), sniffing, formattersOnly);
+        }
+    }
+
+    @Nested
+    @DisplayName("Values")
+    class ValueTests {
+
+        @Test
+        @DisplayName("Should read day first for slashed dates and fall back to month first")
+        void testSlashedDates() {
+            assertEquals(LocalDate.of(2024, 5, 1), sniffing.parseLocalDate("01/05/2024"));
+            assertEquals(LocalDate.of(2024, 5, 17), sniffing.parseLocalDate("05/17/2024"));
+        }
+
+        @Test
+        @DisplayName("Should parse fractions of seconds")
+        void testFraction() {
+            assertEquals(LocalTime.of(10, 15, 30, 250_000_000), sniffing.parseLocalTime("10:15:30.25"));
+            assertEquals(LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123_000_000), sniffing.parseLocalDateTime("2024-05-17T10:15:30.123"));
+        }
+
+        @Test
+        @DisplayName("Should parse instants from ISO-8601 and epoch milliseconds")
+        void testInstant() {
+            assertEquals(Instant.parse("2024-05-17T10:15:30Z"), sniffing.parseInstant("2024-05-17T10:15:30Z"));
+            assertEquals(Instant.ofEpochMilli(1715940930000L), sniffing.parseInstant("1715940930000"));
+            assertThrows(DateTimeParseException.class, () -> sniffing.parseInstant("yesterday"));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.peluware.omnisearch.utils;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSearchesTest {
+
+    private final List<String> queries = new ArrayList<>();
+
+    private final OmniSearch omniSearch = new OmniSearch() {
+        @Override
+        public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+            queries.add(options.getQuery());
+            return List.of();
+        }
+
+        @Override
+        public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+            return 0;
+        }
+    };
+
+    @Test
+    @DisplayName("Should return one page per options in order")
+    void testDefaultBatchKeepsOrder() {
+        // Given
+        var options = List.of(
+                new OmniSearchOptions().query("name==a"),
+                new OmniSearchOptions().query("name==b"),
+                new OmniSearchOptions().query("name==c")
+        );
+
+        // When
+        List<Page<Object>> pages = omniSearch.batch(Object.class, options);
+
+        // Then
+        assertEquals(3, pages.size());
+        assertEquals(List.of("name==a", "name==b", "name==c"), queries);
+    }
+
+    @Test
+    @DisplayName("Should reject keyset pagination before running any search")
+    void testKeysetRejected() {
+        // Given
+        var options = List.of(
+                new OmniSearchOptions().query("name==a"),
+                new OmniSearchOptions().keyset(10, null)
+        );
+
+        // When
+        var exception = assertThrows(IllegalArgumentException.class, () -> omniSearch.batch(Object.class, options));
+
+        // Then
+        assertTrue(exception.getMessage().contains("index 1"));
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return no pages for no options")
+    void testEmptyBatch() {
+        assertTrue(omniSearch.forEntity(Object.class).batch(List.of()).isEmpty());
+    }
+}
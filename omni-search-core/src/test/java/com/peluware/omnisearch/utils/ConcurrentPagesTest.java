@@ -0,0 +1,77 @@
+package com.peluware.omnisearch.utils;
+
+import com.peluware.domain.Pagination;
+import com.peluware.domain.Sort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentPagesTest {
+
+    @Test
+    @DisplayName("Should run the count while the list is running")
+    void testCountRunsConcurrently() {
+        // Given
+        var countStarted = new CountDownLatch(1);
+        var countThread = new AtomicReference<Thread>();
+
+        // When
+        ConcurrentPages.page(
+                () -> {
+                    try {
+                        assertTrue(countStarted.await(5, TimeUnit.SECONDS), "Count should start before the list completes");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                    return List.of("a", "b");
+                },
+                () -> {
+                    countThread.set(Thread.currentThread());
+                    countStarted.countDown();
+                    return 42;
+                },
+                Pagination.of(0, 2),
+                Sort.unsorted(),
+                ConcurrentPages.defaultExecutor()
+        );
+
+        // Then
+        assertNotSame(Thread.currentThread(), countThread.get());
+        assertTrue(countThread.get().isVirtual());
+    }
+
+    @Test
+    @DisplayName("Should rethrow count failures unwrapped")
+    void testCountFailure() {
+        // Given
+        var total = CompletableFuture.<Long>supplyAsync(() -> {
+            throw new IllegalArgumentException("bad query");
+        }, Runnable::run);
+
+        // When / Then
+        var exception = assertThrows(IllegalArgumentException.class, () -> ConcurrentPages.join(total));
+        assertEquals("bad query", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should propagate list failures")
+    void testListFailure() {
+        assertThrows(IllegalStateException.class, () -> ConcurrentPages.page(
+                () -> {
+                    throw new IllegalStateException("list failed");
+                },
+                () -> 0,
+                Pagination.of(0, 2),
+                Sort.unsorted(),
+                ConcurrentPages.defaultExecutor()
+        ));
+    }
+}
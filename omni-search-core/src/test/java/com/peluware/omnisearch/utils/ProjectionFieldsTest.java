@@ -0,0 +1,48 @@
+package com.peluware.omnisearch.utils;
+
+import com.peluware.omnisearch.OmniSearchOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionFieldsTest {
+
+    record CustomerRow(String name, String email, int age) {
+    }
+
+    @Test
+    @DisplayName("Should read the components of a record when no fields are set")
+    void testRecordComponents() {
+        // When
+        var fields = ProjectionFields.resolve(new OmniSearchOptions(), CustomerRow.class);
+
+        // Then
+        assertEquals(List.of("name", "email", "age"), fields);
+    }
+
+    @Test
+    @DisplayName("Should prefer the fields of the options, without duplicates")
+    void testExplicitFields() {
+        // Given
+        var options = new OmniSearchOptions().fields("name", "address.city", "name");
+
+        // When
+        var fields = ProjectionFields.resolve(options, Object[].class);
+
+        // Then
+        assertEquals(List.of("name", "address.city"), fields);
+    }
+
+    @Test
+    @DisplayName("Should reject projections without fields, blank fields and keyset pagination")
+    void testInvalidProjections() {
+        var options = new OmniSearchOptions();
+
+        assertThrows(IllegalArgumentException.class, () -> ProjectionFields.resolve(options, Object[].class));
+        assertThrows(IllegalArgumentException.class, () -> options.fields("name", " "));
+        assertThrows(IllegalArgumentException.class, () -> ProjectionFields.resolve(new OmniSearchOptions().keyset(10, null), CustomerRow.class));
+    }
+}
@@ -0,0 +1,192 @@
+package com.peluware.omnisearch.hibernate.reactive;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.jpa.DefaultJpaOmniSearchPredicateBuilder;
+import com.peluware.omnisearch.jpa.JpaOmniSearchPredicateBuilder;
+import com.peluware.omnisearch.jpa.JpaParameters;
+import com.peluware.omnisearch.jpa.rsql.DefaultRsqlJpaBuilderOptions;
+import com.peluware.omnisearch.jpa.rsql.RsqlJpaBuilderOptions;
+import com.peluware.omnisearch.reactive.mutiny.MutinyOmniSearch;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import cz.jirutka.rsql.parser.RSQLParser;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import java.util.List;
+
+/**
+ * Hibernate Reactive implementation of {@link MutinyOmniSearch}. Queries are built with the same
+ * {@link JpaOmniSearchPredicateBuilder} as the blocking JPA provider and executed through a
+ * {@link Mutiny.Session}, so no thread is blocked while the database works.
+ *
+ * <p>
+ * The operations taking a {@link Mutiny.SessionFactory}-managed session use
+ * {@link Mutiny.SessionFactory#withSession(java.util.function.Function)}, which reuses the session bound to the
+ * current Vert.x context if there is one. The overloads taking a {@link Mutiny.Session} run on that session.
+ * </p>
+ */
+public class HibernateReactiveOmniSearch implements MutinyOmniSearch {
+
+    private final Mutiny.SessionFactory sessionFactory;
+    private final JpaOmniSearchPredicateBuilder predicateBuilder;
+
+    public HibernateReactiveOmniSearch(Mutiny.SessionFactory sessionFactory, JpaOmniSearchPredicateBuilder predicateBuilder) {
+        this.sessionFactory = sessionFactory;
+        this.predicateBuilder = predicateBuilder;
+    }
+
+    public HibernateReactiveOmniSearch(Mutiny.SessionFactory sessionFactory, RSQLParser rsqlParser, RsqlJpaBuilderOptions rsqlBuilderOptions) {
+        this(sessionFactory, new DefaultJpaOmniSearchPredicateBuilder(rsqlParser, rsqlBuilderOptions));
+    }
+
+    public HibernateReactiveOmniSearch(Mutiny.SessionFactory sessionFactory, RSQLParser rsqlParser) {
+        this(sessionFactory, rsqlParser, new DefaultRsqlJpaBuilderOptions());
+    }
+
+    public HibernateReactiveOmniSearch(Mutiny.SessionFactory sessionFactory) {
+        this(sessionFactory, RsqlNodeCache.defaultParser());
+    }
+
+    @Override
+    public <E> Uni<List<E>> list(Class<E> entityClass, OmniSearchOptions options) {
+        return sessionFactory.withSession(session -> list(session, entityClass, options));
+    }
+
+    /**
+     * Executes a search operation on the given session. Invalid options, such as fields or unknown properties,
+     * fail the returned {@link Uni} instead of throwing.
+     *
+     * @param session     the session to run the query on
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return the list of matched entities
+     */
+    public <E> Uni<List<E>> list(Mutiny.Session session, Class<E> entityClass, OmniSearchOptions options) {
+        if (!options.getFields().isEmpty()) {
+            return Uni.createFrom().failure(new IllegalArgumentException("Fields are not supported when loading entities"));
+        }
+
+        Mutiny.SelectionQuery<E> query;
+        try {
+            query = createListQuery(session, entityClass, options);
+        } catch (RuntimeException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return query.getResultList();
+    }
+
+    private <E> Mutiny.SelectionQuery<E> createListQuery(Mutiny.Session session, Class<E> entityClass, OmniSearchOptions options) {
+        var cb = sessionFactory.getCriteriaBuilder();
+        var metamodel = sessionFactory.getMetamodel();
+        var cq = cb.createQuery(entityClass);
+        var root = cq.from(entityClass);
+
+        var parameters = new JpaParameters();
+        var predicate = predicateBuilder.buildPredicate(root, cq, parameters, options, cb, metamodel);
+        cq.where(predicate);
+
+        var sort = options.getSort();
+        if (sort.isSorted()) {
+            cq.orderBy(predicateBuilder.buildOrders(root, options, cb, metamodel));
+        }
+
+        var query = session.createQuery(cq);
+        parameters.forEach(query::setParameter);
+
+        var pagination = options.getPagination();
+        if (pagination.isPaginated()) {
+            query
+                    .setFirstResult(pagination.getNumber() * pagination.getSize())
+                    .setMaxResults(pagination.getSize());
+        }
+        return query;
+    }
+
+    @Override
+    public <E> Uni<Long> count(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return sessionFactory.withSession(session -> count(session, entityClass, options));
+    }
+
+    /**
+     * Counts the matched entities on the given session. Invalid options fail the returned {@link Uni} instead of
+     * throwing.
+     *
+     * @param session     the session to run the query on
+     * @param entityClass the class of the entity to count
+     * @param options     the search options including filters and joins
+     * @param <E>         the entity type
+     * @return the total number of matched entities
+     */
+    public <E> Uni<Long> count(Mutiny.Session session, Class<E> entityClass, OmniSearchBaseOptions options) {
+        Mutiny.SelectionQuery<Long> query;
+        try {
+            query = createCountQuery(session, entityClass, options);
+        } catch (RuntimeException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return query.getSingleResult();
+    }
+
+    private <E> Mutiny.SelectionQuery<Long> createCountQuery(Mutiny.Session session, Class<E> entityClass, OmniSearchBaseOptions options) {
+        var cb = sessionFactory.getCriteriaBuilder();
+        var cq = cb.createQuery(Long.class);
+        var root = cq.from(entityClass);
+
+        var parameters = new JpaParameters();
+        var predicate = predicateBuilder.buildPredicate(root, cq, parameters, options, cb, sessionFactory.getMetamodel());
+
+        cq
+                .where(predicate)
+                .select(cb.count(root));
+
+        var query = session.createQuery(cq);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Hibernate Reactive has no server-side cursors, so the matched entities are read with a single query and
+     * then emitted one by one. Use pagination to bound the memory of large result sets.
+     * </p>
+     */
+    @Override
+    public <E> Multi<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return list(entityClass, options)
+                .onItem()
+                .transformToMulti(entities -> Multi.createFrom().iterable(entities));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * A reactive session does not support concurrent operations, so the list and count queries run one after
+     * the other on the same session.
+     * </p>
+     */
+    @Override
+    public <E> Uni<Page<E>> page(Class<E> entityClass, OmniSearchOptions options) {
+        return sessionFactory.withSession(session -> page(session, entityClass, options));
+    }
+
+    /**
+     * Executes a paginated search operation on the given session.
+     *
+     * @param session     the session to run the queries on
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return the paginated result of matched entities
+     */
+    public <E> Uni<Page<E>> page(Mutiny.Session session, Class<E> entityClass, OmniSearchOptions options) {
+        return list(session, entityClass, options).flatMap(content -> count(session, entityClass, options)
+                .map(total -> Page.deferred(content, options.getPagination(), options.getSort(), () -> total)));
+    }
+}
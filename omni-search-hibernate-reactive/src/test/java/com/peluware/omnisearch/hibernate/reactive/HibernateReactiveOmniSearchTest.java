@@ -0,0 +1,153 @@
+package com.peluware.omnisearch.hibernate.reactive;
+
+import com.peluware.domain.Order;
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.hibernate.reactive.entities.Product;
+import jakarta.persistence.Persistence;
+import org.hibernate.reactive.mutiny.Mutiny;
+import org.junit.jupiter.api.*;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HibernateReactiveOmniSearchTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15")
+            .withDatabaseName("omnisearch_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    private Mutiny.SessionFactory sessionFactory;
+    private HibernateReactiveOmniSearch omniSearch;
+
+    @BeforeAll
+    void init() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("jakarta.persistence.jdbc.url", postgres.getJdbcUrl());
+        properties.put("jakarta.persistence.jdbc.user", postgres.getUsername());
+        properties.put("jakarta.persistence.jdbc.password", postgres.getPassword());
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.show_sql", "true");
+
+        sessionFactory = Persistence.createEntityManagerFactory("test-pu", properties)
+                .unwrap(Mutiny.SessionFactory.class);
+        omniSearch = new HibernateReactiveOmniSearch(sessionFactory);
+    }
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory.withTransaction(session -> session.persistAll(
+                new Product("Laptop", "electronics", 10),
+                new Product("Phone", "electronics", 0),
+                new Product("Desk", "furniture", 5),
+                new Product("Chair", "furniture", 20)
+        )).await().atMost(TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.withTransaction(session -> session.createMutationQuery("delete from Product").executeUpdate())
+                .await().atMost(TIMEOUT);
+    }
+
+    @AfterAll
+    void close() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should list entities matching an RSQL query")
+    void testListWithQuery() {
+        // Given
+        var options = new OmniSearchOptions()
+                .query("category==electronics")
+                .sort(Sort.by("name", Order.Direction.ASC));
+
+        // When
+        var products = omniSearch.list(Product.class, options).await().atMost(TIMEOUT);
+
+        // Then
+        assertEquals(List.of("Laptop", "Phone"), products.stream().map(Product::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Should list entities matching a keyword search")
+    void testListWithSearch() {
+        // Given
+        var options = new OmniSearchOptions().search("Des");
+
+        // When
+        var products = omniSearch.list(Product.class, options).await().atMost(TIMEOUT);
+
+        // Then
+        assertEquals(1, products.size());
+        assertEquals("Desk", products.getFirst().getName());
+    }
+
+    @Test
+    @DisplayName("Should count entities matching an RSQL query")
+    void testCount() {
+        // Given
+        var options = new OmniSearchOptions().query("stock>0");
+
+        // When
+        var count = omniSearch.count(Product.class, options).await().atMost(TIMEOUT);
+
+        // Then
+        assertEquals(3L, count);
+    }
+
+    @Test
+    @DisplayName("Should stream every matched entity")
+    void testStream() {
+        // Given
+        var options = new OmniSearchOptions().query("category==furniture");
+
+        // When
+        var products = omniSearch.stream(Product.class, options)
+                .collect().asList()
+                .await().atMost(TIMEOUT);
+
+        // Then
+        assertEquals(2, products.size());
+    }
+
+    @Test
+    @DisplayName("Should fail the Uni for unknown properties")
+    void testUnknownProperty() {
+        // Given
+        var options = new OmniSearchOptions().query("unknown==value");
+
+        // When
+        var uni = omniSearch.list(Product.class, options);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> uni.await().atMost(TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("Should fail the Uni instead of throwing for unsupported fields")
+    void testFieldsNotSupported() {
+        // Given
+        var options = new OmniSearchOptions().fields("name");
+
+        // When
+        var uni = sessionFactory.withSession(session -> assertDoesNotThrow(() -> omniSearch.list(session, Product.class, options)));
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> uni.await().atMost(TIMEOUT));
+    }
+}
@@ -0,0 +1,57 @@
+package com.peluware.omnisearch.hibernate.reactive.entities;
+
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "product_test")
+public class Product {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String category;
+
+    private Integer stock;
+
+    public Product() {
+    }
+
+    public Product(String name, String category, Integer stock) {
+        this.name = name;
+        this.category = category;
+        this.stock = stock;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
@@ -1,18 +1,21 @@
 package com.peluware.omnisearch.jpa;
 
 
-import com.peluware.omnisearch.EnumSearchCandidate;
 import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.SearchTerm;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlanner;
+import com.peluware.omnisearch.jpa.plan.JpaSearchPlan;
 import com.peluware.omnisearch.jpa.rsql.DefaultRsqlJpaBuilderOptions;
 import com.peluware.omnisearch.jpa.rsql.JpaPredicateVisitor;
 import com.peluware.omnisearch.jpa.rsql.RsqlJpaBuilderOptions;
-import com.peluware.omnisearch.utils.ParseNumber;
+import com.peluware.omnisearch.jpa.rsql.ToManyStrategy;
+import com.peluware.omnisearch.jpa.rsql.ValueBinding;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
 import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
 import jakarta.persistence.criteria.*;
-import jakarta.persistence.metamodel.Attribute;
 import jakarta.persistence.metamodel.Metamodel;
-import jakarta.persistence.metamodel.PluralAttribute;
-import jakarta.persistence.metamodel.Type;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -20,7 +23,6 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Year;
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
  * Defatulr implementation of {@link JpaOmniSearchPredicateBuilder} responsible for building JPA Criteria {@link Predicate} objects
@@ -32,19 +34,21 @@ import java.util.regex.Pattern;
  */
 public class DefaultJpaOmniSearchPredicateBuilder implements JpaOmniSearchPredicateBuilder {
 
-    /**
-     * Pattern used to detect UUID values in string form.
-     */
-    private static final Pattern UUID_PATTERN = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
     private static final Logger log = LoggerFactory.getLogger(DefaultJpaOmniSearchPredicateBuilder.class);
 
 
     private final RSQLParser rsqlParser;
     private final RsqlJpaBuilderOptions rsqlJpaBuilderOptions;
+    private final JpaQueryPlanner queryPlanner;
 
-    public DefaultJpaOmniSearchPredicateBuilder(RSQLParser rsqlParser, RsqlJpaBuilderOptions rsqlJpaBuilderOptions) {
+    public DefaultJpaOmniSearchPredicateBuilder(RSQLParser rsqlParser, RsqlJpaBuilderOptions rsqlJpaBuilderOptions, JpaQueryPlanner queryPlanner) {
         this.rsqlParser = rsqlParser;
         this.rsqlJpaBuilderOptions = rsqlJpaBuilderOptions;
+        this.queryPlanner = queryPlanner;
+    }
+
+    public DefaultJpaOmniSearchPredicateBuilder(RSQLParser rsqlParser, RsqlJpaBuilderOptions rsqlJpaBuilderOptions) {
+        this(rsqlParser, rsqlJpaBuilderOptions, JpaQueryPlanner.shared());
     }
 
     public DefaultJpaOmniSearchPredicateBuilder(RSQLParser rsqlParser) {
@@ -52,35 +56,59 @@ public class DefaultJpaOmniSearchPredicateBuilder implements JpaOmniSearchPredic
     }
 
     public DefaultJpaOmniSearchPredicateBuilder() {
-        this(new RSQLParser());
+        this(RsqlNodeCache.defaultParser());
     }
 
 
     /**
      * Builds a {@link Predicate} that searches across all basic, embeddable, and simple element collection fields.
      *
-     * @param search          the search keyword
+     * @param search          the classified search term
      * @param from            the root entity
      * @param joinColumns     the associations to join for searching
      * @param criteriaBuilder the criteria builder
      * @param metamodel       the metamodel used to resolve attributes
+     * @param joins           the joins of the query
+     * @param query           the query of {@code from}, used to search collections in subqueries with
+     *                        {@link ToManyStrategy#EXISTS}, or {@code null} to join them
+     * @param parameters      the parameters of the query the values are passed as, or {@code null} to pass them inline
      * @param <E>             the entity type
      * @return a combined OR predicate for all matched fields
      */
-    protected <E> Predicate searchInAllColumns(@NonNull String search, From<?, E> from, Set<String> joinColumns, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
-        var predicates = new ArrayList<>(getSearchPredicates(search, from, criteriaBuilder, metamodel));
+    protected <E> Predicate searchInAllColumns(@NonNull SearchTerm search, From<?, E> from, Set<String> joinColumns, CriteriaBuilder criteriaBuilder, Metamodel metamodel, JpaJoins joins, @Nullable CommonAbstractCriteria query, @Nullable JpaParameters parameters) {
+        var predicates = new ArrayList<>(getSearchPredicates(search, from, criteriaBuilder, metamodel, joins, query, parameters));
+        var columns = predicates.size();
 
-        var managedType = metamodel.managedType(from.getJavaType());
+        var plan = queryPlanner.searchPlan(from.getJavaType(), metamodel);
         for (var joinColumn : joinColumns) {
-            if (!managedType.getAttribute(joinColumn).isAssociation()) {
-                log.trace("Join column '{}' is not an association in {}", joinColumn, managedType.getJavaType().getName());
+            if (!plan.attributes().contains(joinColumn)) {
+                throw new IllegalArgumentException("Unknown property: " + joinColumn + " From<?,?> entity " + plan.javaType().getName());
+            }
+            if (!plan.associations().containsKey(joinColumn)) {
+                log.trace("Join column '{}' is not an association in {}", joinColumn, plan.javaType().getName());
                 continue;
             }
 
-            var join = JpaUtils.getOrCreateJoin(from, joinColumn, JoinType.LEFT);
-            predicates.addAll(getSearchPredicates(search, join, criteriaBuilder, metamodel));
+            if (query != null && plan.collections().contains(joinColumn) && useExists()) {
+                var subquery = query.subquery(Integer.class);
+                var join = joins.getOrCreate(joins.correlate(subquery, from), joinColumn, JoinType.INNER);
+                var joinPredicates = getSearchPredicates(search, join, criteriaBuilder, metamodel, joins, subquery, parameters);
+                columns += joinPredicates.size();
+                if (!joinPredicates.isEmpty()) {
+                    subquery.select(criteriaBuilder.literal(1)).where(criteriaBuilder.or(joinPredicates.toArray(Predicate[]::new)));
+                    predicates.add(criteriaBuilder.exists(subquery));
+                }
+                continue;
+            }
+
+            var join = joins.getOrCreate(from, joinColumn, JoinType.LEFT);
+            var joinPredicates = getSearchPredicates(search, join, criteriaBuilder, metamodel, joins, query, parameters);
+            columns += joinPredicates.size();
+            predicates.addAll(joinPredicates);
         }
 
+        rsqlJpaBuilderOptions.getQueryBudget().checkSearchColumns(columns);
+
         if (predicates.isEmpty()) {
             return criteriaBuilder.disjunction();
         }
@@ -89,66 +117,46 @@ public class DefaultJpaOmniSearchPredicateBuilder implements JpaOmniSearchPredic
     }
 
     /**
-     * Retrieves a list of predicates for all eligible attributes under a given {@link Path}.
+     * Retrieves a list of predicates for all eligible attributes under a given {@link Path}. The attributes come
+     * from the {@link JpaSearchPlan} of its type, resolved once, and those the term cannot match are skipped
+     * before any path or join is built. Element collections are searched in a correlated subquery when the
+     * {@link ToManyStrategy} of the builder options is {@link ToManyStrategy#EXISTS} and {@code query} is known.
      *
-     * @param search          the search keyword
+     * @param search          the classified search term
      * @param path            the current path to inspect
      * @param criteriaBuilder the criteria builder
      * @param metamodel       the metamodel used to resolve attributes
+     * @param joins           the joins of the query
+     * @param query           the query of {@code path}, or {@code null} to join element collections
+     * @param parameters      the parameters of the query the values are passed as, or {@code null} to pass them inline
      * @return a collection of predicates matching the search keyword
      */
-    @SuppressWarnings("java:S3776")
-    protected Collection<Predicate> getSearchPredicates(String search, Path<?> path, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
-        var javaType = path.getJavaType();
-        var managedType = metamodel.managedType(javaType);
+    protected Collection<Predicate> getSearchPredicates(SearchTerm search, Path<?> path, CriteriaBuilder criteriaBuilder, Metamodel metamodel, JpaJoins joins, @Nullable CommonAbstractCriteria query, @Nullable JpaParameters parameters) {
+        var plan = queryPlanner.searchPlan(path.getJavaType(), metamodel);
         var predicates = new ArrayList<Predicate>();
 
-        for (var attribute : managedType.getAttributes()) {
+        for (var column : plan.columns()) {
+            if (!column.accepts(search)) {
+                continue;
+            }
             try {
-
-                var propertyName = attribute.getName();
-                var type = attribute.getPersistentAttributeType();
-
-                if (type == Attribute.PersistentAttributeType.BASIC) {
-
-                    var basicPredicate = getBasicPredicates(
-                            search,
-                            path.get(propertyName),
-                            criteriaBuilder
-                    );
-
-                    if (basicPredicate != null) {
-                        predicates.add(basicPredicate);
-                    }
-                } else if (type == Attribute.PersistentAttributeType.EMBEDDED) {
-
-                    var embeddedPredicates = getSearchPredicates(
-                            search,
-                            path.get(propertyName),
-                            criteriaBuilder,
-                            metamodel
-                    );
-
-                    predicates.addAll(embeddedPredicates);
-                } else if (type == Attribute.PersistentAttributeType.ELEMENT_COLLECTION &&
-                        attribute instanceof PluralAttribute<?, ?, ?> plural &&
-                        path instanceof From<?, ?> from &&
-                        plural.getElementType().getPersistenceType() == Type.PersistenceType.BASIC) {
-
-                    var basicPredicate = getBasicPredicates(
-                            search,
-                            JpaUtils.getOrCreateJoin(from, propertyName, JoinType.LEFT),
-                            criteriaBuilder
-                    );
-
+                if (query != null && column.elementCollection() && path instanceof From<?, ?> from && useExists()) {
+                    var subquery = query.subquery(Integer.class);
+                    var element = column.bind(joins.correlate(subquery, from), joins, JoinType.INNER);
+                    var basicPredicate = getBasicPredicates(search, element, criteriaBuilder, parameters);
                     if (basicPredicate != null) {
-                        predicates.add(basicPredicate);
+                        predicates.add(criteriaBuilder.exists(subquery.select(criteriaBuilder.literal(1)).where(basicPredicate)));
                     }
+                    continue;
+                }
+                var basicPredicate = getBasicPredicates(search, column.bind(path, joins), criteriaBuilder, parameters);
+                if (basicPredicate != null) {
+                    predicates.add(basicPredicate);
                 }
             } catch (IllegalArgumentException e) {
-                log.trace("Could not parse search value '{}' for attribute '{}': {}", search, attribute.getName(), e.getMessage());
+                log.trace("Could not parse search value '{}' for attribute '{}': {}", search, column.path(), e.getMessage());
             } catch (Exception e) {
-                log.trace("Could not create predicate for attribute '{}': {}", attribute.getName(), e.getMessage());
+                log.trace("Could not create predicate for attribute '{}': {}", column.path(), e.getMessage());
             }
         }
 
@@ -158,73 +166,179 @@ public class DefaultJpaOmniSearchPredicateBuilder implements JpaOmniSearchPredic
     /**
      * Builds predicates for simple types like String, UUID, Number, Boolean, Year, and Enums.
      *
-     * @param search          the search term
+     * @param search          the classified search term
      * @param path            the path to the attribute
      * @param criteriaBuilder the criteria builder
+     * @param parameters      the parameters of the query the values are passed as, or {@code null} to pass them inline
      * @return a collection of predicates
      */
     @SuppressWarnings("java:S3776")
-    protected @Nullable Predicate getBasicPredicates(String search, Path<?> path, CriteriaBuilder criteriaBuilder) {
+    protected @Nullable Predicate getBasicPredicates(SearchTerm search, Path<?> path, CriteriaBuilder criteriaBuilder, @Nullable JpaParameters parameters) {
         var type = path.getJavaType();
 
         if (String.class.isAssignableFrom(type)) {
-            return criteriaBuilder.like(criteriaBuilder.lower(path.as(String.class)), "%" + search.toLowerCase() + "%");
+            var pattern = "%" + search.lowerCase() + "%";
+            var lower = criteriaBuilder.lower(path.as(String.class));
+            return parameters == null
+                    ? criteriaBuilder.like(lower, pattern)
+                    : criteriaBuilder.like(lower, parameters.add(criteriaBuilder, String.class, pattern));
         }
 
-        if (UUID.class.isAssignableFrom(type) && UUID_PATTERN.matcher(search).matches()) {
-            return criteriaBuilder.equal(path, UUID.fromString(search));
+        if (UUID.class.isAssignableFrom(type) && search.uuid() != null) {
+            return equal(path, search.uuid(), criteriaBuilder, parameters);
         }
 
 
-        if ((Boolean.class.isAssignableFrom(type) || type == boolean.class) && search.matches("true|false")) {
-            return criteriaBuilder.equal(path, Boolean.parseBoolean(search));
+        if ((Boolean.class.isAssignableFrom(type) || type == boolean.class) && search.booleanValue() != null) {
+            return equal(path, search.booleanValue(), criteriaBuilder, parameters);
         }
 
-        if (Year.class.isAssignableFrom(type) && search.matches("\\d{4}")) {
-            return criteriaBuilder.equal(path, Year.parse(search));
+        if (Year.class.isAssignableFrom(type) && search.year() != null) {
+            return equal(path, search.year(), criteriaBuilder, parameters);
         }
 
         if (type.isEnum()) {
             @SuppressWarnings("unchecked")
-            var candidates = EnumSearchCandidate.collectEnumCandidates((Class<? extends Enum<?>>) type, search);
+            var candidates = search.enumCandidates((Class<? extends Enum<?>>) type);
             if (candidates.isEmpty()) {
                 return null;
             }
-            return path.in(candidates);
+            if (parameters == null) {
+                return path.in(candidates);
+            }
+            var values = new Expression<?>[candidates.size()];
+            var i = 0;
+            for (var candidate : candidates) {
+                values[i++] = parameters.add(criteriaBuilder, candidate);
+            }
+            return path.in(values);
         }
 
 
-        if ((Number.class.isAssignableFrom(type) || type.isPrimitive()) && search.matches("[+-]?\\d*\\.?\\d+")) {
-            for (var parser : ParseNumber.PARSERS) {
-                if (type.isAssignableFrom(parser.type())) {
-                    return criteriaBuilder.equal(path, parser.parse(search));
-                }
+        if (Number.class.isAssignableFrom(type) || type.isPrimitive()) {
+            var number = search.number(type);
+            if (number != null) {
+                return equal(path, number, criteriaBuilder, parameters);
             }
         }
 
         return null;
     }
 
+    private static Predicate equal(Path<?> path, Object value, CriteriaBuilder criteriaBuilder, @Nullable JpaParameters parameters) {
+        return parameters == null
+                ? criteriaBuilder.equal(path, value)
+                : criteriaBuilder.equal(path, parameters.add(criteriaBuilder, value));
+    }
+
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * The request is checked against the {@link com.peluware.omnisearch.budget.QueryBudget} of the builder options
+     * before any predicate is built, and the joins it added to {@code from} once it is built. The query is
+     * simplified by the {@link com.peluware.omnisearch.rsql.RsqlOptimizer} of the builder options, folding the
+     * bounds of numeric properties once the plan has resolved their types.
+     * </p>
+     *
+     * <p>
+     * Without the query, collections are always joined; see
+     * {@link #buildPredicate(From, CommonAbstractCriteria, OmniSearchBaseOptions, CriteriaBuilder, Metamodel)}.
+     * </p>
      */
     @Override
     public <E> Predicate buildPredicate(From<?, E> from, OmniSearchBaseOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        return buildPredicate(from, null, options, criteriaBuilder, metamodel);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * With {@link ToManyStrategy#EXISTS}, selectors and propagations crossing a collection are tested in
+     * subqueries of {@code query} correlated to {@code from}, whose joins count towards the budget as well. The
+     * bounds of such selectors are not folded, since each comparison may match a different element.
+     * </p>
+     */
+    @Override
+    public <E> Predicate buildPredicate(From<?, E> from, @Nullable CommonAbstractCriteria query, OmniSearchBaseOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        return buildPredicate(from, query, null, options, criteriaBuilder, metamodel);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * With {@link ValueBinding#PARAMETERS}, the values of comparisons and of the search keyword are added to
+     * {@code parameters}; otherwise they are passed inline and {@code parameters} stays empty.
+     * </p>
+     */
+    @Override
+    public <E> Predicate buildPredicate(From<?, E> from, @Nullable CommonAbstractCriteria query, @Nullable JpaParameters parameters, OmniSearchBaseOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        var budget = rsqlJpaBuilderOptions.getQueryBudget();
+        var parsed = parseQuery(options);
+        budget.check(options, parsed);
+        var node = optimize(parsed);
+
         var predicate = criteriaBuilder.conjunction();
+        var joins = new JpaJoins();
+        var existingJoins = JpaJoins.count(from);
+        var bound = rsqlJpaBuilderOptions.getValueBinding() == ValueBinding.PARAMETERS ? parameters : null;
 
         var search = options.getSearch();
         if (search != null && !search.isBlank()) {
-            predicate = searchInAllColumns(search, from, options.getPropagations(), criteriaBuilder, metamodel);
+            predicate = searchInAllColumns(SearchTerm.of(search), from, options.getPropagations(), criteriaBuilder, metamodel, joins, query, bound);
         }
 
-        var query = options.getQuery();
-        if (query != null) {
-            var node = rsqlParser.parse(query);
-            var visitor = new JpaPredicateVisitor<>(from, rsqlJpaBuilderOptions, criteriaBuilder, metamodel);
+        if (node != null) {
+            var plan = queryPlanner.plan(from.getJavaType(), options, node, metamodel);
+            var exists = query != null && useExists();
+            node = rsqlJpaBuilderOptions.getOptimizer().optimize(node, selector -> {
+                var path = plan.getSelector(selector);
+                // every comparison on a collection gets its own subquery, so their bounds cannot be folded
+                return path != null && !(exists && path.isToMany()) ? path.javaType() : null;
+            });
+            var visitor = new JpaPredicateVisitor<>(from, rsqlJpaBuilderOptions, criteriaBuilder, metamodel, queryPlanner, plan, joins, query, bound);
             var queryPredicates = node.accept(visitor);
             predicate = criteriaBuilder.and(predicate, queryPredicates);
         }
 
+        // only the joins added by this predicate: several predicates may share the root, as in batch counts
+        budget.checkJoins(JpaJoins.count(from) - existingJoins + joins.countSubqueryJoins());
+
         return predicate;
     }
+
+    private boolean useExists() {
+        return rsqlJpaBuilderOptions.getToManyStrategy() == ToManyStrategy.EXISTS;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Sort properties are resolved once per query shape through the {@link JpaQueryPlanner}.
+     * </p>
+     */
+    @Override
+    public <E> List<Order> buildOrders(From<?, E> from, OmniSearchOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        return queryPlanner.plan(from.getJavaType(), options, optimize(parseQuery(options)), metamodel).bindOrders(from, criteriaBuilder);
+    }
+
+    @Override
+    public JpaQueryPlanner getQueryPlanner() {
+        return queryPlanner;
+    }
+
+    private @Nullable Node optimize(@Nullable Node node) {
+        return node == null ? null : rsqlJpaBuilderOptions.getOptimizer().optimize(node);
+    }
+
+    private @Nullable Node parseQuery(OmniSearchBaseOptions options) {
+        var query = options.getQuery();
+        if (query == null) {
+            return null;
+        }
+        return rsqlJpaBuilderOptions.getNodeCache().parse(rsqlParser, query);
+    }
 }
@@ -0,0 +1,104 @@
+package com.peluware.omnisearch.jpa;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the joins of one criteria query, keyed by parent {@link From}, attribute and {@link JoinType}, so
+ * that every path crossing the same association reuses its join in constant time instead of scanning
+ * {@link From#getJoins()}. Joining the same association twice would multiply the rows of the query.
+ *
+ * <p>
+ * The joins a parent already has are registered the first time the parent is used, so a registry can be created
+ * for any step of a query (predicate, orders, selections) and still find the joins added by the previous steps.
+ * Registries are not thread-safe; like criteria queries, they belong to the thread building the query.
+ * </p>
+ *
+ * <p>
+ * The registry also {@link #correlate(Subquery, From) correlates} parents into subqueries, so that the joins of
+ * subqueries can be {@link #countSubqueryJoins() counted} like those of the query.
+ * </p>
+ */
+public final class JpaJoins {
+
+    private record JoinKey(String attribute, JoinType joinType) {
+    }
+
+    private final Map<From<?, ?>, Map<JoinKey, Join<?, ?>>> joins = new IdentityHashMap<>();
+    private final List<From<?, ?>> correlations = new ArrayList<>();
+
+    /**
+     * Returns the join of {@code attribute} from {@code from} with the given type, creating it if the query
+     * does not have it yet.
+     *
+     * @param from      the parent of the join
+     * @param attribute the joined attribute
+     * @param joinType  the type of the join
+     * @return the join
+     */
+    public Join<?, ?> getOrCreate(From<?, ?> from, String attribute, JoinType joinType) {
+        var children = joins.computeIfAbsent(from, JpaJoins::existingJoins);
+        return children.computeIfAbsent(new JoinKey(attribute, joinType), key -> from.join(attribute, joinType));
+    }
+
+    /**
+     * Correlates {@code from} into {@code subquery}, so that the subquery can navigate from the same row.
+     *
+     * @param subquery the subquery
+     * @param from     a root or join of the enclosing query
+     * @return the correlated root or join, owned by the subquery
+     * @throws IllegalArgumentException if {@code from} is neither a root nor a join
+     */
+    public From<?, ?> correlate(Subquery<?> subquery, From<?, ?> from) {
+        From<?, ?> correlated;
+        if (from instanceof Root<?> root) {
+            correlated = subquery.correlate(root);
+        } else if (from instanceof Join<?, ?> join) {
+            correlated = subquery.correlate(join);
+        } else {
+            throw new IllegalArgumentException("Cannot correlate " + from.getClass().getName() + " into a subquery");
+        }
+        correlations.add(correlated);
+        return correlated;
+    }
+
+    /**
+     * @return the number of joins of every subquery correlated through this registry
+     */
+    public int countSubqueryJoins() {
+        var count = 0;
+        for (var correlated : correlations) {
+            count += count(correlated);
+        }
+        return count;
+    }
+
+    /**
+     * @param from a root or join
+     * @return the number of joins of {@code from}, recursively
+     */
+    public static int count(From<?, ?> from) {
+        var joins = 0;
+        for (var join : from.getJoins()) {
+            joins += 1 + count(join);
+        }
+        return joins;
+    }
+
+    private static Map<JoinKey, Join<?, ?>> existingJoins(From<?, ?> from) {
+        var existing = new HashMap<JoinKey, Join<?, ?>>();
+        for (var join : from.getJoins()) {
+            existing.putIfAbsent(new JoinKey(join.getAttribute().getName(), join.getJoinType()), join);
+        }
+        return existing;
+    }
+}
@@ -1,14 +1,37 @@
 package com.peluware.omnisearch.jpa;
 
+import com.peluware.domain.Page;
 import com.peluware.omnisearch.OmniSearch;
 import com.peluware.omnisearch.OmniSearchBaseOptions;
 import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.jpa.count.JpaCountEstimator;
+import com.peluware.omnisearch.jpa.keyset.JpaKeyset;
 import com.peluware.omnisearch.jpa.rsql.DefaultRsqlJpaBuilderOptions;
 import com.peluware.omnisearch.jpa.rsql.RsqlJpaBuilderOptions;
+import com.peluware.omnisearch.keyset.KeysetPage;
+import com.peluware.omnisearch.keyset.KeysetPagination;
+import com.peluware.omnisearch.profile.QueryPhase;
+import com.peluware.omnisearch.profile.QueryProfiler;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import com.peluware.omnisearch.utils.BatchSearches;
+import com.peluware.omnisearch.utils.ConcurrentPages;
+import com.peluware.omnisearch.utils.ProjectionFields;
 import cz.jirutka.rsql.parser.RSQLParser;
 import jakarta.persistence.*;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * JPA-based implementation of the {@link OmniSearch} interface,
@@ -16,8 +39,24 @@ import java.util.*;
  */
 public class JpaOmniSearch implements OmniSearch {
 
+    /**
+     * Query hint understood by Hibernate (and honoured by most JDBC drivers) to control how many rows
+     * are fetched per round trip while a result stream is consumed.
+     */
+    public static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+
+    /**
+     * Default number of rows fetched per round trip by {@link #stream(Class, OmniSearchOptions)}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
     private final EntityManager entityManager;
     private final JpaOmniSearchPredicateBuilder predicateBuilder;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private @Nullable EntityManagerFactory concurrentEntityManagerFactory;
+    private Executor concurrentExecutor = ConcurrentPages.defaultExecutor();
+    private JpaCountEstimator countEstimator = JpaCountEstimator.none();
+    private long autoCountThreshold = CountAccuracy.DEFAULT_AUTO_THRESHOLD;
 
     public JpaOmniSearch(EntityManager entityManager, JpaOmniSearchPredicateBuilder predicateBuilder) {
         this.entityManager = entityManager;
@@ -33,7 +72,7 @@ public class JpaOmniSearch implements OmniSearch {
     }
 
     public JpaOmniSearch(EntityManager entityManager) {
-        this(entityManager, new RSQLParser());
+        this(entityManager, RsqlNodeCache.defaultParser());
     }
 
     /**
@@ -41,7 +80,8 @@ public class JpaOmniSearch implements OmniSearch {
      *
      * <p>
      * This implementation constructs a dynamic JPA criteria query using the given {@link OmniSearchOptions}.
-     * It supports filtering (via RSQL), joins, sorting, and pagination.
+     * It supports filtering (via RSQL), joins, sorting, and pagination. With keyset pagination the rows of
+     * {@link #keysetPage(Class, OmniSearchOptions)} are returned.
      * </p>
      */
     @Override
@@ -50,30 +90,253 @@ public class JpaOmniSearch implements OmniSearch {
     }
 
     public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options, Map<String, Object> hints) {
-        var cb = entityManager.getCriteriaBuilder();
-        var cq = cb.createQuery(entityClass);
-        var root = cq.from(entityClass);
+        if (options.getKeyset() != null) {
+            return keysetPage(entityClass, options, hints).content();
+        }
+        return execute(createQuery(entityClass, options, hints));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation builds the same query as {@link #list(Class, OmniSearchOptions)} and backs the
+     * stream with {@link TypedQuery#getResultStream()}, applying the configured fetch size through the
+     * {@value #FETCH_SIZE_HINT} hint. Rows are read from the underlying JDBC result set as the stream is
+     * consumed; the stream keeps that result set open until it is closed.
+     * </p>
+     *
+     * <p>
+     * Some drivers (e.g. PostgreSQL) only honour the fetch size inside a transaction, so nightly exports
+     * should consume the stream within one. Entities read from the stream remain managed by the
+     * {@link EntityManager}; long exports should {@link EntityManager#detach(Object) detach} or periodically
+     * {@link EntityManager#clear() clear} it to keep memory constant.
+     * </p>
+     */
+    @Override
+    public <E> Stream<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return stream(entityClass, options, Map.of());
+    }
+
+    public <E> Stream<E> stream(Class<E> entityClass, OmniSearchOptions options, Map<String, Object> hints) {
+        if (options.getKeyset() != null) {
+            return keysetPage(entityClass, options, hints).content().stream();
+        }
+        var query = createQuery(entityClass, options, hints);
+        if (fetchSize > 0 && !hints.containsKey(FETCH_SIZE_HINT)) {
+            query.setHint(FETCH_SIZE_HINT, fetchSize);
+        }
+        return query.getResultStream();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation orders by the requested sort followed by the tiebreaker (the identifier attribute
+     * by default), selects the key values next to each entity and, for a continuation token, adds the seek
+     * predicate {@code (k1, k2, id) > (v1, v2, v3)} instead of an offset. One extra row is fetched to
+     * detect whether a next page exists.
+     * </p>
+     */
+    @Override
+    public <E> KeysetPage<E> keysetPage(Class<E> entityClass, OmniSearchOptions options) {
+        return keysetPage(entityClass, options, Map.of());
+    }
+
+    public <E> KeysetPage<E> keysetPage(Class<E> entityClass, OmniSearchOptions options, Map<String, Object> hints) {
+        var keyset = requireKeyset(options);
+        var keysetQuery = createKeysetQuery(entityClass, options, keyset, hints);
+
+        var rows = execute(keysetQuery.query().setMaxResults(keyset.size() + 1));
+
+        try (var ignored = QueryProfiler.phase(QueryPhase.MATERIALIZE)) {
+            var hasNext = rows.size() > keyset.size();
+            if (hasNext) {
+                rows = rows.subList(0, keyset.size());
+            }
+
+            var content = new ArrayList<E>(rows.size());
+            for (var row : rows) {
+                content.add(row.get(0, entityClass));
+            }
+
+            return new KeysetPage<>(content, hasNext ? keysetQuery.seek().encode(rows.getLast(), 1) : null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation selects only the paths of the fields, with left joins for associations, and passes them
+     * to the canonical constructor of a record or to a constructor of {@code projection} taking the fields in order.
+     * {@link Tuple} results alias every element with its field, and a single field can also be read into its own
+     * type ({@code project(User.class, options.fields("email"), String.class)}). No entity is hydrated, so the
+     * persistence context is left untouched.
+     * </p>
+     */
+    @Override
+    public <E, R> List<R> project(Class<E> entityClass, OmniSearchOptions options, Class<R> projection) {
+        return project(entityClass, options, projection, Map.of());
+    }
+
+    public <E, R> List<R> project(Class<E> entityClass, OmniSearchOptions options, Class<R> projection, Map<String, Object> hints) {
+        var fields = ProjectionFields.resolve(options, projection);
+        var metamodel = entityManager.getMetamodel();
+        var query = createQuery(entityManager, entityClass, options, hints, projection, (cq, root) -> {
+            var selections = new ArrayList<Selection<?>>(fields.size());
+            var joins = new JpaJoins();
+            for (var field : fields) {
+                var path = predicateBuilder.getQueryPlanner().resolve(field, root.getJavaType(), metamodel).bind(root, JoinType.LEFT, joins);
+                selections.add(projection == Tuple.class ? path.alias(field) : path);
+            }
+            if (selections.size() == 1 && !projection.isRecord() && projection != Tuple.class && projection != Object[].class) {
+                cq.select(cast(selections.getFirst()));
+            } else {
+                cq.multiselect(selections);
+            }
+        });
+        return execute(query);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Selection<R> cast(Selection<?> selection) {
+        return (Selection<R>) selection;
+    }
+
+    private record KeysetQuery(JpaKeyset seek, TypedQuery<Tuple> query) {
+    }
+
+    private <E> KeysetQuery createKeysetQuery(Class<E> entityClass, OmniSearchOptions options, KeysetPagination keyset, Map<String, Object> hints) {
+        requireNoFields(options);
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var metamodel = entityManager.getMetamodel();
+            JpaKeyset seek;
+            try (var resolve = QueryProfiler.phase(QueryPhase.RESOLVE)) {
+                seek = JpaKeyset.resolve(entityClass, options.getSort(), keyset, metamodel, predicateBuilder.getQueryPlanner());
+            }
+
+            var cb = entityManager.getCriteriaBuilder();
+            var cq = cb.createTupleQuery();
+            var root = cq.from(entityClass);
+
+            var parameters = new JpaParameters();
+            var predicate = predicateBuilder.buildPredicate(root, cq, parameters, options, cb, metamodel);
+            var paths = seek.bind(root);
+            var token = keyset.token();
+            if (token != null) {
+                predicate = cb.and(predicate, seek.after(paths, token, cb));
+            }
+
+            var selections = new ArrayList<Selection<?>>(paths.size() + 1);
+            selections.add(root);
+            selections.addAll(paths);
+
+            cq
+                    .multiselect(selections)
+                    .where(predicate)
+                    .orderBy(seek.orders(paths, cb));
+
+            var query = parameters.bind(entityManager.createQuery(cq));
+
+            hints.forEach(query::setHint);
+
+            return new KeysetQuery(seek, query);
+        }
+    }
+
+    private static KeysetPagination requireKeyset(OmniSearchOptions options) {
+        var keyset = options.getKeyset();
+        if (keyset == null) {
+            throw new IllegalArgumentException("Keyset pagination is not set on the search options");
+        }
+        return keyset;
+    }
+
+    private <E> TypedQuery<E> createQuery(Class<E> entityClass, OmniSearchOptions options, Map<String, Object> hints) {
+        return createQuery(entityManager, entityClass, options, hints);
+    }
+
+    private <E> TypedQuery<E> createQuery(EntityManager entityManager, Class<E> entityClass, OmniSearchOptions options, Map<String, Object> hints) {
+        requireNoFields(options);
+        return createQuery(entityManager, entityClass, options, hints, entityClass, (cq, root) -> cq.select(root));
+    }
 
-        var predicate = predicateBuilder.buildPredicate(root, options, cb, entityManager.getMetamodel());
-        cq.where(predicate);
+    private <E, R> TypedQuery<R> createQuery(
+            EntityManager entityManager,
+            Class<E> entityClass,
+            OmniSearchOptions options,
+            Map<String, Object> hints,
+            Class<R> resultClass,
+            BiConsumer<CriteriaQuery<R>, Root<E>> selection
+    ) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var cb = entityManager.getCriteriaBuilder();
+            var cq = cb.createQuery(resultClass);
+            var root = cq.from(entityClass);
 
-        var sort = options.getSort();
-        if (sort.isSorted()) {
-            cq.orderBy(JpaUtils.getOrders(sort, root, cb, entityManager.getMetamodel()));
+            var parameters = new JpaParameters();
+            var predicate = predicateBuilder.buildPredicate(root, cq, parameters, options, cb, entityManager.getMetamodel());
+            selection.accept(cq, root);
+            cq.where(predicate);
+
+            var sort = options.getSort();
+            if (sort.isSorted()) {
+                cq.orderBy(predicateBuilder.buildOrders(root, options, cb, entityManager.getMetamodel()));
+            }
+
+            var query = parameters.bind(entityManager.createQuery(cq));
+
+            hints.forEach(query::setHint);
+
+            var pagination = options.getPagination();
+            if (pagination.isPaginated()) {
+                query
+                    .setFirstResult(pagination.getNumber() * pagination.getSize())
+                    .setMaxResults(pagination.getSize());
+            }
+
+            return query;
         }
+    }
 
-        var query = entityManager.createQuery(cq);
+    /**
+     * JPA cannot load an entity with only some of its attributes, so fields are only honoured by projections.
+     */
+    private static void requireNoFields(OmniSearchOptions options) {
+        if (!options.getFields().isEmpty()) {
+            throw new IllegalArgumentException("Fields are not supported when loading entities, use project(...) instead");
+        }
+    }
 
-        hints.forEach(query::setHint);
+    private static <T> List<T> execute(TypedQuery<T> query) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            return query.getResultList();
+        }
+    }
 
-        var pagination = options.getPagination();
-        if (pagination.isPaginated()) {
-            query
-                .setFirstResult(pagination.getNumber() * pagination.getSize())
-                .setMaxResults(pagination.getSize());
+    private static <T> T executeSingle(TypedQuery<T> query) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            return query.getSingleResult();
         }
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
 
-        return query.getResultList();
+    /**
+     * Sets the number of rows fetched per round trip by {@link #stream(Class, OmniSearchOptions)}.
+     * A value of {@code 0} leaves the driver default untouched.
+     *
+     * @param fetchSize the fetch size, zero or positive
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative");
+        }
+        this.fetchSize = fetchSize;
     }
 
 
@@ -91,22 +354,300 @@ public class JpaOmniSearch implements OmniSearch {
     }
 
     public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options, Map<String, Object> hints) {
+        return countResult(entityManager, entityClass, options, hints).total();
+    }
 
-        var cb = entityManager.getCriteriaBuilder();
-        var cq = cb.createQuery(Long.class);
-        var root = cq.from(entityClass);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Exact counts run a {@code count} query with the predicate of the options. With a count limit, a
+     * {@code SELECT 1 ... LIMIT n} query is run instead and its rows are counted. Estimates come from the
+     * configured {@link JpaCountEstimator}; there is none by default, so every count is exact until one is set,
+     * for instance a {@link com.peluware.omnisearch.jpa.count.PostgresCountEstimator}.
+     * </p>
+     */
+    @Override
+    public <E> CountResult countResult(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return countResult(entityClass, options, Map.of());
+    }
+
+    public <E> CountResult countResult(Class<E> entityClass, OmniSearchBaseOptions options, Map<String, Object> hints) {
+        return countResult(entityManager, entityClass, options, hints);
+    }
+
+    private <E> CountResult countResult(EntityManager entityManager, Class<E> entityClass, OmniSearchBaseOptions options, Map<String, Object> hints) {
+        var limit = options.getCountLimit();
+        if (limit > 0) {
+            var cap = (int) Math.min(limit, Integer.MAX_VALUE);
+            return CountResult.limited(cappedCount(entityManager, entityClass, options, hints, cap), cap);
+        }
+        return options.getCountAccuracy().resolve(
+                () -> countEstimator.estimate(entityManager, entityClass, options),
+                () -> count(entityManager, entityClass, options, hints),
+                autoCountThreshold
+        );
+    }
+
+    /**
+     * Counts the matching rows up to {@code limit} by selecting a constant for at most {@code limit} rows, which
+     * the database stops reading once the limit is reached, unlike a {@code count} aggregate.
+     */
+    private <E> int cappedCount(EntityManager entityManager, Class<E> entityClass, OmniSearchBaseOptions options, Map<String, Object> hints, int limit) {
+        TypedQuery<Integer> query;
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var cb = entityManager.getCriteriaBuilder();
+            var cq = cb.createQuery(Integer.class);
+            var root = cq.from(entityClass);
+
+            var parameters = new JpaParameters();
+            var predicate = predicateBuilder.buildPredicate(root, cq, parameters, options, cb, entityManager.getMetamodel());
+
+            cq
+                    .select(cb.literal(1))
+                    .where(predicate);
+
+            query = parameters.bind(entityManager.createQuery(cq));
+
+            hints.forEach(query::setHint);
+        }
+
+        return execute(query.setMaxResults(limit)).size();
+    }
+
+    public JpaCountEstimator getCountEstimator() {
+        return countEstimator;
+    }
+
+    /**
+     * Sets the estimator of the counts whose {@link CountAccuracy} is not {@link CountAccuracy#EXACT}.
+     *
+     * @param countEstimator the count estimator
+     */
+    public void setCountEstimator(JpaCountEstimator countEstimator) {
+        this.countEstimator = Objects.requireNonNull(countEstimator, "Count estimator cannot be null");
+    }
+
+    public long getAutoCountThreshold() {
+        return autoCountThreshold;
+    }
+
+    /**
+     * Sets the estimate from which {@link CountAccuracy#AUTO} counts are not counted exactly.
+     *
+     * @param autoCountThreshold the threshold, zero or positive
+     */
+    public void setAutoCountThreshold(long autoCountThreshold) {
+        if (autoCountThreshold < 0) {
+            throw new IllegalArgumentException("Auto count threshold must not be negative");
+        }
+        this.autoCountThreshold = autoCountThreshold;
+    }
+
+    private <E> long count(EntityManager entityManager, Class<E> entityClass, OmniSearchBaseOptions options, Map<String, Object> hints) {
+        TypedQuery<Long> query;
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var cb = entityManager.getCriteriaBuilder();
+            var cq = cb.createQuery(Long.class);
+            var root = cq.from(entityClass);
+
+            var parameters = new JpaParameters();
+            var predicate = predicateBuilder.buildPredicate(root, cq, parameters, options, cb, entityManager.getMetamodel());
 
-        var predicate = predicateBuilder.buildPredicate(root, options, cb, entityManager.getMetamodel());
+            cq
+                    .where(predicate)
+                    .select(cb.count(root));
 
-        cq
-                .where(predicate)
-                .select(cb.count(root));
+            query = parameters.bind(entityManager.createQuery(cq));
 
-        var query = entityManager.createQuery(cq);
+            hints.forEach(query::setHint);
+        }
+
+        return executeSingle(query);
+    }
 
-        hints.forEach(query::setHint);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * When {@link #enableConcurrentPage(EntityManagerFactory, Executor) concurrent pages} are enabled, the count
+     * query runs on the configured executor with its own {@link EntityManager}, created from the factory and
+     * closed afterwards, while the list query runs on the calling thread. The count then does not see changes
+     * not yet committed by the transaction of the calling {@link EntityManager}.
+     * </p>
+     */
+    @Override
+    public <E> Page<E> page(Class<E> entityClass, OmniSearchOptions options) {
+        var factory = concurrentEntityManagerFactory;
+        if (factory == null) {
+            return OmniSearch.super.page(entityClass, options);
+        }
+        return ConcurrentPages.page(
+                () -> list(entityClass, options),
+                () -> {
+                    try (var countEntityManager = factory.createEntityManager()) {
+                        return countResult(countEntityManager, entityClass, options, Map.of()).total();
+                    }
+                },
+                options.getPagination(),
+                options.getSort(),
+                concurrentExecutor
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation counts all the searches with a single query selecting one
+     * {@code SUM(CASE WHEN <predicate> THEN 1 ELSE 0 END)} per search over the rows matching any of them. When a
+     * search needs joins, the joined rows would be shared with the other searches and change their counts, so
+     * the searches are then counted one by one. Searches with a count limit, or whose {@link CountAccuracy} is
+     * not {@link CountAccuracy#EXACT}, are counted by {@link #countResult(Class, OmniSearchBaseOptions)}
+     * instead, so their totals are capped or estimated like those of {@link #page(Class, OmniSearchOptions)}.
+     * </p>
+     *
+     * <p>
+     * When {@link #enableConcurrentPage(EntityManagerFactory, Executor) concurrent pages} are enabled, the list
+     * queries run concurrently on the configured executor, each with its own {@link EntityManager} closed
+     * afterwards, while the count runs on the calling thread. The entities of the pages are then detached.
+     * Otherwise the list queries run one after the other on the {@link EntityManager} of this instance.
+     * </p>
+     */
+    @Override
+    public <E> List<Page<E>> batch(Class<E> entityClass, List<OmniSearchOptions> options) {
+        BatchSearches.requireNoKeyset(options);
+        if (options.isEmpty()) {
+            return List.of();
+        }
+
+        var contents = new ArrayList<List<E>>(options.size());
+        long[] totals;
+
+        var factory = concurrentEntityManagerFactory;
+        if (factory == null) {
+            totals = countAll(entityClass, options);
+            for (var option : options) {
+                contents.add(execute(createQuery(entityClass, option, Map.of())));
+            }
+        } else {
+            var lists = new ArrayList<CompletableFuture<List<E>>>(options.size());
+            try {
+                for (var option : options) {
+                    lists.add(CompletableFuture.supplyAsync(() -> {
+                        try (var listEntityManager = factory.createEntityManager()) {
+                            return execute(createQuery(listEntityManager, entityClass, option, Map.of()));
+                        }
+                    }, concurrentExecutor));
+                }
+                totals = countAll(entityClass, options);
+                for (var list : lists) {
+                    contents.add(ConcurrentPages.join(list));
+                }
+            } catch (RuntimeException | Error e) {
+                lists.forEach(list -> list.cancel(false));
+                throw e;
+            }
+        }
+
+        var pages = new ArrayList<Page<E>>(options.size());
+        for (int i = 0; i < options.size(); i++) {
+            var option = options.get(i);
+            var total = totals[i];
+            pages.add(Page.deferred(contents.get(i), option.getPagination(), option.getSort(), () -> total));
+        }
+        return pages;
+    }
+
+    private <E> long[] countAll(Class<E> entityClass, List<? extends OmniSearchBaseOptions> options) {
+        var totals = new long[options.size()];
+
+        // limited and estimated counts are resolved like those of page()
+        var exact = new ArrayList<Integer>(options.size());
+        for (int i = 0; i < options.size(); i++) {
+            var option = options.get(i);
+            if (option.getCountLimit() > 0 || option.getCountAccuracy() != CountAccuracy.EXACT) {
+                totals[i] = countResult(entityManager, entityClass, option, Map.of()).total();
+            } else {
+                exact.add(i);
+            }
+        }
+        if (exact.isEmpty()) {
+            return totals;
+        }
+
+        TypedQuery<Tuple> query = null;
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var cb = entityManager.getCriteriaBuilder();
+            var cq = cb.createTupleQuery();
+            var root = cq.from(entityClass);
+
+            var parameters = new JpaParameters();
+            var predicates = new Predicate[exact.size()];
+            for (int i = 0; i < exact.size(); i++) {
+                predicates[i] = predicateBuilder.buildPredicate(root, cq, parameters, options.get(exact.get(i)), cb, entityManager.getMetamodel());
+            }
+
+            if (root.getJoins().isEmpty()) {
+                var selections = new ArrayList<Selection<?>>(exact.size());
+                for (var predicate : predicates) {
+                    selections.add(cb.sum(cb.<Long>selectCase().when(predicate, 1L).otherwise(0L)));
+                }
+
+                cq
+                        .multiselect(selections)
+                        .where(cb.or(predicates));
+
+                query = parameters.bind(entityManager.createQuery(cq));
+            }
+        }
+
+        if (query == null) {
+            for (var i : exact) {
+                totals[i] = count(entityManager, entityClass, options.get(i), Map.of());
+            }
+            return totals;
+        }
+
+        var row = executeSingle(query);
+        for (int i = 0; i < exact.size(); i++) {
+            // SUM over no rows is NULL
+            var total = row.get(i);
+            totals[exact.get(i)] = total == null ? 0L : ((Number) total).longValue();
+        }
+        return totals;
+    }
+
+    /**
+     * Runs the count query of {@link #page(Class, OmniSearchOptions)} concurrently with the list query, on a
+     * virtual thread per page.
+     *
+     * @param entityManagerFactory the factory of the entity managers used by the count queries and batch lists
+     */
+    public void enableConcurrentPage(EntityManagerFactory entityManagerFactory) {
+        enableConcurrentPage(entityManagerFactory, ConcurrentPages.defaultExecutor());
+    }
+
+    /**
+     * Runs the count query of {@link #page(Class, OmniSearchOptions)} concurrently with the list query.
+     *
+     * @param entityManagerFactory the factory of the entity managers used by the count queries and batch lists
+     * @param executor             the executor of the count queries and batch lists
+     */
+    public void enableConcurrentPage(EntityManagerFactory entityManagerFactory, Executor executor) {
+        this.concurrentEntityManagerFactory = Objects.requireNonNull(entityManagerFactory, "EntityManagerFactory cannot be null");
+        this.concurrentExecutor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+
+    /**
+     * Runs the list and count queries of {@link #page(Class, OmniSearchOptions)} one after the other, the default.
+     */
+    public void disableConcurrentPage() {
+        this.concurrentEntityManagerFactory = null;
+    }
 
-        return query.getSingleResult();
+    public boolean isConcurrentPage() {
+        return concurrentEntityManagerFactory != null;
     }
 
 }
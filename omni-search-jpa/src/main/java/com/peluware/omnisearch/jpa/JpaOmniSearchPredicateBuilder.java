@@ -1,11 +1,17 @@
 package com.peluware.omnisearch.jpa;
 
 import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlanner;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.metamodel.Metamodel;
 
+import java.util.List;
+
 /**
  * Builds a JPA {@link Predicate} based on the given root entity and
  * {@link OmniSearchBaseOptions}.
@@ -24,4 +30,62 @@ public interface JpaOmniSearchPredicateBuilder {
      * @return a {@link Predicate} for use in JPA criteria queries
      */
     <E> Predicate buildPredicate(From<?, E> root, OmniSearchBaseOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel);
+
+    /**
+     * Creates a {@link Predicate} for the specified root entity of {@code query}, which may be used to create
+     * subqueries. The default implementation ignores the query.
+     *
+     * @param root            the root entity of the query
+     * @param query           the query the predicate is built for
+     * @param options         the base search options
+     * @param criteriaBuilder the criteria builder
+     * @param metamodel       the metamodel used to resolve attributes
+     * @param <E>             the type of the root entity
+     * @return a {@link Predicate} for use in {@code query}
+     */
+    default <E> Predicate buildPredicate(From<?, E> root, CommonAbstractCriteria query, OmniSearchBaseOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        return buildPredicate(root, options, criteriaBuilder, metamodel);
+    }
+
+    /**
+     * Creates a {@link Predicate} for the specified root entity of {@code query}, which may pass values as
+     * parameters added to {@code parameters}. The caller binds them on the query created from {@code query}. The
+     * default implementation passes values inline.
+     *
+     * @param root            the root entity of the query
+     * @param query           the query the predicate is built for
+     * @param parameters      the parameters of the query
+     * @param options         the base search options
+     * @param criteriaBuilder the criteria builder
+     * @param metamodel       the metamodel used to resolve attributes
+     * @param <E>             the type of the root entity
+     * @return a {@link Predicate} for use in {@code query}
+     */
+    default <E> Predicate buildPredicate(From<?, E> root, CommonAbstractCriteria query, JpaParameters parameters, OmniSearchBaseOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        return buildPredicate(root, query, options, criteriaBuilder, metamodel);
+    }
+
+    /**
+     * Creates the {@link Order}s for the sort of the provided search options.
+     *
+     * @param root            the root entity of the query
+     * @param options         the search options
+     * @param criteriaBuilder the criteria builder
+     * @param metamodel       the metamodel used to resolve attributes
+     * @param <E>             the type of the root entity
+     * @return the orders, empty if the options are unsorted
+     */
+    default <E> List<Order> buildOrders(From<?, E> root, OmniSearchOptions options, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        return JpaUtils.getOrders(options.getSort(), root, criteriaBuilder, metamodel, getQueryPlanner());
+    }
+
+    /**
+     * Returns the planner resolving the property paths of the queries built with this builder, which providers
+     * also use for the paths they resolve themselves, such as keyset keys and projected fields.
+     *
+     * @return the query planner, by default {@link JpaQueryPlanner#shared()}
+     */
+    default JpaQueryPlanner getQueryPlanner() {
+        return JpaQueryPlanner.shared();
+    }
 }
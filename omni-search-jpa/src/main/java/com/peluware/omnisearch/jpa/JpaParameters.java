@@ -0,0 +1,82 @@
+package com.peluware.omnisearch.jpa;
+
+import jakarta.persistence.Parameter;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.ParameterExpression;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Values of one criteria query passed as parameters, collected while its predicates are built and bound on the
+ * query once it is created.
+ *
+ * <p>
+ * Every value gets its own {@link ParameterExpression}, so the rendered SQL depends only on the shape of the
+ * request and not on its values. Registries are not thread-safe; like criteria queries, they belong to the thread
+ * building the query.
+ * </p>
+ */
+public final class JpaParameters {
+
+    private final Map<ParameterExpression<?>, Object> values = new IdentityHashMap<>();
+
+    /**
+     * Creates a parameter for {@code value}, bound when the query is {@link #bind(Query) bound}.
+     *
+     * @param criteriaBuilder the criteria builder
+     * @param type            the type of the parameter
+     * @param value           the value of the parameter
+     * @param <T>             the type of the parameter
+     * @return the parameter
+     */
+    public <T> ParameterExpression<T> add(CriteriaBuilder criteriaBuilder, Class<T> type, T value) {
+        var parameter = criteriaBuilder.parameter(type);
+        values.put(parameter, value);
+        return parameter;
+    }
+
+    /**
+     * Creates a parameter for {@code value}, typed after its class, or after the declaring class of enum constants.
+     *
+     * @param criteriaBuilder the criteria builder
+     * @param value           the value of the parameter
+     * @return the parameter
+     */
+    @SuppressWarnings("unchecked")
+    public ParameterExpression<Object> add(CriteriaBuilder criteriaBuilder, Object value) {
+        var type = value instanceof Enum<?> constant ? constant.getDeclaringClass() : value.getClass();
+        return add(criteriaBuilder, (Class<Object>) type, value);
+    }
+
+    /**
+     * @return the number of parameters
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Passes every parameter with its value to {@code action}, for query APIs other than {@link Query}.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<Parameter<Object>, Object> action) {
+        values.forEach((parameter, value) -> action.accept((Parameter<Object>) parameter, value));
+    }
+
+    /**
+     * Binds every parameter on {@code query}.
+     *
+     * @param query the query created from the criteria query
+     * @param <Q>   the type of the query
+     * @return {@code query}
+     */
+    public <Q extends Query> Q bind(Q query) {
+        forEach(query::setParameter);
+        return query;
+    }
+}
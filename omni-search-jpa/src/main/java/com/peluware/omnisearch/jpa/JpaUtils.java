@@ -1,6 +1,7 @@
 package com.peluware.omnisearch.jpa;
 
 import com.peluware.domain.Sort;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlanner;
 import jakarta.persistence.criteria.*;
 import jakarta.persistence.metamodel.Attribute;
 import jakarta.persistence.metamodel.ManagedType;
@@ -17,9 +18,23 @@ public final class JpaUtils {
     }
 
     public static List<Order> getOrders(Sort sort, Path<?> root, CriteriaBuilder cb, Metamodel metamodel) {
+        return getOrders(sort, root, cb, metamodel, JpaQueryPlanner.shared());
+    }
+
+    /**
+     * Creates the orders of a sort, resolving the sorted properties through a planner.
+     *
+     * @param sort      the sort
+     * @param root      the root the sorted properties start from
+     * @param cb        the criteria builder
+     * @param metamodel the metamodel used to resolve attribute paths
+     * @param planner   the planner resolving the sorted properties
+     * @return the orders
+     */
+    public static List<Order> getOrders(Sort sort, Path<?> root, CriteriaBuilder cb, Metamodel metamodel, JpaQueryPlanner planner) {
         return sort.orders().stream()
                 .map(order -> {
-                    var path = findPath(order.property(), root, metamodel, JoinType.LEFT);
+                    var path = findPath(order.property(), root, metamodel, JoinType.LEFT, planner);
                     return order.direction() == com.peluware.domain.Order.Direction.ASC
                             ? cb.asc(path)
                             : cb.desc(path);
@@ -52,51 +67,22 @@ public final class JpaUtils {
      * @throws IllegalArgumentException if attribute of the given property name does not exist
      */
     public static Path<?> findPath(String path, Path<?> startRoot, Metamodel metamodel, JoinType joinType) {
-        var graph = path.split("\\.");
-
-        var classMetadata = metamodel.managedType(startRoot.getJavaType());
-        var currentRoot = startRoot;
-
-        var graphLength = graph.length;
-        for (int i = 0; i < graphLength; i++) {
-            var attribute = graph[i];
-
-            if (!hasAttribute(attribute, classMetadata)) {
-                throw new IllegalArgumentException("Unknown property: " + attribute + " From<?,?> entity " + classMetadata.getJavaType().getName());
-            }
-
-            var jpaAttribute = classMetadata.getAttribute(attribute);
-            var persistentAttributeType = jpaAttribute.getPersistentAttributeType();
-            var attributeType = getSingularType(jpaAttribute);
-
-            if (jpaAttribute.isAssociation()) {
-
-                classMetadata = metamodel.managedType(attributeType);
-                currentRoot = getOrCreateJoin((From<?, ?>) currentRoot, attribute, joinType);
-
-            } else if (persistentAttributeType == Attribute.PersistentAttributeType.EMBEDDED) {
-
-                classMetadata = metamodel.embeddable(attributeType);
-                currentRoot = currentRoot.get(attribute);
-
-            } else if (persistentAttributeType == Attribute.PersistentAttributeType.ELEMENT_COLLECTION) {
-
-                currentRoot = getOrCreateJoin((From<?, ?>) currentRoot, attribute, joinType);
-                if (i != graphLength - 1) {
-                    throw new IllegalArgumentException("ElementCollection must be the last part of the path: " + path);
-                }
-
-            } else if (persistentAttributeType == Attribute.PersistentAttributeType.BASIC) {
-
-                currentRoot = currentRoot.get(attribute);
-                if (i != graphLength - 1) {
-                    throw new IllegalArgumentException("Basic attribute must be the last part of the path: " + path);
-                }
-
-            }
-        }
+        return findPath(path, startRoot, metamodel, joinType, JpaQueryPlanner.shared());
+    }
 
-        return currentRoot;
+    /**
+     * Find a property path in the graph From startRoot, resolving it through a planner.
+     *
+     * @param path       The property path to find.
+     * @param startRoot  From that property path depends on.
+     * @param metamodel  the metamodel used to resolve attribute paths.
+     * @param joinType   The type of join to use for associations and element collections.
+     * @param planner    the planner resolving the property path
+     * @return The Path for the property path
+     * @throws IllegalArgumentException if attribute of the given property name does not exist
+     */
+    public static Path<?> findPath(String path, Path<?> startRoot, Metamodel metamodel, JoinType joinType, JpaQueryPlanner planner) {
+        return planner.resolve(path, startRoot.getJavaType(), metamodel).bind(startRoot, joinType);
     }
 
 
@@ -130,6 +116,15 @@ public final class JpaUtils {
     }
 
 
+    /**
+     * Returns the join of {@code attribute} from {@code from}, creating it if absent. This scans the joins of
+     * {@code from}; code building several paths of the same query should share a {@link JpaJoins} instead.
+     *
+     * @param from      the parent of the join
+     * @param attribute the joined attribute
+     * @param joinType  the type of the join
+     * @return the join
+     */
     public static Join<?, ?> getOrCreateJoin(From<?, ?> from, String attribute, JoinType joinType) {
         return from.getJoins().stream()
                 .filter(join -> join.getAttribute().getName().equals(attribute) && join.getJoinType() == joinType)
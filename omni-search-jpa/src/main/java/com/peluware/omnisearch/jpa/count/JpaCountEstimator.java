@@ -0,0 +1,31 @@
+package com.peluware.omnisearch.jpa.count;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.count.CountAccuracy;
+import jakarta.persistence.EntityManager;
+
+import java.util.OptionalLong;
+
+/**
+ * Estimates the number of entities matching search options without counting them, for counts whose
+ * {@link CountAccuracy} allows it. Estimates usually come from statistics of the database, read with native
+ * queries, so implementations are specific to a database.
+ */
+@FunctionalInterface
+public interface JpaCountEstimator {
+
+    /**
+     * @param entityManager the entity manager of the search
+     * @param entityClass   the searched entity
+     * @param options       the options of the search
+     * @return the estimated number of matching entities, or empty to count them exactly
+     */
+    OptionalLong estimate(EntityManager entityManager, Class<?> entityClass, OmniSearchBaseOptions options);
+
+    /**
+     * @return an estimator that never estimates, so every count is exact
+     */
+    static JpaCountEstimator none() {
+        return (entityManager, entityClass, options) -> OptionalLong.empty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.peluware.omnisearch.jpa.count;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+/**
+ * {@link JpaCountEstimator} for PostgreSQL reading the row estimate that {@code ANALYZE} and autovacuum keep
+ * in {@code pg_class.reltuples}.
+ *
+ * <p>
+ * Only unfiltered counts, without search nor query, are estimated: the JPA API does not expose the SQL of a
+ * criteria query to {@code EXPLAIN} it. Tables never analyzed are counted exactly.
+ * </p>
+ *
+ * <p>
+ * The table of an entity is taken from its {@link Table} annotation, or else its entity name, which matches
+ * the default naming of most providers. Use {@link #PostgresCountEstimator(Function)} for other mappings.
+ * </p>
+ */
+public class PostgresCountEstimator implements JpaCountEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCountEstimator.class);
+
+    private static final String ESTIMATE_QUERY = "SELECT reltuples FROM pg_class WHERE oid = to_regclass(?1)";
+
+    private final Function<Class<?>, String> tableNameResolver;
+
+    /**
+     * @param tableNameResolver resolves the (optionally schema-qualified) table of an entity
+     */
+    public PostgresCountEstimator(Function<Class<?>, String> tableNameResolver) {
+        this.tableNameResolver = tableNameResolver;
+    }
+
+    public PostgresCountEstimator() {
+        this(PostgresCountEstimator::resolveTableName);
+    }
+
+    @Override
+    public OptionalLong estimate(EntityManager entityManager, Class<?> entityClass, OmniSearchBaseOptions options) {
+        var search = options.getSearch();
+        if ((search != null && !search.isBlank()) || options.getQuery() != null) {
+            return OptionalLong.empty();
+        }
+
+        var tableName = tableNameResolver.apply(entityClass);
+        var rows = entityManager.createNativeQuery(ESTIMATE_QUERY)
+                .setParameter(1, tableName)
+                .getResultList();
+
+        if (rows.isEmpty() || !(rows.getFirst() instanceof Number estimate) || estimate.doubleValue() < 0) {
+            log.debug("No row estimate for table '{}' of entity {}", tableName, entityClass.getSimpleName());
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.round(estimate.doubleValue()));
+    }
+
+    private static String resolveTableName(Class<?> entityClass) {
+        var table = entityClass.getAnnotation(Table.class);
+        if (table != null && !table.name().isEmpty()) {
+            return table.schema().isEmpty() ? table.name() : table.schema() + "." + table.name();
+        }
+        var entity = entityClass.getAnnotation(Entity.class);
+        return entity != null && !entity.name().isEmpty() ? entity.name() : entityClass.getSimpleName();
+    }
+}
@@ -0,0 +1,239 @@
+package com.peluware.omnisearch.jpa.keyset;
+
+import com.peluware.domain.Order;
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.jpa.JpaJoins;
+import com.peluware.omnisearch.jpa.plan.JpaPropertyPath;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlanner;
+import com.peluware.omnisearch.keyset.KeysetPagination;
+import com.peluware.omnisearch.keyset.KeysetToken;
+import com.peluware.omnisearch.rsql.DefaultRsqlArgumentParser;
+import com.peluware.omnisearch.rsql.RsqlArgumentParser;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The keys that position a row for {@link KeysetPagination} on a JPA entity: the requested sort properties
+ * followed by the tiebreaker, resolved against the metamodel.
+ *
+ * <p>
+ * The seek condition {@code (k1, k2, id) > (v1, v2, v3)} is expanded to
+ * {@code k1 > v1 or (k1 = v1 and k2 > v2) or (k1 = v1 and k2 = v2 and id > v3)}, with {@code <} for
+ * descending keys, since the Criteria API has no row-value comparison. Database planners use a composite
+ * index on the keys for this form.
+ * </p>
+ */
+public final class JpaKeyset {
+
+    private static final RsqlArgumentParser ARGUMENT_PARSER = new DefaultRsqlArgumentParser();
+
+    /**
+     * A resolved key.
+     *
+     * @param path      the key property
+     * @param ascending whether the key is sorted ascending
+     */
+    public record Key(JpaPropertyPath path, boolean ascending) {
+    }
+
+    private final List<Key> keys;
+    private final String signature;
+
+    private JpaKeyset(Class<?> entityClass, List<Key> keys) {
+        this.keys = keys;
+        var builder = new StringBuilder(entityClass.getName());
+        for (var key : keys) {
+            builder.append(';').append(key.path().selector()).append(key.ascending() ? ":ASC" : ":DESC");
+        }
+        this.signature = builder.toString();
+    }
+
+    /**
+     * Resolves the keys of a request.
+     *
+     * @param entityClass the searched entity
+     * @param sort        the requested sort
+     * @param keyset      the keyset pagination
+     * @param metamodel   the metamodel used to resolve attributes
+     * @return the keyset
+     * @throws IllegalArgumentException if a key cannot be resolved, or no tiebreaker was set and the entity has no single identifier
+     */
+    public static JpaKeyset resolve(Class<?> entityClass, Sort sort, KeysetPagination keyset, Metamodel metamodel) {
+        return resolve(entityClass, sort, keyset, metamodel, JpaQueryPlanner.shared());
+    }
+
+    /**
+     * Resolves the keys of a request through a planner.
+     *
+     * @param entityClass the searched entity
+     * @param sort        the requested sort
+     * @param keyset      the keyset pagination
+     * @param metamodel   the metamodel used to resolve attributes
+     * @param planner     the planner resolving the keys
+     * @return the keyset
+     * @throws IllegalArgumentException if a key cannot be resolved, or no tiebreaker was set and the entity has no single identifier
+     */
+    public static JpaKeyset resolve(Class<?> entityClass, Sort sort, KeysetPagination keyset, Metamodel metamodel, JpaQueryPlanner planner) {
+        var tiebreaker = keyset.tiebreaker() != null ? keyset.tiebreaker() : getIdAttribute(entityClass, metamodel);
+        var keys = keyset.orders(sort, tiebreaker).stream()
+                .map(order -> new Key(
+                        planner.resolve(order.property(), entityClass, metamodel),
+                        order.direction() == Order.Direction.ASC
+                ))
+                .toList();
+        return new JpaKeyset(entityClass, keys);
+    }
+
+    private static String getIdAttribute(Class<?> entityClass, Metamodel metamodel) {
+        var entityType = metamodel.entity(entityClass);
+        if (!entityType.hasSingleIdAttribute()) {
+            throw new IllegalArgumentException("Entity " + entityClass.getName() + " has no single identifier, a keyset tiebreaker must be set");
+        }
+        return entityType.getSingularAttributes().stream()
+                .filter(SingularAttribute::isId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Entity " + entityClass.getName() + " has no identifier attribute"))
+                .getName();
+    }
+
+    /**
+     * @return the keys, in sort order
+     */
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Builds the path of every key from {@code root}, using left joins for associations.
+     *
+     * @param root the query root
+     * @return the key paths, in key order
+     */
+    public List<Path<?>> bind(From<?, ?> root) {
+        var paths = new ArrayList<Path<?>>(keys.size());
+        var joins = new JpaJoins();
+        for (var key : keys) {
+            paths.add(key.path().bind(root, JoinType.LEFT, joins));
+        }
+        return paths;
+    }
+
+    /**
+     * @param paths the key paths returned by {@link #bind(From)}
+     * @param cb    the criteria builder
+     * @return the orders of the keys
+     */
+    public List<jakarta.persistence.criteria.Order> orders(List<Path<?>> paths, CriteriaBuilder cb) {
+        var orders = new ArrayList<jakarta.persistence.criteria.Order>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            orders.add(keys.get(i).ascending() ? cb.asc(paths.get(i)) : cb.desc(paths.get(i)));
+        }
+        return orders;
+    }
+
+    /**
+     * Builds the predicate that matches the rows positioned after the row of {@code token}.
+     *
+     * @param paths the key paths returned by {@link #bind(From)}
+     * @param token the continuation token
+     * @param cb    the criteria builder
+     * @return the seek predicate
+     * @throws IllegalArgumentException if the token is invalid or was issued for other keys
+     */
+    public Predicate after(List<Path<?>> paths, String token, CriteriaBuilder cb) {
+        var values = KeysetToken.decode(token, signature);
+        if (values.size() != keys.size()) {
+            throw new IllegalArgumentException("Malformed keyset token");
+        }
+
+        var alternatives = new Predicate[keys.size()];
+        var equalities = new ArrayList<Predicate>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            var key = keys.get(i);
+            var value = parseValue(values.get(i), key.path().javaType());
+            var after = key.ascending() ? greaterThan(paths.get(i), value, cb) : lessThan(paths.get(i), value, cb);
+
+            var conjunction = new ArrayList<>(equalities);
+            conjunction.add(after);
+            alternatives[i] = cb.and(conjunction.toArray(Predicate[]::new));
+            equalities.add(cb.equal(paths.get(i), value));
+        }
+        return cb.or(alternatives);
+    }
+
+    /**
+     * Encodes the token of the row following {@code tuple}.
+     *
+     * @param tuple  a row whose key values are selected in key order
+     * @param offset the position of the first key in the tuple
+     * @return the continuation token
+     * @throws IllegalStateException if a key value is {@code null}
+     */
+    public String encode(Tuple tuple, int offset) {
+        var values = new ArrayList<String>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            var value = tuple.get(offset + i);
+            if (value == null) {
+                throw new IllegalStateException("Keyset pagination requires non-null keys, '" + keys.get(i).path().selector() + "' is null");
+            }
+            values.add(formatValue(value));
+        }
+        return KeysetToken.encode(signature, values);
+    }
+
+    private static String formatValue(Object value) {
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        }
+        if (value instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime()).toString();
+        }
+        return value.toString();
+    }
+
+    private static Object parseValue(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            var instant = Instant.parse(value);
+            if (type == Timestamp.class) {
+                return Timestamp.from(instant);
+            }
+            if (type == java.sql.Date.class) {
+                return new java.sql.Date(instant.toEpochMilli());
+            }
+            if (type == java.sql.Time.class) {
+                return new java.sql.Time(instant.toEpochMilli());
+            }
+            return Date.from(instant);
+        }
+        return ARGUMENT_PARSER.parse(value, type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate greaterThan(Expression<?> path, Object value, CriteriaBuilder cb) {
+        return cb.greaterThan((Expression<Comparable>) path, (Comparable) value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate lessThan(Expression<?> path, Object value, CriteriaBuilder cb) {
+        return cb.lessThan((Expression<Comparable>) path, (Comparable) value);
+    }
+}
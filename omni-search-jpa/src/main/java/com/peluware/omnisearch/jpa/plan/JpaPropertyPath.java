@@ -0,0 +1,156 @@
+package com.peluware.omnisearch.jpa.plan;
+
+import com.peluware.omnisearch.jpa.JpaJoins;
+import com.peluware.omnisearch.jpa.JpaUtils;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.Metamodel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A property path resolved against the metamodel, independent of any criteria query. Resolving
+ * walks the metamodel once; {@link #bind(Path, JoinType)} then only replays the recorded steps on a
+ * concrete root.
+ *
+ * <p>
+ * {@link #resolve(String, Class, Metamodel)} always walks the metamodel; use
+ * {@link JpaQueryPlanner#resolve(String, Class, Metamodel)} to reuse resolutions.
+ * </p>
+ *
+ * @param selector the dotted property path, e.g. {@code address.city}
+ * @param segments the steps to reach the property from the root
+ * @param javaType the java type of the property, or of the elements for collections
+ */
+public record JpaPropertyPath(String selector, List<Segment> segments, Class<?> javaType) {
+
+    /**
+     * How a segment is reached from its parent.
+     */
+    public enum Kind {
+        /**
+         * Plain navigation, for basic and embedded attributes.
+         */
+        GET,
+        /**
+         * Join, for associations and element collections.
+         */
+        JOIN
+    }
+
+    /**
+     * One step of a property path.
+     *
+     * @param attribute the attribute name
+     * @param kind      how the attribute is reached
+     * @param toMany    whether the attribute is a collection, so that joining it may multiply rows
+     */
+    public record Segment(String attribute, Kind kind, boolean toMany) {
+    }
+
+    /**
+     * Resolves a property path against the metamodel.
+     *
+     * @param selector  the dotted property path
+     * @param rootType  the type the path starts from
+     * @param metamodel the metamodel used to resolve attributes
+     * @return the resolved path
+     * @throws IllegalArgumentException if an attribute does not exist, or a basic attribute or element collection is not the last segment
+     */
+    public static JpaPropertyPath resolve(String selector, Class<?> rootType, Metamodel metamodel) {
+        var graph = selector.split("\\.");
+
+        var classMetadata = metamodel.managedType(rootType);
+        Class<?> javaType = rootType;
+        var segments = new ArrayList<Segment>(graph.length);
+
+        var graphLength = graph.length;
+        for (int i = 0; i < graphLength; i++) {
+            var attribute = graph[i];
+
+            if (!JpaUtils.hasAttribute(attribute, classMetadata)) {
+                throw new IllegalArgumentException("Unknown property: " + attribute + " From<?,?> entity " + classMetadata.getJavaType().getName());
+            }
+
+            var jpaAttribute = classMetadata.getAttribute(attribute);
+            var persistentAttributeType = jpaAttribute.getPersistentAttributeType();
+            var attributeType = JpaUtils.getSingularType(jpaAttribute);
+
+            if (jpaAttribute.isAssociation()) {
+
+                classMetadata = metamodel.managedType(attributeType);
+                segments.add(new Segment(attribute, Kind.JOIN, jpaAttribute.isCollection()));
+
+            } else if (persistentAttributeType == Attribute.PersistentAttributeType.EMBEDDED) {
+
+                classMetadata = metamodel.embeddable(attributeType);
+                segments.add(new Segment(attribute, Kind.GET, false));
+
+            } else if (persistentAttributeType == Attribute.PersistentAttributeType.ELEMENT_COLLECTION) {
+
+                segments.add(new Segment(attribute, Kind.JOIN, true));
+                if (i != graphLength - 1) {
+                    throw new IllegalArgumentException("ElementCollection must be the last part of the path: " + selector);
+                }
+
+            } else if (persistentAttributeType == Attribute.PersistentAttributeType.BASIC) {
+
+                segments.add(new Segment(attribute, Kind.GET, false));
+                if (i != graphLength - 1) {
+                    throw new IllegalArgumentException("Basic attribute must be the last part of the path: " + selector);
+                }
+
+            } else {
+                continue;
+            }
+
+            javaType = attributeType;
+        }
+
+        return new JpaPropertyPath(selector, List.copyOf(segments), javaType);
+    }
+
+    /**
+     * @return whether the path crosses a collection, an association to many or an element collection
+     */
+    public boolean isToMany() {
+        for (var segment : segments) {
+            if (segment.toMany()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the criteria path from {@code root}, reusing joins already present on it.
+     *
+     * @param root     the root the path starts from
+     * @param joinType the join type for associations and element collections
+     * @return the criteria path
+     */
+    public Path<?> bind(Path<?> root, JoinType joinType) {
+        return bind(root, joinType, new JpaJoins());
+    }
+
+    /**
+     * Builds the criteria path from {@code root}, taking joins from the registry of the query.
+     *
+     * @param root     the root the path starts from
+     * @param joinType the join type for associations and element collections
+     * @param joins    the joins of the query
+     * @return the criteria path
+     */
+    public Path<?> bind(Path<?> root, JoinType joinType, JpaJoins joins) {
+        Path<?> current = root;
+        for (var segment : segments) {
+            current = segment.kind() == Kind.JOIN
+                    ? joins.getOrCreate((From<?, ?>) current, segment.attribute(), joinType)
+                    : current.get(segment.attribute());
+        }
+        return current;
+    }
+}
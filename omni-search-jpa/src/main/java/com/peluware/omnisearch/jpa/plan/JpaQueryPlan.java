@@ -0,0 +1,89 @@
+package com.peluware.omnisearch.jpa.plan;
+
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.jpa.JpaJoins;
+import com.peluware.omnisearch.rsql.RsqlNodes;
+import cz.jirutka.rsql.parser.ast.Node;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.metamodel.Metamodel;
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled plan of a JPA search request: every RSQL selector and sort property resolved against the
+ * metamodel. Plans hold no criteria objects and can be shared between threads and queries.
+ *
+ * @param selectors the resolved RSQL selectors
+ * @param orders    the resolved sort orders
+ */
+public record JpaQueryPlan(Map<String, JpaPropertyPath> selectors, List<SortPath> orders) {
+
+    /**
+     * A resolved sort order.
+     *
+     * @param path      the sorted property
+     * @param ascending whether the order is ascending
+     */
+    public record SortPath(JpaPropertyPath path, boolean ascending) {
+    }
+
+    /**
+     * Compiles the plan of a request.
+     *
+     * @param entityClass the searched entity
+     * @param node        the parsed RSQL query, or {@code null} if there is none
+     * @param sort        the requested sort
+     * @param metamodel   the metamodel used to resolve attributes
+     * @param planner     the planner memoizing property paths
+     * @return the plan
+     * @throws IllegalArgumentException if a selector or sort property cannot be resolved
+     */
+    public static JpaQueryPlan compile(Class<?> entityClass, @Nullable Node node, Sort sort, Metamodel metamodel, JpaQueryPlanner planner) {
+        var selectors = new LinkedHashMap<String, JpaPropertyPath>();
+        if (node != null) {
+            for (var selector : RsqlNodes.selectors(node)) {
+                selectors.put(selector, planner.resolve(selector, entityClass, metamodel));
+            }
+        }
+
+        var orders = sort.orders().stream()
+                .map(order -> new SortPath(
+                        planner.resolve(order.property(), entityClass, metamodel),
+                        order.direction() == com.peluware.domain.Order.Direction.ASC
+                ))
+                .toList();
+
+        return new JpaQueryPlan(Map.copyOf(selectors), orders);
+    }
+
+    /**
+     * @param selector an RSQL selector
+     * @return the resolved selector, or {@code null} if the plan does not contain it
+     */
+    public @Nullable JpaPropertyPath getSelector(String selector) {
+        return selectors.get(selector);
+    }
+
+    /**
+     * Binds the sort orders on {@code root}, using left joins for associations.
+     *
+     * @param root the query root
+     * @param cb   the criteria builder
+     * @return the criteria orders
+     */
+    public List<Order> bindOrders(From<?, ?> root, CriteriaBuilder cb) {
+        var joins = new JpaJoins();
+        return orders.stream()
+                .map(order -> {
+                    var path = order.path().bind(root, JoinType.LEFT, joins);
+                    return order.ascending() ? cb.asc(path) : cb.desc(path);
+                })
+                .toList();
+    }
+}
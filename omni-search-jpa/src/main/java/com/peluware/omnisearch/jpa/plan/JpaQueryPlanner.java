@@ -0,0 +1,138 @@
+package com.peluware.omnisearch.jpa.plan;
+
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.plan.QueryPlanCache;
+import com.peluware.omnisearch.plan.QueryShape;
+import com.peluware.omnisearch.profile.QueryPhase;
+import com.peluware.omnisearch.profile.QueryProfiler;
+import com.peluware.omnisearch.utils.LruCache;
+import cz.jirutka.rsql.parser.ast.Node;
+import jakarta.persistence.metamodel.Metamodel;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles and caches {@link JpaQueryPlan}s by {@link QueryShape}, {@link JpaSearchPlan}s by managed type and
+ * {@link JpaPropertyPath}s by root type and selector, keeping separate caches per {@link Metamodel} since the
+ * same entity class may be mapped by several persistence units.
+ */
+public class JpaQueryPlanner {
+
+    private static final JpaQueryPlanner SHARED = new JpaQueryPlanner(QueryPlanCache.DEFAULT_MAXIMUM_SIZE);
+
+    private final int maximumSize;
+    private final Map<Metamodel, QueryPlanCache<JpaQueryPlan>> caches = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Metamodel, Map<Class<?>, JpaSearchPlan>> searchPlans = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Metamodel, LruCache<PathKey, Resolution>> paths = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private record PathKey(Class<?> rootType, String selector) {
+    }
+
+    private record Resolution(@Nullable JpaPropertyPath path, @Nullable String error) {
+    }
+
+    /**
+     * @param maximumSize maximum number of cached plans, and of resolved property paths, per metamodel,
+     *                    {@code 0} disables caching
+     */
+    public JpaQueryPlanner(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the planner used by default by every JPA provider
+     */
+    public static JpaQueryPlanner shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the plan of a request, compiling it on the first request of its shape.
+     *
+     * @param entityClass the searched entity
+     * @param options     the search options, sort is only planned for {@link OmniSearchOptions}
+     * @param node        the parsed query of {@code options}, or {@code null} if it has none
+     * @param metamodel   the metamodel used to resolve attributes
+     * @return the plan
+     */
+    public JpaQueryPlan plan(Class<?> entityClass, OmniSearchBaseOptions options, @Nullable Node node, Metamodel metamodel) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.RESOLVE)) {
+            var shape = QueryShape.of(entityClass, options, node);
+            var sort = options instanceof OmniSearchOptions searchOptions ? searchOptions.getSort() : Sort.unsorted();
+            return getCache(metamodel).get(shape, s -> JpaQueryPlan.compile(entityClass, node, sort, metamodel, this));
+        }
+    }
+
+    /**
+     * Returns the searchable attributes of a managed type, compiling them on first use. Unlike query plans,
+     * search plans are not bounded: there is at most one per managed type.
+     *
+     * @param javaType  the entity or embeddable searched
+     * @param metamodel the metamodel used to resolve attributes
+     * @return the search plan
+     */
+    public JpaSearchPlan searchPlan(Class<?> javaType, Metamodel metamodel) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.RESOLVE)) {
+            return searchPlans.computeIfAbsent(metamodel, m -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(javaType, type -> JpaSearchPlan.compile(type, metamodel));
+        }
+    }
+
+    /**
+     * Resolves a property path, or returns its memoized resolution. Failures are memoized as well, so that an
+     * unknown selector is rejected again without walking the metamodel.
+     *
+     * @param selector  the dotted property path
+     * @param rootType  the type the path starts from
+     * @param metamodel the metamodel used to resolve attributes
+     * @return the resolved path
+     * @throws IllegalArgumentException if the path cannot be resolved
+     * @see JpaPropertyPath#resolve(String, Class, Metamodel)
+     */
+    public JpaPropertyPath resolve(String selector, Class<?> rootType, Metamodel metamodel) {
+        var resolution = paths.computeIfAbsent(metamodel, m -> new LruCache<>(maximumSize))
+                .get(new PathKey(rootType, selector), key -> {
+                    try {
+                        return new Resolution(JpaPropertyPath.resolve(selector, rootType, metamodel), null);
+                    } catch (IllegalArgumentException e) {
+                        return new Resolution(null, e.getMessage());
+                    }
+                });
+        if (resolution.path() == null) {
+            throw new IllegalArgumentException(resolution.error());
+        }
+        return resolution.path();
+    }
+
+    /**
+     * @param metamodel the metamodel
+     * @return the plan cache of the given metamodel
+     */
+    public QueryPlanCache<JpaQueryPlan> getCache(Metamodel metamodel) {
+        return caches.computeIfAbsent(metamodel, m -> new QueryPlanCache<>(maximumSize, null));
+    }
+
+    /**
+     * Removes every plan of the given entity for every metamodel. Every resolved property path is forgotten,
+     * since paths from other roots may cross the entity.
+     *
+     * @param entityClass the entity
+     */
+    public void invalidate(Class<?> entityClass) {
+        synchronized (caches) {
+            caches.values().forEach(cache -> cache.invalidate(entityClass));
+        }
+        synchronized (searchPlans) {
+            searchPlans.values().forEach(plans -> plans.remove(entityClass));
+        }
+        synchronized (paths) {
+            paths.values().forEach(LruCache::clear);
+        }
+    }
+}
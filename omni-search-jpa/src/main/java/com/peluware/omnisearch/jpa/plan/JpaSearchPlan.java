@@ -0,0 +1,195 @@
+package com.peluware.omnisearch.jpa.plan;
+
+import com.peluware.omnisearch.SearchTerm;
+import com.peluware.omnisearch.jpa.JpaJoins;
+import com.peluware.omnisearch.jpa.JpaUtils;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.Type;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Searchable attributes of a managed type for keyword search, resolved against the metamodel once: basic
+ * attributes, those of embeddables at any depth, and element collections of basic values, each with the
+ * category of values it can match. Every basic attribute is kept, including those of types keyword search does
+ * not know about, so that the predicate builder can still decide on them. Plans hold no criteria objects and can be shared between threads and queries.
+ *
+ * @param javaType     the managed type
+ * @param columns      the searchable attributes, in metamodel order
+ * @param attributes   the names of every attribute of the type
+ * @param associations the associations of the type, by name, with their target type
+ * @param collections  the names of the associations to many
+ */
+public record JpaSearchPlan(
+        Class<?> javaType,
+        List<Column> columns,
+        Set<String> attributes,
+        Map<String, Class<?>> associations,
+        Set<String> collections
+) {
+
+    /**
+     * The kind of values an attribute can match.
+     */
+    public enum Category {
+        STRING,
+        UUID,
+        BOOLEAN,
+        YEAR,
+        ENUM,
+        NUMBER,
+        /**
+         * Any other type, such as dates or converted types, left to the predicate builder.
+         */
+        OTHER;
+
+        /**
+         * @param type the java type of an attribute
+         * @return the category of {@code type}
+         */
+        static Category of(Class<?> type) {
+            if (String.class.isAssignableFrom(type)) {
+                return STRING;
+            }
+            if (java.util.UUID.class.isAssignableFrom(type)) {
+                return UUID;
+            }
+            if (Boolean.class.isAssignableFrom(type) || type == boolean.class) {
+                return BOOLEAN;
+            }
+            if (Year.class.isAssignableFrom(type)) {
+                return YEAR;
+            }
+            if (type.isEnum()) {
+                return ENUM;
+            }
+            if (Number.class.isAssignableFrom(type) || type.isPrimitive()) {
+                return NUMBER;
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * A searchable attribute.
+     *
+     * @param path              the attribute names from the managed type, through embeddables
+     * @param elementCollection whether the last attribute is an element collection, reached with a left join
+     * @param javaType          the java type of the attribute, or of its elements
+     * @param category          the category of values it can match
+     */
+    public record Column(List<String> path, boolean elementCollection, Class<?> javaType, Category category) {
+
+        /**
+         * Tells whether the term can match this attribute at all, so that attributes it cannot match are
+         * skipped without building a path. Attributes of the {@link Category#OTHER} category are always accepted.
+         *
+         * @param search the search term
+         * @return {@code false} if no predicate can be built for the term
+         */
+        @SuppressWarnings("unchecked")
+        public boolean accepts(SearchTerm search) {
+            return switch (category) {
+                case STRING, OTHER -> true;
+                case UUID -> search.uuid() != null;
+                case BOOLEAN -> search.booleanValue() != null;
+                case YEAR -> search.year() != null;
+                case ENUM -> !search.enumCandidates((Class<? extends Enum<?>>) javaType).isEmpty();
+                case NUMBER -> search.number(javaType) != null;
+            };
+        }
+
+        /**
+         * Builds the criteria path of the attribute from {@code from}.
+         *
+         * @param from  the path of the managed type
+         * @param joins the joins of the query
+         * @return the criteria path
+         */
+        public Path<?> bind(Path<?> from, JpaJoins joins) {
+            return bind(from, joins, JoinType.LEFT);
+        }
+
+        /**
+         * Builds the criteria path of the attribute from {@code from}, joining element collections with the
+         * given type.
+         *
+         * @param from     the path of the managed type
+         * @param joins    the joins of the query
+         * @param joinType the type of the join of an element collection
+         * @return the criteria path
+         */
+        public Path<?> bind(Path<?> from, JpaJoins joins, JoinType joinType) {
+            Path<?> current = from;
+            var last = path.size() - 1;
+            for (int i = 0; i < last; i++) {
+                current = current.get(path.get(i));
+            }
+            return elementCollection
+                    ? joins.getOrCreate((From<?, ?>) current, path.get(last), joinType)
+                    : current.get(path.get(last));
+        }
+    }
+
+    /**
+     * Compiles the search plan of a managed type.
+     *
+     * @param javaType  the managed type
+     * @param metamodel the metamodel used to resolve attributes
+     * @return the plan
+     */
+    public static JpaSearchPlan compile(Class<?> javaType, Metamodel metamodel) {
+        var managedType = metamodel.managedType(javaType);
+        var columns = new ArrayList<Column>();
+        collectColumns(managedType, List.of(), columns, metamodel);
+
+        var attributes = new ArrayList<String>();
+        var associations = new LinkedHashMap<String, Class<?>>();
+        var collections = new ArrayList<String>();
+        for (var attribute : managedType.getAttributes()) {
+            attributes.add(attribute.getName());
+            if (attribute.isAssociation()) {
+                associations.put(attribute.getName(), JpaUtils.getSingularType(attribute));
+                if (attribute.isCollection()) {
+                    collections.add(attribute.getName());
+                }
+            }
+        }
+
+        return new JpaSearchPlan(javaType, List.copyOf(columns), Set.copyOf(attributes), Map.copyOf(associations), Set.copyOf(collections));
+    }
+
+    private static void collectColumns(ManagedType<?> managedType, List<String> prefix, List<Column> columns, Metamodel metamodel) {
+        for (var attribute : managedType.getAttributes()) {
+            var path = new ArrayList<>(prefix);
+            path.add(attribute.getName());
+            var type = attribute.getPersistentAttributeType();
+
+            if (type == Attribute.PersistentAttributeType.BASIC) {
+                addColumn(path, false, attribute.getJavaType(), columns);
+            } else if (type == Attribute.PersistentAttributeType.EMBEDDED) {
+                collectColumns(metamodel.embeddable(attribute.getJavaType()), path, columns, metamodel);
+            } else if (type == Attribute.PersistentAttributeType.ELEMENT_COLLECTION
+                    && prefix.isEmpty()
+                    && attribute instanceof PluralAttribute<?, ?, ?> plural
+                    && plural.getElementType().getPersistenceType() == Type.PersistenceType.BASIC) {
+                addColumn(path, true, plural.getBindableJavaType(), columns);
+            }
+        }
+    }
+
+    private static void addColumn(List<String> path, boolean elementCollection, Class<?> javaType, List<Column> columns) {
+        columns.add(new Column(List.copyOf(path), elementCollection, javaType, Category.of(javaType)));
+    }
+}
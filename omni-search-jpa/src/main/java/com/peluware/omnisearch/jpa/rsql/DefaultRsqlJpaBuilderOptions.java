@@ -6,6 +6,8 @@ import com.peluware.omnisearch.rsql.DefaultRsqlBuilderOptions;
 public class DefaultRsqlJpaBuilderOptions extends DefaultRsqlBuilderOptions implements RsqlJpaBuilderOptions {
 
     private RsqlJpaComparisionPredicateBuilder predicateBuilder;
+    private ToManyStrategy toManyStrategy;
+    private ValueBinding valueBinding;
 
     public RsqlJpaComparisionPredicateBuilder getComparisionPredicateBuilder() {
         if (this.predicateBuilder == null) {
@@ -14,4 +16,28 @@ public class DefaultRsqlJpaBuilderOptions extends DefaultRsqlBuilderOptions impl
         return this.predicateBuilder;
     }
 
+    @Override
+    public ToManyStrategy getToManyStrategy() {
+        if (this.toManyStrategy == null) {
+            this.toManyStrategy = ToManyStrategy.JOIN;
+        }
+        return this.toManyStrategy;
+    }
+
+    public void setToManyStrategy(ToManyStrategy toManyStrategy) {
+        this.toManyStrategy = toManyStrategy;
+    }
+
+    @Override
+    public ValueBinding getValueBinding() {
+        if (this.valueBinding == null) {
+            this.valueBinding = ValueBinding.INLINE;
+        }
+        return this.valueBinding;
+    }
+
+    public void setValueBinding(ValueBinding valueBinding) {
+        this.valueBinding = valueBinding;
+    }
+
 }
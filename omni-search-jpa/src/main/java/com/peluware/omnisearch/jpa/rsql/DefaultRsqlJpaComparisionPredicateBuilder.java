@@ -24,14 +24,21 @@
  */
 package com.peluware.omnisearch.jpa.rsql;
 
+import com.peluware.omnisearch.jpa.JpaParameters;
 import com.peluware.omnisearch.rsql.RsqlUnknowComparisionOperatorException;
 import cz.jirutka.rsql.parser.ast.*;
 import jakarta.persistence.criteria.*;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 
+/**
+ * Default {@link RsqlJpaComparisionPredicateBuilder}. Both overloads share the same dispatch. Inline, values are
+ * passed as they are to the {@code create} methods taking values; with parameters, each value becomes a
+ * parameter passed to the {@code create} overloads taking expressions, which build the same predicates.
+ */
 @SuppressWarnings({"unchecked", "rawtypes", "java:S3740"})
 public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaComparisionPredicateBuilder {
 
@@ -54,90 +61,175 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
 
     @Override
     public Predicate buildComparisionPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb) throws RsqlUnknowComparisionOperatorException {
+        return buildPredicate(propertyPath, operator, arguments, cb, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Builds the same predicates as {@link #buildComparisionPredicate(Expression, ComparisonOperator, List, CriteriaBuilder)},
+     * with every argument, and the bounds of date comparisons, passed as a parameter to the {@code create}
+     * overloads taking expressions.
+     * </p>
+     */
+    @Override
+    public Predicate buildComparisionPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb, JpaParameters parameters) throws RsqlUnknowComparisionOperatorException {
+        return buildPredicate(propertyPath, operator, arguments, cb, parameters);
+    }
+
+    private Predicate buildPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb, @Nullable JpaParameters parameters) throws RsqlUnknowComparisionOperatorException {
         log.trace("Creating predicate: propertyPath {} {}", operator, arguments);
 
         if (RSQLOperators.EQUAL.equals(operator)) {
-            return equalPredicate(propertyPath, arguments, cb);
+            return parameters == null
+                    ? equalPredicate(propertyPath, arguments, cb)
+                    : equalPredicate(propertyPath, arguments, cb, parameters);
         }
         if (RSQLOperators.NOT_EQUAL.equals(operator)) {
-            return notEqualPredicate(propertyPath, arguments, cb);
+            return parameters == null
+                    ? notEqualPredicate(propertyPath, arguments, cb)
+                    : notEqualPredicate(propertyPath, arguments, cb, parameters);
         }
         if (RSQLOperators.GREATER_THAN.equals(operator)) {
-            return greaterThanPredicate(propertyPath, operator, arguments, cb);
+            return greaterThanPredicate(propertyPath, operator, arguments, cb, parameters);
         }
         if (RSQLOperators.GREATER_THAN_OR_EQUAL.equals(operator)) {
-            return greaterThanOrEqualPredicate(propertyPath, operator, cb, arguments);
+            return greaterThanOrEqualPredicate(propertyPath, operator, arguments, cb, parameters);
         }
         if (RSQLOperators.LESS_THAN.equals(operator)) {
-            return lessThanPredicate(propertyPath, operator, arguments, cb);
+            return lessThanPredicate(propertyPath, operator, arguments, cb, parameters);
         }
         if (RSQLOperators.LESS_THAN_OR_EQUAL.equals(operator)) {
-            return lessThanOrEqualPredicate(propertyPath, operator, arguments, cb);
+            return lessThanOrEqualPredicate(propertyPath, operator, arguments, cb, parameters);
         }
         if (RSQLOperators.IN.equals(operator)) {
-            return createIn(propertyPath, arguments);
+            return parameters == null
+                    ? createIn(propertyPath, arguments)
+                    : createIn(propertyPath, parameters(arguments, cb, parameters));
         }
         if (RSQLOperators.NOT_IN.equals(operator)) {
-            return createNotIn(propertyPath, arguments, cb);
+            return parameters == null
+                    ? createNotIn(propertyPath, arguments, cb)
+                    : createNotIn(propertyPath, parameters(arguments, cb, parameters), cb);
         }
 
         throw new RsqlUnknowComparisionOperatorException(operator.getSymbol());
     }
 
-    private Predicate lessThanOrEqualPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb) {
+    /**
+     * Adds an argument to the parameters of the query.
+     *
+     * @param argument   the argument, not {@code null}
+     * @param cb         the criteria builder
+     * @param parameters the parameters of the query
+     * @param <Y>        the type of the argument
+     * @return the parameter
+     */
+    protected <Y> Expression<Y> parameter(Y argument, CriteriaBuilder cb, JpaParameters parameters) {
+        return (Expression) parameters.add(cb, argument);
+    }
+
+    private Expression<?>[] parameters(List<?> arguments, CriteriaBuilder cb, JpaParameters parameters) {
+        var values = new Expression<?>[arguments.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parameter(arguments.get(i), cb, parameters);
+        }
+        return values;
+    }
+
+    private Predicate lessThanOrEqualPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb, @Nullable JpaParameters parameters) {
         var argument = arguments.getFirst();
         if (argument instanceof Date casted) {
-            return createBetweenThan((Expression<? extends Date>) propertyPath, START_DATE, casted, cb);
+            var path = (Expression<? extends Date>) propertyPath;
+            return parameters == null
+                    ? createBetweenThan(path, START_DATE, casted, cb)
+                    : createBetweenThan(path, parameter(START_DATE, cb, parameters), parameter(casted, cb, parameters), cb);
         }
         if (argument instanceof Number casted) {
-            return createLessEqual((Expression<? extends Number>) propertyPath, casted, cb);
+            var path = (Expression<? extends Number>) propertyPath;
+            return parameters == null
+                    ? createLessEqual(path, casted, cb)
+                    : createLessEqual(path, parameter(casted, cb, parameters), cb);
         }
         if (argument instanceof Comparable casted) {
-            return createLessEqualComparable((Expression<? extends Comparable>) propertyPath, casted, cb);
+            var path = (Expression<? extends Comparable>) propertyPath;
+            return parameters == null
+                    ? createLessEqualComparable(path, casted, cb)
+                    : createLessEqualComparable(path, (Expression<Comparable>) parameter(casted, cb, parameters), cb);
         }
         throw new IllegalArgumentException(buildNotComparableMessage(operator, argument));
     }
 
-    private Predicate lessThanPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb) {
+    private Predicate lessThanPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb, @Nullable JpaParameters parameters) {
         var argument = arguments.getFirst();
         if (argument instanceof Date casted) {
             int days = -1;
-            return createBetweenThan((Expression<? extends Date>) propertyPath, START_DATE, modifyDate(casted, days), cb);
+            var path = (Expression<? extends Date>) propertyPath;
+            var end = modifyDate(casted, days);
+            return parameters == null
+                    ? createBetweenThan(path, START_DATE, end, cb)
+                    : createBetweenThan(path, parameter(START_DATE, cb, parameters), parameter(end, cb, parameters), cb);
         }
         if (argument instanceof Number casted) {
-            return createLessThan((Expression<? extends Number>) propertyPath, casted, cb);
+            var path = (Expression<? extends Number>) propertyPath;
+            return parameters == null
+                    ? createLessThan(path, casted, cb)
+                    : createLessThan(path, parameter(casted, cb, parameters), cb);
         }
         if (argument instanceof Comparable casted) {
-            return createLessThanComparable((Expression<? extends Comparable>) propertyPath, casted, cb);
+            var path = (Expression<? extends Comparable>) propertyPath;
+            return parameters == null
+                    ? createLessThanComparable(path, casted, cb)
+                    : createLessThanComparable(path, (Expression<Comparable>) parameter(casted, cb, parameters), cb);
         }
         throw new IllegalArgumentException(buildNotComparableMessage(operator, argument));
     }
 
-    private Predicate greaterThanOrEqualPredicate(Expression<?> propertyPath, ComparisonOperator operator, CriteriaBuilder cb, List<?> arguments) {
+    private Predicate greaterThanOrEqualPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb, @Nullable JpaParameters parameters) {
         var argument = arguments.getFirst();
         if (argument instanceof Date casted) {
-            return createBetweenThan((Expression<? extends Date>) propertyPath, casted, END_DATE, cb);
+            var path = (Expression<? extends Date>) propertyPath;
+            return parameters == null
+                    ? createBetweenThan(path, casted, END_DATE, cb)
+                    : createBetweenThan(path, parameter(casted, cb, parameters), parameter(END_DATE, cb, parameters), cb);
         }
         if (argument instanceof Number casted) {
-            return createGreaterEqual((Expression<? extends Number>) propertyPath, casted, cb);
+            var path = (Expression<? extends Number>) propertyPath;
+            return parameters == null
+                    ? createGreaterEqual(path, casted, cb)
+                    : createGreaterEqual(path, parameter(casted, cb, parameters), cb);
         }
         if (argument instanceof Comparable casted) {
-            return createGreaterEqualComparable((Expression<? extends Comparable>) propertyPath, casted, cb);
+            var path = (Expression<? extends Comparable>) propertyPath;
+            return parameters == null
+                    ? createGreaterEqualComparable(path, casted, cb)
+                    : createGreaterEqualComparable(path, (Expression<Comparable>) parameter(casted, cb, parameters), cb);
         }
         throw new IllegalArgumentException(buildNotComparableMessage(operator, argument));
     }
 
-    private Predicate greaterThanPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb) {
+    private Predicate greaterThanPredicate(Expression<?> propertyPath, ComparisonOperator operator, List<?> arguments, CriteriaBuilder cb, @Nullable JpaParameters parameters) {
         var argument = arguments.getFirst();
         if (argument instanceof Date casted) {
             int days = 1;
-            return createBetweenThan((Expression<? extends Date>) propertyPath, modifyDate(casted, days), END_DATE, cb);
+            var path = (Expression<? extends Date>) propertyPath;
+            var start = modifyDate(casted, days);
+            return parameters == null
+                    ? createBetweenThan(path, start, END_DATE, cb)
+                    : createBetweenThan(path, parameter(start, cb, parameters), parameter(END_DATE, cb, parameters), cb);
         }
         if (argument instanceof Number casted) {
-            return createGreaterThan((Expression<? extends Number>) propertyPath, casted, cb);
+            var path = (Expression<? extends Number>) propertyPath;
+            return parameters == null
+                    ? createGreaterThan(path, casted, cb)
+                    : createGreaterThan(path, parameter(casted, cb, parameters), cb);
         }
         if (argument instanceof Comparable casted) {
-            return createGreaterThanComparable((Expression<? extends Comparable>) propertyPath, casted, cb);
+            var path = (Expression<? extends Comparable>) propertyPath;
+            return parameters == null
+                    ? createGreaterThanComparable(path, casted, cb)
+                    : createGreaterThanComparable(path, (Expression<Comparable>) parameter(casted, cb, parameters), cb);
         }
         throw new IllegalArgumentException(buildNotComparableMessage(operator, argument));
     }
@@ -153,6 +245,21 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return createNotEqual(propertyPath, argument, cb);
     }
 
+    /**
+     * Same as {@link #notEqualPredicate(Expression, List, CriteriaBuilder)}, with the argument passed as a
+     * parameter.
+     */
+    protected Predicate notEqualPredicate(Expression<?> propertyPath, List<?> arguments, CriteriaBuilder cb, JpaParameters parameters) {
+        var argument = arguments.getFirst();
+        if (argument instanceof String casted) {
+            return createNotLike((Expression<String>) propertyPath, parameter(toLikePattern(casted), cb, parameters), cb);
+        }
+        if (isNullArgument(argument)) {
+            return createIsNotNull(propertyPath, cb);
+        }
+        return createNotEqual(propertyPath, parameter(argument, cb, parameters), cb);
+    }
+
     protected Predicate equalPredicate(Expression<?> propertyPath, List<?> arguments, CriteriaBuilder cb) {
         var argument = arguments.getFirst();
         if (argument instanceof String casted) {
@@ -164,6 +271,31 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return createEqual(propertyPath, argument, cb);
     }
 
+    /**
+     * Same as {@link #equalPredicate(Expression, List, CriteriaBuilder)}, with the argument passed as a parameter.
+     */
+    protected Predicate equalPredicate(Expression<?> propertyPath, List<?> arguments, CriteriaBuilder cb, JpaParameters parameters) {
+        var argument = arguments.getFirst();
+        if (argument instanceof String casted) {
+            return createLike((Expression<String>) propertyPath, parameter(toLikePattern(casted), cb, parameters), cb);
+        }
+        if (isNullArgument(argument)) {
+            return createIsNull(propertyPath, cb);
+        }
+        return createEqual(propertyPath, parameter(argument, cb, parameters), cb);
+    }
+
+    /**
+     * Translates a string argument into the pattern of a case-insensitive "like": wildcards "*" become "%" and
+     * the pattern is lower-cased.
+     *
+     * @param argument argument with/without wildcards
+     * @return the like pattern
+     */
+    protected String toLikePattern(String argument) {
+        return argument.replace(LIKE_WILDCARD, '%').toLowerCase();
+    }
+
     /**
      * Creates the between than.
      *
@@ -177,6 +309,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.between(propertyPath, start, end);
     }
 
+    /**
+     * Same as {@link #createBetweenThan(Expression, Date, Date, CriteriaBuilder)}, for bounds passed as parameters.
+     */
+    protected Predicate createBetweenThan(Expression<? extends Date> propertyPath, Expression<? extends Date> start, Expression<? extends Date> end, CriteriaBuilder cb) {
+        return cb.between((Expression<Date>) propertyPath, (Expression<Date>) start, (Expression<Date>) end);
+    }
+
     /**
      * Apply a case-insensitive "like" constraint to the property path. Value
      * should contain wildcards "*" (% in SQL) and "_".
@@ -187,8 +326,19 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
      * @return Predicate a predicate representation.
      */
     protected Predicate createLike(Expression<String> propertyPath, String argument, CriteriaBuilder cb) {
-        var like = argument.replace(LIKE_WILDCARD, '%');
-        return cb.like(cb.lower(propertyPath), like.toLowerCase());
+        return cb.like(cb.lower(propertyPath), toLikePattern(argument));
+    }
+
+    /**
+     * Same as {@link #createLike(Expression, String, CriteriaBuilder)}, for a pattern passed as a parameter.
+     *
+     * @param propertyPath Property path that we want to compare.
+     * @param pattern      Lower-cased pattern, see {@link #toLikePattern(String)}
+     * @param cb           the criteria builder
+     * @return Predicate a predicate representation.
+     */
+    protected Predicate createLike(Expression<String> propertyPath, Expression<String> pattern, CriteriaBuilder cb) {
+        return cb.like(cb.lower(propertyPath), pattern);
     }
 
     /**
@@ -214,6 +364,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.equal(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createEqual(Expression, Object, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected Predicate createEqual(Expression<?> propertyPath, Expression<?> argument, CriteriaBuilder cb) {
+        return cb.equal(propertyPath, argument);
+    }
+
     /**
      * Apply a "not equal" constraint to the property path.
      *
@@ -226,6 +383,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.notEqual(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createNotEqual(Expression, Object, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected Predicate createNotEqual(Expression<?> propertyPath, Expression<?> argument, CriteriaBuilder cb) {
+        return cb.notEqual(propertyPath, argument);
+    }
+
     /**
      * Apply a negative case-insensitive "like" constraint to the property path.
      * Value should contain wildcards "*" (% in SQL) and "_".
@@ -239,6 +403,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.not(createLike(propertyPath, argument, cb));
     }
 
+    /**
+     * Same as {@link #createNotLike(Expression, String, CriteriaBuilder)}, for a pattern passed as a parameter.
+     */
+    protected Predicate createNotLike(Expression<String> propertyPath, Expression<String> pattern, CriteriaBuilder cb) {
+        return cb.not(createLike(propertyPath, pattern, cb));
+    }
+
     /**
      * Apply an "is not null" constraint to the property path.
      *
@@ -262,6 +433,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.gt(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createGreaterThan(Expression, Number, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected Predicate createGreaterThan(Expression<? extends Number> propertyPath, Expression<? extends Number> argument, CriteriaBuilder cb) {
+        return cb.gt(propertyPath, argument);
+    }
+
     /**
      * Apply a "greater than" constraint to the property path.
      *
@@ -274,6 +452,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.greaterThan(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createGreaterThanComparable(Expression, Comparable, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected <Y extends Comparable<? super Y>> Predicate createGreaterThanComparable(Expression<? extends Y> propertyPath, Expression<? extends Y> argument, CriteriaBuilder cb) {
+        return cb.greaterThan(propertyPath, argument);
+    }
+
     /**
      * Apply a "greater than or equal" constraint to the property path.
      *
@@ -286,6 +471,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.ge(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createGreaterEqual(Expression, Number, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected Predicate createGreaterEqual(Expression<? extends Number> propertyPath, Expression<? extends Number> argument, CriteriaBuilder cb) {
+        return cb.ge(propertyPath, argument);
+    }
+
     /**
      * Apply a "greater than or equal" constraint to the property path.
      *
@@ -298,6 +490,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.greaterThanOrEqualTo(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createGreaterEqualComparable(Expression, Comparable, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected <Y extends Comparable<? super Y>> Predicate createGreaterEqualComparable(Expression<? extends Y> propertyPath, Expression<? extends Y> argument, CriteriaBuilder cb) {
+        return cb.greaterThanOrEqualTo(propertyPath, argument);
+    }
+
     /**
      * Apply a "less than" constraint to the property path.
      *
@@ -310,6 +509,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.lt(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createLessThan(Expression, Number, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected Predicate createLessThan(Expression<? extends Number> propertyPath, Expression<? extends Number> argument, CriteriaBuilder cb) {
+        return cb.lt(propertyPath, argument);
+    }
+
     /**
      * Apply a "less than" constraint to the property path.
      *
@@ -322,6 +528,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.lessThan(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createLessThanComparable(Expression, Comparable, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected <Y extends Comparable<? super Y>> Predicate createLessThanComparable(Expression<? extends Y> propertyPath, Expression<? extends Y> argument, CriteriaBuilder cb) {
+        return cb.lessThan(propertyPath, argument);
+    }
+
     /**
      * Apply a "less than or equal" constraint to the property path.
      *
@@ -334,6 +547,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.le(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createLessEqual(Expression, Number, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected Predicate createLessEqual(Expression<? extends Number> propertyPath, Expression<? extends Number> argument, CriteriaBuilder cb) {
+        return cb.le(propertyPath, argument);
+    }
+
     /**
      * Apply a "less than or equal" constraint to the property path.
      *
@@ -346,6 +566,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.lessThanOrEqualTo(propertyPath, argument);
     }
 
+    /**
+     * Same as {@link #createLessEqualComparable(Expression, Comparable, CriteriaBuilder)}, for an argument passed as a parameter.
+     */
+    protected <Y extends Comparable<? super Y>> Predicate createLessEqualComparable(Expression<? extends Y> propertyPath, Expression<? extends Y> argument, CriteriaBuilder cb) {
+        return cb.lessThanOrEqualTo(propertyPath, argument);
+    }
+
     /**
      * Apply a "in" constraint to the property path.
      *
@@ -357,6 +584,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return propertyPath.in(arguments);
     }
 
+    /**
+     * Same as {@link #createIn(Expression, List)}, for arguments passed as parameters.
+     */
+    protected Predicate createIn(Expression<?> propertyPath, Expression<?>[] arguments) {
+        return propertyPath.in(arguments);
+    }
+
     /**
      * Apply a "not in" (out) constraint to the property path.
      *
@@ -369,6 +603,13 @@ public class DefaultRsqlJpaComparisionPredicateBuilder implements RsqlJpaCompari
         return cb.not(createIn(propertyPath, arguments));
     }
 
+    /**
+     * Same as {@link #createNotIn(Expression, List, CriteriaBuilder)}, for arguments passed as parameters.
+     */
+    protected Predicate createNotIn(Expression<?> propertyPath, Expression<?>[] arguments, CriteriaBuilder cb) {
+        return cb.not(createIn(propertyPath, arguments));
+    }
+
 
     protected boolean isNullArgument(Object argument) {
         return argument == null;
@@ -23,14 +23,19 @@
  */
 package com.peluware.omnisearch.jpa.rsql;
 
-import com.peluware.omnisearch.jpa.JpaUtils;
+import com.peluware.omnisearch.jpa.JpaJoins;
+import com.peluware.omnisearch.jpa.JpaParameters;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlan;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlanner;
 import cz.jirutka.rsql.parser.ast.*;
 import jakarta.persistence.criteria.*;
 import jakarta.persistence.metamodel.Metamodel;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class JpaPredicateVisitor<T> implements RSQLVisitor<Predicate, Object> {
 
@@ -40,12 +45,55 @@ public class JpaPredicateVisitor<T> implements RSQLVisitor<Predicate, Object> {
     private final RsqlJpaBuilderOptions builderOptions;
     private final CriteriaBuilder criteriaBuilder;
     private final Metamodel metamodel;
-
-    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+    private final JpaQueryPlanner planner;
+    private final @Nullable JpaQueryPlan plan;
+    private final JpaJoins joins;
+    private final @Nullable CommonAbstractCriteria query;
+    private final @Nullable JpaParameters parameters;
+
+    /**
+     * @param path            the root the selectors are resolved from
+     * @param builderOptions  the RSQL builder options
+     * @param criteriaBuilder the criteria builder
+     * @param metamodel       the metamodel, used for selectors not resolved by {@code plan}
+     * @param planner         the planner resolving the selectors not resolved by {@code plan}
+     * @param plan            pre-resolved selectors, or {@code null} to resolve every selector against the metamodel
+     * @param joins           the joins of the query, shared by every selector
+     * @param query           the query of {@code path}, used to create subqueries with {@link ToManyStrategy#EXISTS},
+     *                        or {@code null} to join collections whatever the strategy
+     * @param parameters      the parameters of the query, used to pass the arguments with
+     *                        {@link ValueBinding#PARAMETERS}, or {@code null} to pass them inline whatever the binding
+     */
+    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel, JpaQueryPlanner planner, @Nullable JpaQueryPlan plan, JpaJoins joins, @Nullable CommonAbstractCriteria query, @Nullable JpaParameters parameters) {
         this.path = path;
         this.builderOptions = builderOptions;
         this.criteriaBuilder = criteriaBuilder;
         this.metamodel = metamodel;
+        this.planner = planner;
+        this.plan = plan;
+        this.joins = joins;
+        this.query = query;
+        this.parameters = parameters;
+    }
+
+    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel, @Nullable JpaQueryPlan plan, JpaJoins joins, @Nullable CommonAbstractCriteria query, @Nullable JpaParameters parameters) {
+        this(path, builderOptions, criteriaBuilder, metamodel, JpaQueryPlanner.shared(), plan, joins, query, parameters);
+    }
+
+    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel, @Nullable JpaQueryPlan plan, JpaJoins joins, @Nullable CommonAbstractCriteria query) {
+        this(path, builderOptions, criteriaBuilder, metamodel, plan, joins, query, null);
+    }
+
+    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel, @Nullable JpaQueryPlan plan, JpaJoins joins) {
+        this(path, builderOptions, criteriaBuilder, metamodel, plan, joins, null);
+    }
+
+    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel, @Nullable JpaQueryPlan plan) {
+        this(path, builderOptions, criteriaBuilder, metamodel, plan, new JpaJoins());
+    }
+
+    public JpaPredicateVisitor(Path<T> path, RsqlJpaBuilderOptions builderOptions, CriteriaBuilder criteriaBuilder, Metamodel metamodel) {
+        this(path, builderOptions, criteriaBuilder, metamodel, null);
     }
 
     @Override
@@ -67,26 +115,41 @@ public class JpaPredicateVisitor<T> implements RSQLVisitor<Predicate, Object> {
 
         var argumentParser = builderOptions.getArgumentParser();
 
-        var propertyPath = JpaUtils.findPath(node.getSelector(), this.path, metamodel);
-        var type = propertyPath.getModel().getBindableJavaType();
+        var resolved = plan != null ? plan.getSelector(node.getSelector()) : null;
+        if (resolved == null) {
+            resolved = planner.resolve(node.getSelector(), this.path.getJavaType(), metamodel);
+        }
+
+        var type = resolved.javaType();
 
         log.trace("Cast all arguments to type {}.", type.getName());
 
         var castedArguments = argumentParser.parse(node.getArguments(), type);
-        var comparisionPredicateBuilder = builderOptions.getComparisionPredicateBuilder();
 
-        return comparisionPredicateBuilder.buildComparisionPredicate(
-                propertyPath,
-                node.getOperator(),
-                castedArguments,
-            criteriaBuilder
-        );
+        if (query != null && resolved.isToMany() && builderOptions.getToManyStrategy() == ToManyStrategy.EXISTS && this.path instanceof From<?, ?> from) {
+            log.trace("Testing selector {} in an EXISTS subquery.", node.getSelector());
+            var subquery = query.subquery(Integer.class);
+            var correlated = joins.correlate(subquery, from);
+            var predicate = compare(resolved.bind(correlated, JoinType.INNER, joins), node.getOperator(), castedArguments);
+            subquery.select(criteriaBuilder.literal(1)).where(predicate);
+            return criteriaBuilder.exists(subquery);
+        }
+
+        return compare(resolved.bind(this.path, JoinType.INNER, joins), node.getOperator(), castedArguments);
+    }
+
+    private Predicate compare(Path<?> propertyPath, ComparisonOperator operator, List<?> arguments) {
+        var comparisionPredicateBuilder = builderOptions.getComparisionPredicateBuilder();
+        if (parameters != null && builderOptions.getValueBinding() == ValueBinding.PARAMETERS) {
+            return comparisionPredicateBuilder.buildComparisionPredicate(propertyPath, operator, arguments, criteriaBuilder, parameters);
+        }
+        return comparisionPredicateBuilder.buildComparisionPredicate(propertyPath, operator, arguments, criteriaBuilder);
     }
 
     private Predicate visitLogicalNode(LogicalNode node) {
         var children = node.getChildren();
         if (children.isEmpty()) {
-            return criteriaBuilder.disjunction();
+            return node.getOperator() == LogicalOperator.OR ? criteriaBuilder.disjunction() : criteriaBuilder.conjunction();
         }
 
         var predicates = new ArrayList<Predicate>();
@@ -34,4 +34,22 @@ public interface RsqlJpaBuilderOptions extends RsqlBuilderOptions {
      * @return PredicateBuilderStrategy
      */
     RsqlJpaComparisionPredicateBuilder getComparisionPredicateBuilder();
+
+    /**
+     * Get how selectors and propagations crossing a collection are translated.
+     *
+     * @return ToManyStrategy, {@link ToManyStrategy#JOIN} by default
+     */
+    default ToManyStrategy getToManyStrategy() {
+        return ToManyStrategy.JOIN;
+    }
+
+    /**
+     * Get how the values of comparisons and of the search keyword are passed to the query.
+     *
+     * @return ValueBinding, {@link ValueBinding#INLINE} by default
+     */
+    default ValueBinding getValueBinding() {
+        return ValueBinding.INLINE;
+    }
 }
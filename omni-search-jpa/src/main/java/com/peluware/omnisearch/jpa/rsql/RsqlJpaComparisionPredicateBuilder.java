@@ -1,5 +1,6 @@
 package com.peluware.omnisearch.jpa.rsql;
 
+import com.peluware.omnisearch.jpa.JpaParameters;
 import com.peluware.omnisearch.rsql.RsqlUnknowComparisionOperatorException;
 import cz.jirutka.rsql.parser.ast.ComparisonOperator;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -28,4 +29,26 @@ public interface RsqlJpaComparisionPredicateBuilder {
             List<?> arguments,
             CriteriaBuilder cb
     ) throws RsqlUnknowComparisionOperatorException;
+
+    /**
+     * Creates a {@link Predicate} for the given property path, operator, and arguments, passing the arguments as
+     * parameters of {@code parameters}. The default implementation passes them inline.
+     *
+     * @param propertyPath the expression representing the entity property
+     * @param operator     the RSQL comparison operator
+     * @param arguments    the values to compare against
+     * @param cb           the criteria builder
+     * @param parameters   the parameters of the query
+     * @return a {@link Predicate} representing the comparison
+     * @throws RsqlUnknowComparisionOperatorException if the operator is not supported
+     */
+    default Predicate buildComparisionPredicate(
+            Expression<?> propertyPath,
+            ComparisonOperator operator,
+            List<?> arguments,
+            CriteriaBuilder cb,
+            JpaParameters parameters
+    ) throws RsqlUnknowComparisionOperatorException {
+        return buildComparisionPredicate(propertyPath, operator, arguments, cb);
+    }
 }
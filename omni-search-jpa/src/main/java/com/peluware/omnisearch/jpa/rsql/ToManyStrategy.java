@@ -0,0 +1,22 @@
+package com.peluware.omnisearch.jpa.rsql;
+
+/**
+ * How RSQL selectors and keyword search propagations that cross a collection (an association to many or an
+ * element collection) are translated.
+ */
+public enum ToManyStrategy {
+
+    /**
+     * Join the collection in the query, the default. Every matching element adds a row, so an entity matched by
+     * several elements is returned several times, is counted several times, and pages may come back short.
+     */
+    JOIN,
+
+    /**
+     * Test the collection in a correlated {@code EXISTS} subquery. Each entity is returned and counted once, and
+     * the database can stop at the first matching element. Every comparison is tested on its own:
+     * {@code houses.name==Villa;houses.rooms==3} matches an entity with a house named Villa and a house with three
+     * rooms, which may be different houses.
+     */
+    EXISTS
+}
@@ -0,0 +1,20 @@
+package com.peluware.omnisearch.jpa.rsql;
+
+/**
+ * How the values of RSQL comparisons and of the search keyword are passed to the criteria query.
+ */
+public enum ValueBinding {
+
+    /**
+     * Pass the values to the criteria builder as they are, the default. How they reach the SQL is up to the
+     * provider.
+     */
+    INLINE,
+
+    /**
+     * Create a {@link jakarta.persistence.criteria.ParameterExpression} for every value and bind it on the query
+     * once it is created, so that requests of the same shape render the same SQL and share the plans cached by the
+     * provider and the prepared statements cached by the driver.
+     */
+    PARAMETERS
+}
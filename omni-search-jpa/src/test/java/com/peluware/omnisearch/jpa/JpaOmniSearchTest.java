@@ -1,10 +1,28 @@
 package com.peluware.omnisearch.jpa;
 
 import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.budget.QueryBudget;
+import com.peluware.omnisearch.budget.QueryBudgetExceededException;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.jpa.count.PostgresCountEstimator;
 import com.peluware.omnisearch.jpa.entities.*;
+import com.peluware.omnisearch.jpa.plan.JpaPropertyPath;
+import com.peluware.omnisearch.jpa.plan.JpaQueryPlanner;
+import com.peluware.omnisearch.jpa.rsql.DefaultRsqlJpaBuilderOptions;
+import com.peluware.omnisearch.jpa.rsql.DefaultRsqlJpaComparisionPredicateBuilder;
+import com.peluware.omnisearch.jpa.rsql.RsqlJpaComparisionPredicateBuilder;
+import com.peluware.omnisearch.jpa.rsql.ToManyStrategy;
+import com.peluware.omnisearch.jpa.rsql.ValueBinding;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import com.peluware.omnisearch.utils.ConcurrentPages;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import org.junit.jupiter.api.*;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -13,7 +31,10 @@ import org.testcontainers.postgresql.PostgreSQLContainer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -293,4 +314,745 @@ class JpaOmniSearchTest {
             assertEquals("Dave", result.get(2).getName());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        @DisplayName("Should stream users matching the query in sort order")
+        void testStreamWithQueryAndSort() {
+            // Given
+            var options = new OmniSearchOptions()
+                    .query("active==true")
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name")));
+            omniSearch.setFetchSize(1);
+
+            // When
+            List<String> names;
+            em.getTransaction().begin();
+            try (var stream = omniSearch.stream(User.class, options)) {
+                names = stream.map(User::getName).toList();
+            } finally {
+                em.getTransaction().commit();
+            }
+
+            // Then
+            assertEquals(List.of("Alice", "Dave"), names);
+        }
+    }
+
+    @Nested
+    @DisplayName("Count Accuracy Tests")
+    class CountAccuracyTests {
+
+        @Test
+        @DisplayName("Should report an exact count by default")
+        void testExactByDefault() {
+            // When
+            var result = omniSearch.countResult(User.class, new OmniSearchOptions().query("active==true"));
+
+            // Then
+            assertEquals(2, result.total());
+            assertTrue(result.exact());
+        }
+
+        @Test
+        @DisplayName("Should use the estimator for estimated counts")
+        void testEstimated() {
+            // Given
+            omniSearch.setCountEstimator((entityManager, entityClass, options) -> OptionalLong.of(1_000_000));
+            var options = new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED);
+
+            // When
+            var result = omniSearch.countedPage(User.class, options);
+
+            // Then
+            assertEquals(1_000_000, result.count().total());
+            assertFalse(result.isExact());
+        }
+
+        @Test
+        @DisplayName("Should stop counting at the count limit")
+        void testCountLimit() {
+            // When
+            var capped = omniSearch.countedPage(User.class, new OmniSearchOptions().countLimit(2));
+            var below = omniSearch.countResult(User.class, new OmniSearchOptions().query("active==false").countLimit(2));
+
+            // Then
+            assertTrue(capped.isCapped());
+            assertEquals(2, capped.count().total());
+            assertFalse(below.capped());
+            assertEquals(1, below.total());
+        }
+
+        @Test
+        @DisplayName("Should count exactly when the estimate is below the auto threshold")
+        void testAutoBelowThreshold() {
+            // Given
+            omniSearch.setCountEstimator((entityManager, entityClass, options) -> OptionalLong.of(10));
+            var options = new OmniSearchOptions().countAccuracy(CountAccuracy.AUTO);
+
+            // When
+            var result = omniSearch.countResult(User.class, options);
+
+            // Then
+            assertEquals(3, result.total());
+            assertTrue(result.exact());
+        }
+
+        @Test
+        @DisplayName("Should estimate unfiltered counts from the PostgreSQL statistics")
+        void testPostgresEstimate() {
+            // Given
+            em.getTransaction().begin();
+            em.createNativeQuery("ANALYZE user_test").executeUpdate();
+            em.getTransaction().commit();
+            omniSearch.setCountEstimator(new PostgresCountEstimator());
+            var options = new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED);
+
+            // When
+            var estimate = new PostgresCountEstimator().estimate(em, User.class, options);
+            var result = omniSearch.countResult(User.class, options);
+
+            // Then
+            assertEquals(OptionalLong.of(3), estimate);
+            assertEquals(3, result.total());
+            assertFalse(result.exact());
+        }
+
+        @Test
+        @DisplayName("Should count exactly when a PostgreSQL estimate is requested for a filtered count")
+        void testPostgresEstimateFiltered() {
+            // Given
+            em.getTransaction().begin();
+            em.createNativeQuery("ANALYZE user_test").executeUpdate();
+            em.getTransaction().commit();
+            omniSearch.setCountEstimator(new PostgresCountEstimator());
+            var options = new OmniSearchOptions().query("active==true").countAccuracy(CountAccuracy.ESTIMATED);
+
+            // When
+            var estimate = new PostgresCountEstimator().estimate(em, User.class, options);
+            var result = omniSearch.countResult(User.class, options);
+
+            // Then
+            assertTrue(estimate.isEmpty());
+            assertEquals(2, result.total());
+            assertTrue(result.exact());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Page Tests")
+    class ConcurrentPageTests {
+
+        @Test
+        @DisplayName("Should return the same page when the count runs on another thread")
+        void testConcurrentPage() {
+            // Given
+            var counts = new AtomicInteger();
+            var options = new OmniSearchOptions()
+                    .query("active==true")
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name")));
+            var sequential = omniSearch.page(User.class, options);
+            omniSearch.enableConcurrentPage(emf, command -> {
+                counts.incrementAndGet();
+                ConcurrentPages.defaultExecutor().execute(command);
+            });
+
+            // When
+            var page = omniSearch.page(User.class, options);
+
+            // Then
+            assertEquals(1, counts.get());
+            assertEquals(List.of("Alice", "Dave"), page.getContent().stream().map(User::getName).toList());
+            assertEquals(sequential.getContent().size(), page.getContent().size());
+            assertEquals(2, page.getTotalElements());
+            assertEquals(sequential.getTotalElements(), page.getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should rethrow a failed count when the total is read")
+        void testConcurrentCountFailure() {
+            // Given
+            omniSearch.enableConcurrentPage(emf);
+            omniSearch.setCountEstimator((entityManager, entityClass, options) -> {
+                throw new IllegalStateException("Estimator unavailable");
+            });
+            var options = new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED);
+
+            // When
+            var page = omniSearch.page(User.class, options);
+
+            // Then
+            assertEquals(3, page.getContent().size());
+            var exception = assertThrows(IllegalStateException.class, page::getTotalElements);
+            assertEquals("Estimator unavailable", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should throw a failed list query from page while the count runs on another thread")
+        void testConcurrentListFailure() {
+            // Given
+            omniSearch.enableConcurrentPage(emf);
+            var options = new OmniSearchOptions()
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("unknown")));
+
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> omniSearch.page(User.class, options));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Tests")
+    class BatchTests {
+
+        private void assertPagesMatchSingleSearches(List<OmniSearchOptions> options) {
+            // When
+            var pages = omniSearch.batch(User.class, options);
+
+            // Then
+            assertEquals(options.size(), pages.size());
+            for (int i = 0; i < options.size(); i++) {
+                var single = omniSearch.page(User.class, options.get(i));
+                assertEquals(names(single.getContent()), names(pages.get(i).getContent()), "content of page " + i);
+                assertEquals(single.getTotalElements(), pages.get(i).getTotalElements(), "total of page " + i);
+            }
+        }
+
+        private List<String> names(List<User> users) {
+            return users.stream().map(User::getName).toList();
+        }
+
+        @Test
+        @DisplayName("Should return one page per options in order, counted in a single query")
+        void testBatch() {
+            // Given
+            var byName = com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name"));
+            var options = List.of(
+                    new OmniSearchOptions().query("active==true").sort(byName),
+                    new OmniSearchOptions().query("name==Bob"),
+                    new OmniSearchOptions().query("name==Nobody"),
+                    new OmniSearchOptions().sort(byName).pagination(0, 2)
+            );
+
+            // When & Then
+            assertPagesMatchSingleSearches(options);
+            var pages = omniSearch.batch(User.class, options);
+            assertEquals(List.of("Alice", "Dave"), names(pages.get(0).getContent()));
+            assertEquals(2, pages.get(0).getTotalElements());
+            assertEquals(0, pages.get(2).getTotalElements());
+            assertEquals(3, pages.get(3).getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should count each options on its own when a search joins an association")
+        void testBatchWithJoins() {
+            // Given
+            var options = List.of(
+                    new OmniSearchOptions().query("contacts.firstName==Contact*"),
+                    new OmniSearchOptions().query("name==Bob"),
+                    new OmniSearchOptions().search("Contact1").propagations("contacts")
+            );
+
+            // When & Then
+            assertPagesMatchSingleSearches(options);
+            var pages = omniSearch.batch(User.class, options);
+            assertEquals(2, pages.get(0).getTotalElements());
+            assertEquals(1, pages.get(1).getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should cap and estimate batch totals like single pages")
+        void testBatchCountOptions() {
+            // Given
+            omniSearch.setCountEstimator((entityManager, entityClass, options) -> OptionalLong.of(1_000_000));
+            var options = List.of(
+                    new OmniSearchOptions().countLimit(2),
+                    new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED),
+                    new OmniSearchOptions().query("active==true")
+            );
+
+            // When & Then
+            assertPagesMatchSingleSearches(options);
+            var pages = omniSearch.batch(User.class, options);
+            assertEquals(2, pages.get(0).getTotalElements());
+            assertEquals(1_000_000, pages.get(1).getTotalElements());
+            assertEquals(2, pages.get(2).getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should reject keyset pagination")
+        void testBatchRejectsKeyset() {
+            // Given
+            var options = List.of(new OmniSearchOptions().keyset(2, null));
+
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> omniSearch.batch(User.class, options));
+        }
+    }
+
+    @Nested
+    @DisplayName("Projection Tests")
+    class ProjectionTests {
+
+        record UserRow(String name, String email) {
+        }
+
+        @Test
+        @DisplayName("Should read only the components of a record")
+        void testRecordProjection() {
+            // Given
+            var options = new OmniSearchOptions()
+                    .query("active==true")
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name")));
+
+            // When
+            var rows = omniSearch.project(User.class, options, UserRow.class);
+
+            // Then
+            assertEquals(List.of(
+                    new UserRow("Alice", "alice@example.com"),
+                    new UserRow("Dave", "charlie@example.net")
+            ), rows);
+        }
+
+        @Test
+        @DisplayName("Should read a single field and tuples of nested fields")
+        void testFieldsProjection() {
+            // When
+            var emails = omniSearch.project(User.class, new OmniSearchOptions().query("name==Bob").fields("email"), String.class);
+            var contacts = omniSearch.project(User.class, new OmniSearchOptions()
+                    .query("name==Alice")
+                    .fields("name", "contacts.firstName"), Tuple.class);
+
+            // Then
+            assertEquals(List.of("bob@example.com"), emails);
+            assertEquals(2, contacts.size());
+            assertEquals("Alice", contacts.getFirst().get("name"));
+        }
+
+        @Test
+        @DisplayName("Should reject fields when loading whole entities")
+        void testListRejectsFields() {
+            // Given
+            var options = new OmniSearchOptions().fields("name");
+
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> omniSearch.list(User.class, options));
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Budget Tests")
+    class QueryBudgetTests {
+
+        private JpaOmniSearch budgeted(QueryBudget budget) {
+            var builderOptions = new DefaultRsqlJpaBuilderOptions();
+            builderOptions.setQueryBudget(budget);
+            return new JpaOmniSearch(em, RsqlNodeCache.defaultParser(), builderOptions);
+        }
+
+        @Test
+        @DisplayName("Should reject too many OR branches before querying")
+        void testOrBranches() {
+            // Given
+            var search = budgeted(QueryBudget.unlimited().withMaxOrBranches(2));
+            var options = new OmniSearchOptions().query("name==Alice,name==Bob,name==Charlie");
+
+            // When & Then
+            var exception = assertThrows(QueryBudgetExceededException.class, () -> search.list(User.class, options));
+            assertEquals(QueryBudget.Limit.OR_BRANCHES, exception.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should count the joins added by the query and the propagations")
+        void testJoins() {
+            // Given
+            var search = budgeted(QueryBudget.unlimited().withMaxJoins(1));
+
+            // When & Then
+            assertDoesNotThrow(() -> search.list(User.class, new OmniSearchOptions().query("houses.name==Villa")));
+            var exception = assertThrows(QueryBudgetExceededException.class, () -> search.list(User.class, new OmniSearchOptions()
+                    .query("houses.name==Villa;contacts.firstName==x")));
+            assertEquals(QueryBudget.Limit.JOINS, exception.getLimit());
+            assertEquals(2, exception.getActual());
+        }
+
+        @Test
+        @DisplayName("Should charge each search of a batch only for its own joins")
+        void testBatchJoins() {
+            // Given
+            var search = budgeted(QueryBudget.unlimited().withMaxJoins(1));
+            var options = List.of(
+                    new OmniSearchOptions().query("contacts.firstName==Contact1"),
+                    new OmniSearchOptions().query("houses.name==Villa")
+            );
+
+            // When
+            var pages = assertDoesNotThrow(() -> search.batch(User.class, options));
+
+            // Then
+            assertEquals(1, pages.get(0).getTotalElements());
+            assertEquals(0, pages.get(1).getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should limit the columns compared with the search term")
+        void testSearchColumns() {
+            // Given
+            var search = budgeted(QueryBudget.unlimited().withMaxSearchColumns(1));
+            var options = new OmniSearchOptions().search("alice");
+
+            // When & Then
+            var exception = assertThrows(QueryBudgetExceededException.class, () -> search.count(User.class, options));
+            assertEquals(QueryBudget.Limit.SEARCH_COLUMNS, exception.getLimit());
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Plan Tests")
+    class SearchPlanTests {
+
+        @Test
+        @DisplayName("Should resolve the searchable attributes of an entity once")
+        void testSearchPlan() {
+            // When
+            var plan = JpaQueryPlanner.shared().searchPlan(User.class, em.getMetamodel());
+
+            // Then
+            assertSame(plan, JpaQueryPlanner.shared().searchPlan(User.class, em.getMetamodel()));
+            var columns = plan.columns().stream().map(column -> String.join(".", column.path())).collect(Collectors.toSet());
+            assertEquals(Set.of("id", "name", "email", "active", "level", "roles"), columns);
+            assertEquals(Set.of("houses", "contacts"), plan.associations().keySet());
+        }
+
+        @Test
+        @DisplayName("Should search enums and element collections through the plan")
+        void testSearchThroughPlan() {
+            // When
+            var admins = omniSearch.list(User.class, new OmniSearchOptions().search("admin"));
+            var high = omniSearch.list(User.class, new OmniSearchOptions().search("high"));
+
+            // Then
+            assertFalse(admins.isEmpty());
+            assertTrue(admins.stream().allMatch(user -> user.getRoles().contains(User.Role.ADMIN)));
+            assertFalse(high.isEmpty());
+            assertTrue(high.stream().allMatch(user -> user.getLevel() == User.Level.HIGH));
+        }
+
+        @Test
+        @DisplayName("Should memoize resolved property paths, including unknown selectors")
+        void testPropertyPaths() {
+            // Given
+            var metamodel = em.getMetamodel();
+            var planner = new JpaQueryPlanner(16);
+
+            // When
+            var path = planner.resolve("houses.name", User.class, metamodel);
+
+            // Then
+            assertSame(path, planner.resolve("houses.name", User.class, metamodel));
+            assertEquals(JpaPropertyPath.Kind.JOIN, path.segments().getFirst().kind());
+            assertEquals(String.class, path.javaType());
+            var first = assertThrows(IllegalArgumentException.class, () -> planner.resolve("houses.unknown", User.class, metamodel));
+            var second = assertThrows(IllegalArgumentException.class, () -> planner.resolve("houses.unknown", User.class, metamodel));
+            assertEquals(first.getMessage(), second.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should not memoize property paths when the planner cache is disabled")
+        void testPropertyPathsUncached() {
+            // Given
+            var metamodel = em.getMetamodel();
+            var planner = new JpaQueryPlanner(0);
+
+            // When
+            var path = planner.resolve("houses.name", User.class, metamodel);
+
+            // Then
+            assertNotSame(path, planner.resolve("houses.name", User.class, metamodel));
+            assertEquals(path, planner.resolve("houses.name", User.class, metamodel));
+        }
+
+        @Test
+        @DisplayName("Should forget property paths crossing an invalidated entity")
+        void testPropertyPathsInvalidated() {
+            // Given
+            var metamodel = em.getMetamodel();
+            var planner = new JpaQueryPlanner(16);
+            var path = planner.resolve("houses.name", User.class, metamodel);
+
+            // When
+            planner.invalidate(House.class);
+
+            // Then
+            assertNotSame(path, planner.resolve("houses.name", User.class, metamodel));
+        }
+
+        @Test
+        @DisplayName("Should resolve keyset keys and projected fields through the injected planner")
+        void testInjectedPlanner() {
+            // Given
+            var resolved = java.util.Collections.synchronizedSet(new java.util.HashSet<String>());
+            var planner = new JpaQueryPlanner(16) {
+                @Override
+                public JpaPropertyPath resolve(String selector, Class<?> rootType, jakarta.persistence.metamodel.Metamodel metamodel) {
+                    resolved.add(selector);
+                    return super.resolve(selector, rootType, metamodel);
+                }
+            };
+            var builder = new DefaultJpaOmniSearchPredicateBuilder(RsqlNodeCache.defaultParser(), new DefaultRsqlJpaBuilderOptions(), planner);
+            var search = new JpaOmniSearch(em, builder);
+
+            // When
+            search.keysetPage(User.class, new OmniSearchOptions()
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name")))
+                    .keyset(2, null));
+            search.project(User.class, new OmniSearchOptions().query("name==Bob").fields("email"), String.class);
+
+            // Then
+            assertSame(planner, builder.getQueryPlanner());
+            assertTrue(resolved.containsAll(Set.of("name", "id", "email")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Join Registry Tests")
+    class JoinRegistryTests {
+
+        @Test
+        @DisplayName("Should reuse joins of the query, including those created by another registry")
+        void testReuseJoins() {
+            // Given
+            var cq = em.getCriteriaBuilder().createQuery(User.class);
+            var root = cq.from(User.class);
+            var joins = new JpaJoins();
+
+            // When
+            var houses = joins.getOrCreate(root, "houses", JoinType.LEFT);
+
+            // Then
+            assertSame(houses, joins.getOrCreate(root, "houses", JoinType.LEFT));
+            assertSame(houses, new JpaJoins().getOrCreate(root, "houses", JoinType.LEFT));
+            assertNotSame(houses, joins.getOrCreate(root, "houses", JoinType.INNER));
+            assertEquals(2, root.getJoins().size());
+        }
+
+        @Test
+        @DisplayName("Should join an association once for every selector crossing it")
+        void testSingleJoinPerAssociation() {
+            // Given
+            var builderOptions = new DefaultRsqlJpaBuilderOptions();
+            builderOptions.setQueryBudget(QueryBudget.unlimited().withMaxJoins(1));
+            var search = new JpaOmniSearch(em, RsqlNodeCache.defaultParser(), builderOptions);
+            var options = new OmniSearchOptions().query("contacts.firstName==Contact1,contacts.lastName==Last2,contacts.firstName==none");
+
+            // When
+            var result = assertDoesNotThrow(() -> search.list(User.class, options));
+
+            // Then
+            assertEquals(List.of("Alice"), result.stream().map(User::getName).distinct().toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("To Many Strategy Tests")
+    class ToManyStrategyTests {
+
+        private JpaOmniSearch existsSearch() {
+            var builderOptions = new DefaultRsqlJpaBuilderOptions();
+            builderOptions.setToManyStrategy(ToManyStrategy.EXISTS);
+            return new JpaOmniSearch(em, RsqlNodeCache.defaultParser(), builderOptions);
+        }
+
+        @Test
+        @DisplayName("Should return an entity once when several elements of a collection match the query")
+        void testExistsQuery() {
+            // Given
+            var options = new OmniSearchOptions().query("contacts.firstName==Contact1,contacts.lastName==Last2");
+
+            // When
+            var joined = omniSearch.count(User.class, options);
+            var result = existsSearch().list(User.class, options);
+
+            // Then
+            assertEquals(2, joined);
+            assertEquals(List.of("Alice"), result.stream().map(User::getName).toList());
+            assertEquals(1, existsSearch().count(User.class, options));
+        }
+
+        @Test
+        @DisplayName("Should return an entity once when several elements of a propagated collection match the keyword")
+        void testExistsPropagation() {
+            // Given
+            var options = new OmniSearchOptions()
+                    .search("Contact")
+                    .propagations("contacts");
+
+            // When
+            var result = existsSearch().list(User.class, options);
+
+            // Then
+            assertEquals(List.of("Alice"), result.stream().map(User::getName).toList());
+            assertEquals(1, existsSearch().count(User.class, options));
+        }
+
+        @Test
+        @DisplayName("Should not fold contradicting bounds met by different elements of a collection")
+        void testExistsBoundsNotFolded() {
+            // Given
+            var alice = omniSearch.list(User.class, new OmniSearchOptions().query("name==Alice")).getFirst();
+            var ids = alice.getContacts().stream().map(Contacts::getId).sorted().toList();
+            var options = new OmniSearchOptions().query("contacts.id>=" + ids.getLast() + ";contacts.id<=" + ids.getFirst());
+
+            // When
+            var joined = omniSearch.list(User.class, options);
+            var result = existsSearch().list(User.class, options);
+
+            // Then
+            assertTrue(joined.isEmpty());
+            assertEquals(List.of("Alice"), result.stream().map(User::getName).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Value Binding Tests")
+    class ValueBindingTests {
+
+        private DefaultRsqlJpaBuilderOptions parameterOptions() {
+            var builderOptions = new DefaultRsqlJpaBuilderOptions();
+            builderOptions.setValueBinding(ValueBinding.PARAMETERS);
+            return builderOptions;
+        }
+
+        @Test
+        @DisplayName("Should return the same results with values bound as parameters")
+        void testSameResults() {
+            // Given
+            var search = new JpaOmniSearch(em, RsqlNodeCache.defaultParser(), parameterOptions());
+            var requests = List.of(
+                    new OmniSearchOptions().query("name==al*"),
+                    new OmniSearchOptions().query("level=in=(HIGH,LOW);active==true"),
+                    new OmniSearchOptions().query("name!=Bob;email=out=(none@example.com)"),
+                    new OmniSearchOptions().search("example.com"),
+                    new OmniSearchOptions().search("HIGH").propagations("contacts")
+            );
+
+            for (var options : requests) {
+                // When
+                var inline = omniSearch.list(User.class, options).stream().map(User::getName).sorted().toList();
+                var bound = search.list(User.class, options).stream().map(User::getName).sorted().toList();
+
+                // Then
+                assertEquals(inline, bound, options.getQuery() + " " + options.getSearch());
+                assertEquals(omniSearch.count(User.class, options), search.count(User.class, options));
+            }
+        }
+
+        @Test
+        @DisplayName("Should build inline predicates through the value hooks and bound ones through the expression hooks")
+        void testCreateMethodsShared() {
+            // Given
+            var inlineLikes = new AtomicInteger();
+            var boundLikes = new AtomicInteger();
+            var comparisions = new DefaultRsqlJpaComparisionPredicateBuilder() {
+                @Override
+                protected Predicate createLike(Expression<String> propertyPath, String argument, CriteriaBuilder cb) {
+                    inlineLikes.incrementAndGet();
+                    return super.createLike(propertyPath, argument, cb);
+                }
+
+                @Override
+                protected Predicate createLike(Expression<String> propertyPath, Expression<String> pattern, CriteriaBuilder cb) {
+                    boundLikes.incrementAndGet();
+                    return super.createLike(propertyPath, pattern, cb);
+                }
+            };
+            var builderOptions = new DefaultRsqlJpaBuilderOptions() {
+                @Override
+                public RsqlJpaComparisionPredicateBuilder getComparisionPredicateBuilder() {
+                    return comparisions;
+                }
+            };
+            var options = new OmniSearchOptions().query("name==al*");
+
+            // When
+            var inline = new JpaOmniSearch(em, RsqlNodeCache.defaultParser(), builderOptions).list(User.class, options);
+            builderOptions.setValueBinding(ValueBinding.PARAMETERS);
+            var bound = new JpaOmniSearch(em, RsqlNodeCache.defaultParser(), builderOptions).list(User.class, options);
+
+            // Then
+            assertEquals(1, inlineLikes.get());
+            assertEquals(1, boundLikes.get());
+            assertEquals(List.of("Alice"), inline.stream().map(User::getName).toList());
+            assertEquals(List.of("Alice"), bound.stream().map(User::getName).toList());
+        }
+
+        @Test
+        @DisplayName("Should add one parameter per value only when values are bound as parameters")
+        void testParameters() {
+            // Given
+            var options = new OmniSearchOptions().query("name==Alice;level=in=(HIGH,LOW)");
+            var cb = em.getCriteriaBuilder();
+
+            // When
+            var cq = cb.createQuery(User.class);
+            var root = cq.from(User.class);
+            var parameters = new JpaParameters();
+            var predicate = new DefaultJpaOmniSearchPredicateBuilder(RsqlNodeCache.defaultParser(), parameterOptions())
+                    .buildPredicate(root, cq, parameters, options, cb, em.getMetamodel());
+            var result = parameters.bind(em.createQuery(cq.select(root).where(predicate))).getResultList();
+
+            var inlineQuery = cb.createQuery(User.class);
+            var inlineParameters = new JpaParameters();
+            new DefaultJpaOmniSearchPredicateBuilder()
+                    .buildPredicate(inlineQuery.from(User.class), inlineQuery, inlineParameters, options, cb, em.getMetamodel());
+
+            // Then
+            assertEquals(3, parameters.size());
+            assertEquals(0, inlineParameters.size());
+            assertEquals(List.of("Alice"), result.stream().map(User::getName).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset Pagination Tests")
+    class KeysetPaginationTests {
+
+        @Test
+        @DisplayName("Should walk every page with continuation tokens")
+        void testKeysetPages() {
+            // Given
+            var options = new OmniSearchOptions()
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name")))
+                    .keyset(2, null);
+
+            // When
+            var first = omniSearch.keysetPage(User.class, options);
+            var second = omniSearch.keysetPage(User.class, options.keyset(2, first.nextToken()));
+
+            // Then
+            assertEquals(List.of("Alice", "Bob"), first.content().stream().map(User::getName).toList());
+            assertTrue(first.hasNext());
+            assertEquals(List.of("Dave"), second.content().stream().map(User::getName).toList());
+            assertFalse(second.hasNext());
+        }
+
+        @Test
+        @DisplayName("Should reject a token issued for another sort")
+        void testRejectTokenOfOtherSort() {
+            // Given
+            var options = new OmniSearchOptions()
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("name")))
+                    .keyset(1, null);
+            var token = omniSearch.keysetPage(User.class, options).nextToken();
+
+            // When / Then
+            var otherSort = new OmniSearchOptions()
+                    .sort(com.peluware.domain.Sort.by(com.peluware.domain.Order.ascending("email")))
+                    .keyset(1, token);
+            assertThrows(IllegalArgumentException.class, () -> omniSearch.keysetPage(User.class, otherSort));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.peluware.omnisearch.mongodb.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Bridges the Reactive Streams publishers of the MongoDB driver to {@link CompletionStage}s.
+ */
+final class Publishers {
+
+    private Publishers() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Subscribes to {@code publisher} and collects every element.
+     *
+     * @param publisher the publisher
+     * @param <T>       the element type
+     * @return a stage completed with the elements, or exceptionally with the error of the publisher
+     */
+    static <T> CompletionStage<List<T>> toList(Publisher<T> publisher) {
+        var result = new CompletableFuture<List<T>>();
+        publisher.subscribe(new Subscriber<T>() {
+
+            private final List<T> items = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(items);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Subscribes to {@code publisher} and takes its only element.
+     *
+     * @param publisher a publisher of a single element
+     * @param <T>       the element type
+     * @return a stage completed with the element
+     */
+    static <T> CompletionStage<T> single(Publisher<T> publisher) {
+        return toList(publisher).thenApply(items -> {
+            if (items.isEmpty()) {
+                throw new NoSuchElementException("Publisher completed without emitting an element");
+            }
+            return items.getFirst();
+        });
+    }
+
+    /**
+     * @param error the error to signal
+     * @param <T>   the element type
+     * @return a publisher that signals {@code error} to every subscriber
+     */
+    static <T> Publisher<T> failed(Throwable error) {
+        return subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Nothing to emit
+                }
+
+                @Override
+                public void cancel() {
+                    // Nothing to release
+                }
+            });
+            subscriber.onError(error);
+        };
+    }
+}
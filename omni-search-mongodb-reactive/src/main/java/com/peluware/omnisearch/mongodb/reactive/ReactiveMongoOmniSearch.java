@@ -0,0 +1,165 @@
+package com.peluware.omnisearch.mongodb.reactive;
+
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.mongodb.DefaultMongoOmniSearchFilterBuilder;
+import com.peluware.omnisearch.mongodb.MongoOmniSearch;
+import com.peluware.omnisearch.mongodb.MongoOmniSearchFilterBuilder;
+import com.peluware.omnisearch.mongodb.resolvers.CollectionNameResolver;
+import com.peluware.omnisearch.mongodb.rsql.DefaultRsqlMongoBuilderOptions;
+import com.peluware.omnisearch.mongodb.rsql.RsqlMongoBuilderOptions;
+import com.peluware.omnisearch.reactive.ReactiveOmniSearch;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import cz.jirutka.rsql.parser.RSQLParser;
+import org.reactivestreams.FlowAdapters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * MongoDB Reactive Streams implementation of {@link ReactiveOmniSearch}. Filters and sorts are built with the
+ * same {@link MongoOmniSearchFilterBuilder} as the blocking {@link MongoOmniSearch}.
+ */
+public class ReactiveMongoOmniSearch implements ReactiveOmniSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveMongoOmniSearch.class);
+
+    private final MongoDatabase database;
+    private final MongoOmniSearchFilterBuilder filterBuilder;
+    private int batchSize = MongoOmniSearch.DEFAULT_BATCH_SIZE;
+
+    public ReactiveMongoOmniSearch(MongoDatabase database, MongoOmniSearchFilterBuilder filterBuilder) {
+        this.database = database;
+        this.filterBuilder = filterBuilder;
+    }
+
+    public ReactiveMongoOmniSearch(MongoDatabase database, RSQLParser rsqlParser, RsqlMongoBuilderOptions rsqlBuilderOptions) {
+        this(database, new DefaultMongoOmniSearchFilterBuilder(rsqlParser, rsqlBuilderOptions));
+    }
+
+    public ReactiveMongoOmniSearch(MongoDatabase database, RSQLParser rsqlParser) {
+        this(database, rsqlParser, new DefaultRsqlMongoBuilderOptions());
+    }
+
+    public ReactiveMongoOmniSearch(MongoDatabase database) {
+        this(database, RsqlNodeCache.defaultParser());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Invalid options, such as unknown properties in the query, fail the returned stage instead of throwing.
+     * </p>
+     */
+    @Override
+    public <E> CompletionStage<List<E>> list(Class<E> entityClass, OmniSearchOptions options) {
+        try {
+            return Publishers.toList(find(entityClass, options)).thenApply(Collections::unmodifiableList);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedStage(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation constructs a count query based on the filtering criteria
+     * provided in the {@link OmniSearchBaseOptions}.
+     * </p>
+     */
+    @Override
+    public <E> CompletionStage<Long> count(Class<E> entityClass, OmniSearchBaseOptions options) {
+        try {
+            var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
+            var collection = database.getCollection(collectionName, entityClass);
+
+            var filter = filterBuilder.buildFilter(entityClass, options);
+
+            log.debug("Executing MongoDB count query: {} for entity: {}", filter, entityClass.getSimpleName());
+            return Publishers.single(collection.countDocuments(filter));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedStage(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Documents are requested from the server in batches of the configured {@link #setBatchSize(int) batch size}
+     * as the subscriber signals demand. Cancelling the subscription closes the cursor. The query is built on
+     * each subscription, and invalid options are signalled to the subscriber through {@code onError}.
+     * </p>
+     */
+    @Override
+    public <E> Flow.Publisher<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return subscriber -> {
+            FindPublisher<E> publisher;
+            try {
+                publisher = find(entityClass, options);
+            } catch (RuntimeException e) {
+                FlowAdapters.toFlowPublisher(Publishers.<E>failed(e)).subscribe(subscriber);
+                return;
+            }
+            if (batchSize > 0) {
+                publisher = publisher.batchSize(batchSize);
+            }
+            FlowAdapters.toFlowPublisher(publisher).subscribe(subscriber);
+        };
+    }
+
+    private <E> FindPublisher<E> find(Class<E> entityClass, OmniSearchOptions options) {
+        var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
+        var collection = database.getCollection(collectionName, entityClass);
+
+        var filter = filterBuilder.buildFilter(entityClass, options);
+        log.debug("Executing MongoDB find query: {} for entity: {}", filter, entityClass.getSimpleName());
+
+        var publisher = collection.find(filter);
+
+        var projection = filterBuilder.buildProjection(entityClass, options.getFields());
+        if (projection != null) {
+            publisher = publisher.projection(projection);
+        }
+
+        var sort = filterBuilder.buildSort(entityClass, options);
+        if (sort != null) {
+            publisher = publisher.sort(sort);
+        }
+
+        var pagination = options.getPagination();
+        if (pagination.isPaginated()) {
+            publisher = publisher
+                    .skip(pagination.getNumber() * pagination.getSize())
+                    .limit(pagination.getSize());
+        }
+
+        return publisher;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of documents requested per batch by {@link #stream(Class, OmniSearchOptions)}.
+     * A value of {@code 0} lets the server choose its default batch size.
+     *
+     * @param batchSize the batch size, zero or positive
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        this.batchSize = batchSize;
+    }
+}
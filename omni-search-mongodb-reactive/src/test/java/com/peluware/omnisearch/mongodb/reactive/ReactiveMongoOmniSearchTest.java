@@ -0,0 +1,191 @@
+package com.peluware.omnisearch.mongodb.reactive;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.peluware.domain.Order;
+import com.peluware.domain.Pagination;
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.OmniSearchOptions;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.*;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mongodb.MongoDBContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class ReactiveMongoOmniSearchTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    private MongoClient mongoClient;
+    private ReactiveMongoOmniSearch omniSearch;
+
+    // Test entities
+    public static class Product {
+
+        private ObjectId id;
+        private String name;
+        private Double price;
+        private Boolean active;
+
+        public Product(String name, Double price, Boolean active) {
+            this.name = name;
+            this.price = price;
+            this.active = active;
+        }
+
+        public Product() {
+            // Default constructor for MongoDB POJO codec
+        }
+
+        public ObjectId getId() {
+            return id;
+        }
+
+        public void setId(ObjectId id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public void setPrice(Double price) {
+            this.price = price;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var pojoCodecRegistry = fromRegistries(
+                MongoClientSettings.getDefaultCodecRegistry(),
+                fromProviders(PojoCodecProvider.builder().automatic(true).build())
+        );
+
+        mongoClient = MongoClients.create(
+                MongoClientSettings.builder()
+                        .applyConnectionString(new ConnectionString(mongoDBContainer.getConnectionString()))
+                        .codecRegistry(pojoCodecRegistry)
+                        .build()
+        );
+        MongoDatabase database = mongoClient.getDatabase("test_omnisearch_reactive");
+
+        var collection = database.getCollection("product", Product.class);
+        Publishers.toList(collection.drop()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        Publishers.toList(collection.insertMany(List.of(
+                new Product("Gaming Laptop", 1299.99, true),
+                new Product("Wireless Mouse", 29.99, true),
+                new Product("Mechanical Keyboard", 89.99, true),
+                new Product("Office Chair", 199.99, false)
+        ))).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        omniSearch = new ReactiveMongoOmniSearch(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should list documents matching the query")
+    void testList() throws Exception {
+        var options = new OmniSearchOptions()
+                .query("active==true")
+                .sort(Sort.by("price", Order.Direction.ASC));
+
+        var results = omniSearch.list(Product.class, options).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("Wireless Mouse", "Mechanical Keyboard", "Gaming Laptop"), results.stream().map(Product::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Should count documents matching the search")
+    void testCount() throws Exception {
+        var count = omniSearch.count(Product.class, new OmniSearchOptions().search("o"))
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(4L, count);
+    }
+
+    @Test
+    @DisplayName("Should stream documents across several batches")
+    void testStream() throws Exception {
+        var options = new OmniSearchOptions()
+                .sort(Sort.by("name", Order.Direction.ASC))
+                .pagination(Pagination.of(0, 3));
+        omniSearch.setBatchSize(1);
+
+        var names = new ArrayList<String>();
+        var done = new CompletableFuture<Void>();
+        omniSearch.stream(Product.class, options).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Product item) {
+                names.add(item.getName());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("Gaming Laptop", "Mechanical Keyboard", "Office Chair"), names);
+    }
+
+    @Test
+    @DisplayName("Should fail the stage for unknown properties")
+    void testUnknownProperty() {
+        var future = omniSearch.list(Product.class, new OmniSearchOptions().query("unknown==1"));
+
+        var exception = assertThrows(ExecutionException.class, () -> future.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+}
@@ -1,13 +1,22 @@
 package com.peluware.omnisearch.mongodb;
 
-import com.peluware.omnisearch.EnumSearchCandidate;
 import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.SearchTerm;
+import com.peluware.omnisearch.mongodb.plan.MongoQueryPlan;
 import com.peluware.omnisearch.mongodb.rsql.DefaultRsqlMongoBuilderOptions;
 import com.peluware.omnisearch.mongodb.rsql.MongoFilterVisitor;
+import com.peluware.omnisearch.mongodb.rsql.MongoFilterVisitor.FieldPath;
 import com.peluware.omnisearch.mongodb.rsql.RsqlMongoBuilderOptions;
-import com.peluware.omnisearch.utils.ParseNumber;
+import com.peluware.omnisearch.plan.QueryPlanCache;
+import com.peluware.omnisearch.plan.QueryShape;
+import com.peluware.omnisearch.profile.QueryPhase;
+import com.peluware.omnisearch.profile.QueryProfiler;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import com.peluware.omnisearch.rsql.RsqlNodes;
 import com.peluware.omnisearch.mongodb.resolvers.PropertyNameResolver;
 import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
@@ -19,7 +28,6 @@ import java.lang.reflect.Field;
 import java.time.Year;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 import static com.mongodb.client.model.Filters.*;
 
@@ -33,20 +41,11 @@ import static com.mongodb.client.model.Filters.*;
  */
 public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilterBuilder {
 
-    /**
-     * Pattern used to detect UUID values in string form.
-     */
-    protected static final Pattern UUID_PATTERN = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
-
-    /**
-     * Pattern used to detect MongoDB ObjectId values in string form.
-     */
-    protected static final Pattern OBJECT_ID_PATTERN = Pattern.compile("^[0-9a-fA-F]{24}$");
-
     private static volatile FieldInclusionStrategy fieldInclusionStrategy = new DefaultFieldInclusionStrategy();
 
     private static final Map<Class<?>, List<Field>> BASIC_FIELDS = new ConcurrentHashMap<>();
     private static final Map<Class<?>, List<Field>> COMPLEX_FIELDS = new ConcurrentHashMap<>();
+    private static final QueryPlanCache<MongoQueryPlan> SHARED_PLAN_CACHE = new QueryPlanCache<>();
 
     private static final Logger log = LoggerFactory.getLogger(DefaultMongoOmniSearchFilterBuilder.class);
 
@@ -64,12 +63,25 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
                 .toList());
     }
 
+    /**
+     * @return the plan cache used by default by every MongoDB provider
+     */
+    public static QueryPlanCache<MongoQueryPlan> getSharedPlanCache() {
+        return SHARED_PLAN_CACHE;
+    }
+
     private final RSQLParser rsqlParser;
     private final RsqlMongoBuilderOptions rsqlBuilderOptions;
+    private final QueryPlanCache<MongoQueryPlan> planCache;
 
-    public DefaultMongoOmniSearchFilterBuilder(RSQLParser rsqlParser, RsqlMongoBuilderOptions rsqlBuilderOptions) {
+    public DefaultMongoOmniSearchFilterBuilder(RSQLParser rsqlParser, RsqlMongoBuilderOptions rsqlBuilderOptions, QueryPlanCache<MongoQueryPlan> planCache) {
         this.rsqlParser = rsqlParser;
         this.rsqlBuilderOptions = rsqlBuilderOptions;
+        this.planCache = planCache;
+    }
+
+    public DefaultMongoOmniSearchFilterBuilder(RSQLParser rsqlParser, RsqlMongoBuilderOptions rsqlBuilderOptions) {
+        this(rsqlParser, rsqlBuilderOptions, SHARED_PLAN_CACHE);
     }
 
     public DefaultMongoOmniSearchFilterBuilder(RSQLParser rsqlParser) {
@@ -77,7 +89,7 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
     }
 
     public DefaultMongoOmniSearchFilterBuilder() {
-        this(new RSQLParser());
+        this(RsqlNodeCache.defaultParser());
     }
 
     @Override
@@ -85,15 +97,18 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
 
         Bson filters = new Document();
 
+        var parsed = parseQuery(options);
+        rsqlBuilderOptions.getQueryBudget().check(options, parsed);
+        var node = optimize(parsed);
+        var plan = getPlan(documentClass, options, node);
+
         var search = options.getSearch();
         if (search != null && !search.isBlank()) {
-            filters = searchInAllProperties(search, documentClass, options.getPropagations());
+            filters = searchInAllProperties(SearchTerm.of(search), documentClass, plan.propagations());
         }
 
-        var query = options.getQuery();
-        if (query != null) {
-            var node = rsqlParser.parse(query);
-            var visitor = new MongoFilterVisitor<>(documentClass, rsqlBuilderOptions);
+        if (node != null) {
+            var visitor = new MongoFilterVisitor<>(documentClass, rsqlBuilderOptions, plan);
             var rsqlFilter = node.accept(visitor);
             filters = and(filters, rsqlFilter);
         }
@@ -101,24 +116,112 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
         return filters;
     }
 
-    private <D> Bson searchInAllProperties(String search, Class<D> documentClass, Set<String> propagations) {
-        // Search in direct properties
-        var searchFilters = new ArrayList<>(getSearchFilters(search, documentClass, ""));
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The sort document is built once per query shape and reused from the plan cache.
+     * </p>
+     */
+    @Override
+    public <D> @Nullable Bson buildSort(Class<D> documentClass, OmniSearchOptions options) {
+        return getPlan(documentClass, options, optimize(parseQuery(options))).sort();
+    }
 
-        // Search in propagated properties (nested documents and arrays)
-        for (var path : propagations) {
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation resolves the fields like RSQL selectors, so they are Java property names mapped to
+     * their document names ({@code @BsonProperty}...), except {@code _id} which is kept as is.
+     * </p>
+     */
+    @Override
+    public <D> @Nullable Bson buildProjection(Class<D> documentClass, List<String> fields) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        var visitor = new MongoFilterVisitor<>(documentClass, rsqlBuilderOptions);
+        var paths = new ArrayList<String>(fields.size());
+        for (var field : fields) {
+            paths.add(field.equals("_id") ? field : visitor.getFieldPath(field).path());
+        }
+        return MongoOmniSearchFilterBuilder.super.buildProjection(documentClass, paths);
+    }
 
-            var field = getComplexFields(documentClass).stream()
-                    .filter(f -> f.getName().equals(path))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Propagation path '" + path + "' not found in class " + documentClass.getName()));
+    /**
+     * Returns the plan of a request, compiling it with {@link #compilePlan} on the first request of its shape.
+     */
+    protected <D> MongoQueryPlan getPlan(Class<D> documentClass, OmniSearchBaseOptions options, @Nullable Node node) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.RESOLVE)) {
+            var shape = QueryShape.of(documentClass, options, node);
+            return planCache.get(shape, s -> compilePlan(documentClass, options, s, node));
+        }
+    }
 
-            var fieldType = field.getType();
-            var pathName = PropertyNameResolver.resolvePropertyName(field);
+    /**
+     * Resolves every selector, propagation and sort property of a request.
+     *
+     * @param documentClass the document class to search
+     * @param options       the search options
+     * @param shape         the shape of the request
+     * @param node          the parsed query, or {@code null} if there is none
+     * @return the plan
+     * @throws IllegalArgumentException if a selector or propagation cannot be resolved
+     */
+    protected <D> MongoQueryPlan compilePlan(Class<D> documentClass, OmniSearchBaseOptions options, QueryShape shape, @Nullable Node node) {
+        var selectors = new LinkedHashMap<String, FieldPath>();
+        if (node != null) {
+            var visitor = new MongoFilterVisitor<>(documentClass, rsqlBuilderOptions);
+            for (var selector : RsqlNodes.selectors(node)) {
+                selectors.put(selector, visitor.getFieldPath(selector));
+            }
+        }
+
+        var propagations = new ArrayList<MongoQueryPlan.Propagation>();
+        if (shape.search()) {
+            for (var path : shape.propagations()) {
 
-            searchFilters.addAll(getSearchFilters(search, fieldType, pathName + "."));
+                var field = getComplexFields(documentClass).stream()
+                        .filter(f -> f.getName().equals(path))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Propagation path '" + path + "' not found in class " + documentClass.getName()));
+
+                var pathName = PropertyNameResolver.resolvePropertyName(field);
+                propagations.add(new MongoQueryPlan.Propagation(pathName + ".", field.getType()));
+            }
         }
 
+        var sort = options instanceof OmniSearchOptions searchOptions
+                ? MongoOmniSearchFilterBuilder.super.buildSort(documentClass, searchOptions)
+                : null;
+
+        return new MongoQueryPlan(Map.copyOf(selectors), List.copyOf(propagations), sort);
+    }
+
+    private @Nullable Node parseQuery(OmniSearchBaseOptions options) {
+        var query = options.getQuery();
+        if (query == null) {
+            return null;
+        }
+        return rsqlBuilderOptions.getNodeCache().parse(rsqlParser, query);
+    }
+
+    private @Nullable Node optimize(@Nullable Node node) {
+        return node == null ? null : rsqlBuilderOptions.getOptimizer().optimize(node);
+    }
+
+    private <D> Bson searchInAllProperties(SearchTerm search, Class<D> documentClass, List<MongoQueryPlan.Propagation> propagations) {
+        // Search in direct properties
+        var searchFilters = new ArrayList<>(getSearchFilters(search, documentClass, ""));
+
+        // Search in propagated properties (nested documents and arrays)
+        for (var propagation : propagations) {
+            searchFilters.addAll(getSearchFilters(search, propagation.type(), propagation.prefix()));
+        }
+
+        rsqlBuilderOptions.getQueryBudget().checkSearchColumns(searchFilters.size());
+
         return or(searchFilters);
     }
 
@@ -126,7 +229,7 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
      * Gets search filters for all searchable properties in a class model.
      */
     @SuppressWarnings("java:S3776")
-    protected <D> Collection<Bson> getSearchFilters(String search, Class<D> clazz, String prefix) {
+    protected <D> Collection<Bson> getSearchFilters(SearchTerm search, Class<D> clazz, String prefix) {
         var filters = new ArrayList<Bson>();
 
         for (var field : getBasicFields(clazz)) {
@@ -164,42 +267,40 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
     }
 
     @SuppressWarnings("java:S3776")
-    protected static @Nullable Bson getBasicPredicates(String search, Class<?> type, String property) {
+    protected static @Nullable Bson getBasicPredicates(SearchTerm search, Class<?> type, String property) {
         if (String.class.isAssignableFrom(type)) {
-            var pattern = Pattern.compile(Pattern.quote(search), Pattern.CASE_INSENSITIVE);
-            return regex(property, pattern);
+            return regex(property, search.containsPattern());
         }
 
-        if (UUID.class.isAssignableFrom(type) && UUID_PATTERN.matcher(search).matches()) {
-            return eq(property, UUID.fromString(search));
+        if (UUID.class.isAssignableFrom(type) && search.uuid() != null) {
+            return eq(property, search.uuid());
         }
 
-        if ((Boolean.class.isAssignableFrom(type) || type == boolean.class) && search.matches("(?i)true|false")) {
-            return eq(property, Boolean.parseBoolean(search.toLowerCase()));
+        if ((Boolean.class.isAssignableFrom(type) || type == boolean.class) && search.booleanValue() != null) {
+            return eq(property, search.booleanValue());
         }
 
-        if (Year.class.isAssignableFrom(type) && search.matches("\\d{4}")) {
-            return eq(property, Year.parse(search));
+        if (Year.class.isAssignableFrom(type) && search.year() != null) {
+            return eq(property, search.year());
         }
 
-        if (ObjectId.class.isAssignableFrom(type) && OBJECT_ID_PATTERN.matcher(search).matches()) {
-            return eq(property, new ObjectId(search));
+        if (ObjectId.class.isAssignableFrom(type) && search.isObjectId()) {
+            return eq(property, new ObjectId(search.value()));
         }
 
         if (type.isEnum()) {
             @SuppressWarnings("unchecked")
-            var candidates = EnumSearchCandidate.collectEnumCandidates((Class<? extends Enum<?>>) type, search);
+            var candidates = search.enumCandidates((Class<? extends Enum<?>>) type);
             if (candidates.isEmpty()) {
                 return null;
             }
             return in(property, candidates);
         }
 
-        if ((Number.class.isAssignableFrom(type) || type.isPrimitive()) && search.matches("[+-]?\\d*\\.?\\d+")) {
-            for (var parser : ParseNumber.PARSERS) {
-                if (type.isAssignableFrom(parser.type())) {
-                    return eq(property, parser.parse(search));
-                }
+        if (Number.class.isAssignableFrom(type) || type.isPrimitive()) {
+            var number = search.number(type);
+            if (number != null) {
+                return eq(property, number);
             }
         }
 
@@ -210,5 +311,6 @@ public class DefaultMongoOmniSearchFilterBuilder implements MongoOmniSearchFilte
         fieldInclusionStrategy = Objects.requireNonNull(strategy, "FieldInclusionStrategy cannot be null");
         BASIC_FIELDS.clear();
         COMPLEX_FIELDS.clear();
+        SHARED_PLAN_CACHE.clear();
     }
 }
\ No newline at end of file
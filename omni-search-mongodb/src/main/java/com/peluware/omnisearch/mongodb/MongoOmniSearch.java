@@ -1,24 +1,57 @@
 package com.peluware.omnisearch.mongodb;
 
 import com.peluware.domain.Order;
+import com.peluware.domain.Page;
 import com.peluware.omnisearch.OmniSearch;
 import com.peluware.omnisearch.OmniSearchBaseOptions;
 import com.peluware.omnisearch.OmniSearchOptions;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Facet;
+import com.mongodb.client.model.Projections;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.keyset.KeysetPage;
+import com.peluware.omnisearch.mongodb.count.DefaultMongoCountEstimator;
+import com.peluware.omnisearch.mongodb.count.MongoCountEstimator;
+import com.peluware.omnisearch.mongodb.keyset.MongoKeyset;
 import com.peluware.omnisearch.mongodb.resolvers.CollectionNameResolver;
 import com.peluware.omnisearch.mongodb.rsql.DefaultRsqlMongoBuilderOptions;
 import com.peluware.omnisearch.mongodb.rsql.RsqlMongoBuilderOptions;
+import com.peluware.omnisearch.profile.QueryPhase;
+import com.peluware.omnisearch.profile.QueryProfiler;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import com.peluware.omnisearch.utils.BatchSearches;
+import com.peluware.omnisearch.utils.ConcurrentPages;
+import com.peluware.omnisearch.utils.ProjectionFields;
 import cz.jirutka.rsql.parser.RSQLParser;
 import org.bson.BsonDocument;
-import org.bson.Document;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
 import org.bson.conversions.Bson;
 import org.bson.json.JsonWriterSettings;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.or;
 
 /**
  * MongoDB-based implementation of the {@link OmniSearch} interface,
@@ -29,8 +62,21 @@ public class MongoOmniSearch implements OmniSearch {
 
     private static final Logger log = LoggerFactory.getLogger(MongoOmniSearch.class);
 
+    /**
+     * Default number of documents requested per batch by {@link #stream(Class, OmniSearchOptions)}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String CONTENT_FACET = "content";
+    private static final String COUNT_FACET = "count";
+    private static final String COUNT_FIELD = "n";
+
     private final MongoDatabase database;
     private final MongoOmniSearchFilterBuilder filterBuilder;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private @Nullable Executor countExecutor;
+    private MongoCountEstimator countEstimator = new DefaultMongoCountEstimator();
+    private long autoCountThreshold = CountAccuracy.DEFAULT_AUTO_THRESHOLD;
 
     public MongoOmniSearch(MongoDatabase database, MongoOmniSearchFilterBuilder filterBuilder) {
         this.database = database;
@@ -46,41 +92,305 @@ public class MongoOmniSearch implements OmniSearch {
     }
 
     public MongoOmniSearch(MongoDatabase database) {
-        this(database, new RSQLParser());
+        this(database, RsqlNodeCache.defaultParser());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * When the options set {@link OmniSearchOptions#fields(String...) fields}, only those are read and the other
+     * properties of the entities are left unset.
+     * </p>
+     */
     @Override
     public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+        if (options.getKeyset() != null) {
+            return keysetPage(entityClass, options).content();
+        }
+        return collect(find(entityClass, options, entityClass, options.getFields()), options);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation adds a projection of the fields to the query and decodes the documents with the codec
+     * of {@code projection}, so its properties must be named like the document fields: for a nested field such as
+     * {@code address.city}, the projection holds an {@code address} with only its {@code city}.
+     * </p>
+     */
+    @Override
+    public <E, R> List<R> project(Class<E> entityClass, OmniSearchOptions options, Class<R> projection) {
+        var fields = ProjectionFields.resolve(options, projection);
+        return collect(find(entityClass, options, projection, fields), options);
+    }
+
+    private static <R> List<R> collect(FindIterable<R> findIterable, OmniSearchOptions options) {
+        var pagination = options.getPagination();
+        var results = pagination.isPaginated() ? new ArrayList<R>(pagination.getSize()) : new ArrayList<R>();
+
+        MongoCursor<R> cursor;
+        try (var ignored = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            cursor = findIterable.cursor();
+        }
+        try (cursor; var ignored = QueryProfiler.phase(QueryPhase.MATERIALIZE)) {
+            cursor.forEachRemaining(results::add);
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation runs the same query as {@link #list(Class, OmniSearchOptions)} but iterates a
+     * {@link com.mongodb.client.MongoCursor} that requests documents from the server in batches of the
+     * configured {@link #setBatchSize(int) batch size}, so only one batch is held in memory at a time.
+     * Closing the stream closes the cursor and releases it on the server.
+     * </p>
+     */
+    @Override
+    public <E> Stream<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        if (options.getKeyset() != null) {
+            return keysetPage(entityClass, options).content().stream();
+        }
+        var findIterable = find(entityClass, options, entityClass, options.getFields());
+        if (batchSize > 0) {
+            findIterable = findIterable.batchSize(batchSize);
+        }
+
+        var cursor = findIterable.cursor();
+        var spliterator = Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(cursor::close);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation sorts by the requested sort followed by {@code _id} (or the configured tiebreaker)
+     * and, for a continuation token, adds an {@code $or} seek filter instead of {@code skip}. Documents are
+     * read as {@link RawBsonDocument}s so the keys of the last one are taken from the BSON as stored, then
+     * decoded with the codec of the entity. One extra document is fetched to detect whether a next page exists.
+     * </p>
+     */
+    @Override
+    public <E> KeysetPage<E> keysetPage(Class<E> entityClass, OmniSearchOptions options) {
+        var keyset = options.getKeyset();
+        if (keyset == null) {
+            throw new IllegalArgumentException("Keyset pagination is not set on the search options");
+        }
+
+        MongoKeyset seek;
+        FindIterable<RawBsonDocument> findIterable;
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            seek = MongoKeyset.resolve(entityClass, options.getSort(), keyset);
+
+            var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
+            var collection = database.getCollection(collectionName, RawBsonDocument.class);
+
+            var filter = filterBuilder.buildFilter(entityClass, options);
+            var token = keyset.token();
+            if (token != null) {
+                filter = and(filter, seek.after(token));
+            }
+
+            debugJsonFilter(filter);
+
+            findIterable = collection.find(filter)
+                    .sort(seek.sort())
+                    .limit(keyset.size() + 1);
+
+            var projection = filterBuilder.buildProjection(entityClass, options.getFields());
+            if (projection != null) {
+                var keys = seek.getKeys().stream().map(Order::property).toList();
+                findIterable = findIterable.projection(Projections.fields(projection, Projections.include(keys)));
+            }
+        }
+
+        List<RawBsonDocument> documents;
+        try (var ignored = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            documents = findIterable.into(new ArrayList<>(keyset.size() + 1));
+        }
+
+        try (var ignored = QueryProfiler.phase(QueryPhase.MATERIALIZE)) {
+            var hasNext = documents.size() > keyset.size();
+            if (hasNext) {
+                documents = new ArrayList<>(documents.subList(0, keyset.size()));
+            }
+
+            var content = decode(entityClass, documents);
+
+            return new KeysetPage<>(content, hasNext ? seek.encode(documents.getLast()) : null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation runs all the searches in a single aggregation: a {@code $match} on the union of the
+     * filters, which can use indexes, followed by a {@code $facet} with a content and a count pipeline per
+     * search. The counts are therefore read in the same round-trip and the returned pages hold them already.
+     * A count limit adds a {@code $limit} before the {@code $count} of its search, so totals are capped like those
+     * of {@link #page(Class, OmniSearchOptions)}. Searches whose {@link CountAccuracy} is not
+     * {@link CountAccuracy#EXACT} have no count pipeline and are counted by {@link #countResult(Class, OmniSearchBaseOptions)}
+     * instead, so that they can be estimated.
+     * </p>
+     *
+     * <p>
+     * The output of a {@code $facet} is a single document and is subject to the 16MB BSON document limit, so
+     * batch searches should be paginated. Stages inside a {@code $facet} cannot use indexes; a batch whose
+     * filters are very selective on different indexes may be faster as separate pages.
+     * </p>
+     */
+    @Override
+    public <E> List<Page<E>> batch(Class<E> entityClass, List<OmniSearchOptions> options) {
+        BatchSearches.requireNoKeyset(options);
+        if (options.isEmpty()) {
+            return List.of();
+        }
 
         var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
-        var collection = database.getCollection(collectionName, entityClass);
+        var collection = database.getCollection(collectionName, RawBsonDocument.class);
 
-        var filter = filterBuilder.buildFilter(entityClass, options);
+        List<Bson> pipeline;
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var filters = new ArrayList<Bson>(options.size());
+            var facets = new ArrayList<Facet>(options.size() * 2);
+            for (int i = 0; i < options.size(); i++) {
+                var option = options.get(i);
+                var filter = filterBuilder.buildFilter(entityClass, option);
+                filters.add(filter);
 
-        var findIterable = collection.find(filter);
+                var stages = new ArrayList<Bson>(5);
+                stages.add(Aggregates.match(filter));
+                var sort = filterBuilder.buildSort(entityClass, option);
+                if (sort != null) {
+                    stages.add(Aggregates.sort(sort));
+                }
+                var pagination = option.getPagination();
+                if (pagination.isPaginated()) {
+                    var skip = pagination.getNumber() * pagination.getSize();
+                    if (skip > 0) {
+                        stages.add(Aggregates.skip(skip));
+                    }
+                    stages.add(Aggregates.limit(pagination.getSize()));
+                }
+                var projection = filterBuilder.buildProjection(entityClass, option.getFields());
+                if (projection != null) {
+                    stages.add(Aggregates.project(projection));
+                }
 
-        // JSON con formato pretty
-        debugJsonFilter(filter);
+                facets.add(new Facet(CONTENT_FACET + i, stages));
+                var limit = option.getCountLimit();
+                if (limit > 0) {
+                    facets.add(new Facet(COUNT_FACET + i, Aggregates.match(filter), Aggregates.limit(countLimit(limit)), Aggregates.count(COUNT_FIELD)));
+                } else if (option.getCountAccuracy() == CountAccuracy.EXACT) {
+                    facets.add(new Facet(COUNT_FACET + i, Aggregates.match(filter), Aggregates.count(COUNT_FIELD)));
+                }
+            }
+
+            var filter = filters.size() == 1 ? filters.getFirst() : or(filters);
+            debugJsonFilter(filter);
+            pipeline = List.of(Aggregates.match(filter), Aggregates.facet(facets));
+        }
 
-        // Apply sorting
-        var sort = options.getSort();
-        if (sort.isSorted()) {
-            var sortDocument = new Document();
-            for (var order : sort.orders()) {
-                sortDocument.append(order.property(), order.direction() == Order.Direction.ASC ? 1 : -1);
+        log.debug("Executing MongoDB batch of {} searches for entity: {}", options.size(), entityClass.getSimpleName());
+        RawBsonDocument result;
+        try (var ignored = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            result = collection.aggregate(pipeline).first();
+        }
+        if (result == null) {
+            throw new IllegalStateException("MongoDB batch aggregation returned no result");
+        }
+
+        try (var ignored = QueryProfiler.phase(QueryPhase.MATERIALIZE)) {
+            var pages = new ArrayList<Page<E>>(options.size());
+            for (int i = 0; i < options.size(); i++) {
+                var option = options.get(i);
+                var content = decode(entityClass, result.getArray(CONTENT_FACET + i).getValues().stream()
+                        .map(BsonValue::asDocument)
+                        .toList());
+                long total;
+                if (result.containsKey(COUNT_FACET + i)) {
+                    // a count limit is applied by the $limit of the count pipeline
+                    var counts = result.getArray(COUNT_FACET + i);
+                    total = counts.isEmpty() ? 0L : counts.getFirst().asDocument().getNumber(COUNT_FIELD).longValue();
+                } else {
+                    total = countResult(entityClass, option).total();
+                }
+
+                pages.add(Page.deferred(content, option.getPagination(), option.getSort(), () -> total));
             }
-            findIterable = findIterable.sort(sortDocument);
+            return pages;
         }
+    }
 
-        // Apply pagination
-        var pagination = options.getPagination();
-        if (pagination.isPaginated()) {
-            findIterable = findIterable
-                    .skip(pagination.getNumber() * pagination.getSize())
-                    .limit(pagination.getSize());
+    private <E> List<E> decode(Class<E> entityClass, List<? extends BsonDocument> documents) {
+        var codec = database.getCodecRegistry().get(entityClass);
+        var decoderContext = DecoderContext.builder().build();
+        var content = new ArrayList<E>(documents.size());
+        for (var document : documents) {
+            try (var reader = document instanceof RawBsonDocument raw ? raw.asBsonReader() : new BsonDocumentReader(document)) {
+                content.add(codec.decode(reader, decoderContext));
+            }
         }
+        return content;
+    }
 
-        return Collections.unmodifiableList(findIterable.into(new ArrayList<>()));
+    private <E, R> FindIterable<R> find(Class<E> entityClass, OmniSearchOptions options, Class<R> resultClass, List<String> fields) {
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+
+            var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
+            var collection = database.getCollection(collectionName, resultClass);
+
+            var filter = filterBuilder.buildFilter(entityClass, options);
+
+            var findIterable = collection.find(filter);
+
+            var projection = filterBuilder.buildProjection(entityClass, fields);
+            if (projection != null) {
+                findIterable = findIterable.projection(projection);
+            }
+
+            // JSON con formato pretty
+            debugJsonFilter(filter);
+
+            // Apply sorting
+            var sort = filterBuilder.buildSort(entityClass, options);
+            if (sort != null) {
+                findIterable = findIterable.sort(sort);
+            }
+
+            // Apply pagination
+            var pagination = options.getPagination();
+            if (pagination.isPaginated()) {
+                findIterable = findIterable
+                        .skip(pagination.getNumber() * pagination.getSize())
+                        .limit(pagination.getSize());
+            }
+
+            return findIterable;
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of documents requested per batch by {@link #stream(Class, OmniSearchOptions)}.
+     * A value of {@code 0} lets the server choose its default batch size.
+     *
+     * @param batchSize the batch size, zero or positive
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        this.batchSize = batchSize;
     }
 
 
@@ -94,18 +404,137 @@ public class MongoOmniSearch implements OmniSearch {
      */
     @Override
     public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return countResult(entityClass, options).total();
+    }
 
-        var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
-        var collection = database.getCollection(collectionName, entityClass);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Exact counts run {@code countDocuments} with the filter of the options, stopping at the count limit of the
+     * options through {@link CountOptions#limit(int)} if there is one. Estimates come from the configured
+     * {@link MongoCountEstimator}, by default the collection metadata for unfiltered counts and a sampled
+     * selectivity otherwise.
+     * </p>
+     */
+    @Override
+    public <E> CountResult countResult(Class<E> entityClass, OmniSearchBaseOptions options) {
+
+        MongoCollection<E> collection;
+        Bson filter;
+        try (var ignored = QueryProfiler.phase(QueryPhase.BUILD)) {
+            var collectionName = CollectionNameResolver.resolveCollectionName(entityClass);
+            collection = database.getCollection(collectionName, entityClass);
+
+            filter = filterBuilder.buildFilter(entityClass, options);
+
+            debugJsonFilter(filter);
+        }
+
+        try (var ignored = QueryProfiler.phase(QueryPhase.EXECUTE)) {
+            var limit = options.getCountLimit();
+            if (limit > 0) {
+                var cap = countLimit(limit);
+                log.debug("Executing MongoDB count query: {} limited to {} for entity: {}", filter, cap, entityClass.getSimpleName());
+                return CountResult.limited(collection.countDocuments(filter, new CountOptions().limit(cap)), cap);
+            }
 
-        var filter = filterBuilder.buildFilter(entityClass, options);
+            return options.getCountAccuracy().resolve(
+                    () -> countEstimator.estimate(collection, filter),
+                    () -> {
+                        log.debug("Executing MongoDB count query: {} for entity: {}", filter, entityClass.getSimpleName());
+                        return collection.countDocuments(filter);
+                    },
+                    autoCountThreshold
+            );
+        }
+    }
 
-        debugJsonFilter(filter);
+    private static int countLimit(long limit) {
+        return (int) Math.min(limit, Integer.MAX_VALUE);
+    }
 
-        log.debug("Executing MongoDB count query: {} for entity: {}", filter, entityClass.getSimpleName());
-        return collection.countDocuments(filter);
+    public MongoCountEstimator getCountEstimator() {
+        return countEstimator;
     }
 
+    /**
+     * Sets the estimator of the counts whose {@link CountAccuracy} is not {@link CountAccuracy#EXACT}.
+     *
+     * @param countEstimator the count estimator
+     */
+    public void setCountEstimator(MongoCountEstimator countEstimator) {
+        this.countEstimator = Objects.requireNonNull(countEstimator, "Count estimator cannot be null");
+    }
+
+    public long getAutoCountThreshold() {
+        return autoCountThreshold;
+    }
+
+    /**
+     * Sets the estimate from which {@link CountAccuracy#AUTO} counts are not counted exactly.
+     *
+     * @param autoCountThreshold the threshold, zero or positive
+     */
+    public void setAutoCountThreshold(long autoCountThreshold) {
+        if (autoCountThreshold < 0) {
+            throw new IllegalArgumentException("Auto count threshold must not be negative");
+        }
+        this.autoCountThreshold = autoCountThreshold;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * When {@link #enableConcurrentPage(Executor) concurrent pages} are enabled, the count query runs on the
+     * configured executor while the list query runs on the calling thread. Both share the thread-safe
+     * {@link MongoDatabase}.
+     * </p>
+     */
+    @Override
+    public <E> Page<E> page(Class<E> entityClass, OmniSearchOptions options) {
+        var executor = countExecutor;
+        if (executor == null) {
+            return OmniSearch.super.page(entityClass, options);
+        }
+        return ConcurrentPages.page(
+                () -> list(entityClass, options),
+                () -> count(entityClass, options),
+                options.getPagination(),
+                options.getSort(),
+                executor
+        );
+    }
+
+    /**
+     * Runs the count query of {@link #page(Class, OmniSearchOptions)} concurrently with the list query, on a
+     * virtual thread per page.
+     */
+    public void enableConcurrentPage() {
+        enableConcurrentPage(ConcurrentPages.defaultExecutor());
+    }
+
+    /**
+     * Runs the count query of {@link #page(Class, OmniSearchOptions)} concurrently with the list query.
+     *
+     * @param executor the executor of the count queries
+     */
+    public void enableConcurrentPage(Executor executor) {
+        this.countExecutor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+
+    /**
+     * Runs the list and count queries of {@link #page(Class, OmniSearchOptions)} one after the other, the default.
+     */
+    public void disableConcurrentPage() {
+        this.countExecutor = null;
+    }
+
+    public boolean isConcurrentPage() {
+        return countExecutor != null;
+    }
 
     private void debugJsonFilter(Bson filter) {
         if (log.isDebugEnabled()) {
@@ -1,7 +1,14 @@
 package com.peluware.omnisearch.mongodb;
 
+import com.peluware.domain.Order;
 import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * Builds a MongoDB {@link Bson} filter based on the given document class
@@ -19,4 +26,41 @@ public interface MongoOmniSearchFilterBuilder {
      * @return a {@link Bson} filter for MongoDB queries
      */
     <D> Bson buildFilter(Class<D> documentClass, OmniSearchBaseOptions options);
+
+    /**
+     * Creates the sort document for the sort of the provided search options.
+     *
+     * @param documentClass the document class to search
+     * @param options       the search options
+     * @param <D>           the type of the document
+     * @return the sort document, or {@code null} if the options are unsorted
+     */
+    default <D> @Nullable Bson buildSort(Class<D> documentClass, OmniSearchOptions options) {
+        var sort = options.getSort();
+        if (!sort.isSorted()) {
+            return null;
+        }
+        var sortDocument = new Document();
+        for (var order : sort.orders()) {
+            sortDocument.append(order.property(), order.direction() == Order.Direction.ASC ? 1 : -1);
+        }
+        return sortDocument;
+    }
+
+    /**
+     * Creates the projection document reading only the given fields. {@code _id} is excluded unless it is one of
+     * the fields, so documents hold exactly the requested properties.
+     *
+     * @param documentClass the document class to search
+     * @param fields        the properties to read, in dot notation
+     * @param <D>           the type of the document
+     * @return the projection document, or {@code null} if {@code fields} is empty and whole documents are read
+     */
+    default <D> @Nullable Bson buildProjection(Class<D> documentClass, List<String> fields) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        var include = Projections.include(fields);
+        return fields.contains("_id") ? include : Projections.fields(include, Projections.excludeId());
+    }
 }
@@ -0,0 +1,74 @@
+package com.peluware.omnisearch.mongodb.count;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Default implementation of {@link MongoCountEstimator}.
+ *
+ * <p>
+ * Without a filter the estimate is {@link MongoCollection#estimatedDocumentCount()}, read from the collection
+ * metadata. With a filter, the selectivity of the filter is measured on a {@code $sample} of the collection and
+ * applied to that document count. While the sample is below 5% of the collection, MongoDB reads it with a
+ * random cursor instead of scanning, so the estimate costs the reading of {@link #getSampleSize() sample size}
+ * documents whatever the size of the collection. Collections not much larger than the sample are not estimated.
+ * </p>
+ */
+public class DefaultMongoCountEstimator implements MongoCountEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultMongoCountEstimator.class);
+
+    /**
+     * Default number of sampled documents.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 1_000;
+
+    private static final String COUNT_FIELD = "n";
+
+    private final int sampleSize;
+
+    public DefaultMongoCountEstimator(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    public DefaultMongoCountEstimator() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    @Override
+    public OptionalLong estimate(MongoCollection<?> collection, Bson filter) {
+        var total = collection.estimatedDocumentCount();
+        if (filter.toBsonDocument(BsonDocument.class, collection.getCodecRegistry()).isEmpty()) {
+            return OptionalLong.of(total);
+        }
+        if (total < 20L * sampleSize) {
+            return OptionalLong.empty();
+        }
+
+        var result = collection.aggregate(List.of(
+                Aggregates.sample(sampleSize),
+                Aggregates.match(filter),
+                Aggregates.count(COUNT_FIELD)
+        ), Document.class).first();
+
+        var matched = result == null ? 0 : result.get(COUNT_FIELD, Number.class).longValue();
+        var estimate = Math.round((double) total * matched / sampleSize);
+        log.debug("Estimated {} of {} documents from {} of {} sampled", estimate, total, matched, sampleSize);
+        return OptionalLong.of(estimate);
+    }
+}
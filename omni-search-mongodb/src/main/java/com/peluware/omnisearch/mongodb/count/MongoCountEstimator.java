@@ -0,0 +1,22 @@
+package com.peluware.omnisearch.mongodb.count;
+
+import com.mongodb.client.MongoCollection;
+import com.peluware.omnisearch.count.CountAccuracy;
+import org.bson.conversions.Bson;
+
+import java.util.OptionalLong;
+
+/**
+ * Estimates the number of documents matching a filter without counting them, for counts whose
+ * {@link CountAccuracy} allows it.
+ */
+@FunctionalInterface
+public interface MongoCountEstimator {
+
+    /**
+     * @param collection the searched collection
+     * @param filter     the filter of the search
+     * @return the estimated number of matching documents, or empty to count them exactly
+     */
+    OptionalLong estimate(MongoCollection<?> collection, Bson filter);
+}
@@ -0,0 +1,149 @@
+package com.peluware.omnisearch.mongodb.keyset;
+
+import com.peluware.domain.Order;
+import com.peluware.domain.Sort;
+import com.peluware.omnisearch.keyset.KeysetPagination;
+import com.peluware.omnisearch.keyset.KeysetToken;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * The keys that position a document for {@link KeysetPagination}: the requested sort fields followed by the
+ * tiebreaker, {@code _id} by default.
+ *
+ * <p>
+ * Key values are read from the raw BSON of the last document and stored in the token as extended JSON, so
+ * they keep their exact BSON type ({@code ObjectId}, dates, decimals...). The seek condition
+ * {@code (k1, k2, _id) > (v1, v2, v3)} is expanded to an {@code $or} of
+ * {@code {k1: {$gt: v1}}, {k1: v1, k2: {$gt: v2}}, {k1: v1, k2: v2, _id: {$gt: v3}}}, with {@code $lt} for
+ * descending keys, which MongoDB serves from a compound index on the keys.
+ * </p>
+ */
+public final class MongoKeyset {
+
+    /**
+     * The default tiebreaker.
+     */
+    public static final String ID_FIELD = "_id";
+
+    private static final String VALUES = "v";
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final List<Order> keys;
+    private final String signature;
+
+    private MongoKeyset(Class<?> documentClass, List<Order> keys) {
+        this.keys = keys;
+        var builder = new StringBuilder(documentClass.getName());
+        for (var key : keys) {
+            builder.append(';').append(key.property()).append(':').append(key.direction());
+        }
+        this.signature = builder.toString();
+    }
+
+    /**
+     * Resolves the keys of a request.
+     *
+     * @param documentClass the searched document class
+     * @param sort          the requested sort
+     * @param keyset        the keyset pagination
+     * @return the keyset
+     */
+    public static MongoKeyset resolve(Class<?> documentClass, Sort sort, KeysetPagination keyset) {
+        return new MongoKeyset(documentClass, keyset.orders(sort, ID_FIELD));
+    }
+
+    /**
+     * @return the keys, in sort order
+     */
+    public List<Order> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return the sort document of the keys
+     */
+    public Bson sort() {
+        var sort = new Document();
+        for (var key : keys) {
+            sort.append(key.property(), key.direction() == Order.Direction.ASC ? 1 : -1);
+        }
+        return sort;
+    }
+
+    /**
+     * Builds the filter that matches the documents positioned after the document of {@code token}.
+     *
+     * @param token the continuation token
+     * @return the seek filter
+     * @throws IllegalArgumentException if the token is invalid or was issued for other keys
+     */
+    public Bson after(String token) {
+        var encoded = KeysetToken.decode(token, signature);
+        BsonArray values;
+        try {
+            values = BsonDocument.parse(encoded.getFirst()).getArray(VALUES);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed keyset token", e);
+        }
+        if (encoded.size() != 1 || values.size() != keys.size()) {
+            throw new IllegalArgumentException("Malformed keyset token");
+        }
+
+        var alternatives = new ArrayList<Bson>(keys.size());
+        var equalities = new ArrayList<Bson>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            var field = keys.get(i).property();
+            var value = values.get(i);
+
+            var conjunction = new ArrayList<>(equalities);
+            conjunction.add(keys.get(i).direction() == Order.Direction.ASC ? gt(field, value) : lt(field, value));
+            alternatives.add(conjunction.size() == 1 ? conjunction.getFirst() : and(conjunction));
+            equalities.add(eq(field, value));
+        }
+        return alternatives.size() == 1 ? alternatives.getFirst() : or(alternatives);
+    }
+
+    /**
+     * Encodes the token of the document following {@code document}.
+     *
+     * @param document the raw last document of a page
+     * @return the continuation token
+     * @throws IllegalStateException if a key is missing or {@code null}
+     */
+    public String encode(BsonDocument document) {
+        var values = new BsonArray(new ArrayList<>(keys.size()));
+        for (var key : keys) {
+            var value = getValue(document, key.property());
+            if (value == null || value.isNull()) {
+                throw new IllegalStateException("Keyset pagination requires non-null keys, '" + key.property() + "' is missing or null");
+            }
+            values.add(value);
+        }
+        return KeysetToken.encode(signature, List.of(new BsonDocument(VALUES, values).toJson(JSON_SETTINGS)));
+    }
+
+    private static @Nullable BsonValue getValue(BsonDocument document, String path) {
+        BsonValue current = document;
+        for (var segment : path.split("\\.")) {
+            if (!(current instanceof BsonDocument nested)) {
+                return null;
+            }
+            current = nested.get(segment);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,52 @@
+package com.peluware.omnisearch.mongodb.plan;
+
+import com.peluware.omnisearch.mongodb.rsql.MongoFilterVisitor.FieldPath;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled plan of a MongoDB search request: RSQL selectors and search propagations resolved
+ * against the document model, and the sort document. Plans are immutable and shared between threads:
+ * the sort is copied into a {@link RawBsonDocument}, which rejects modifications, so a request cannot
+ * alter the sort of the requests sharing its plan.
+ *
+ * @param selectors    the resolved RSQL selectors
+ * @param propagations the resolved search propagations
+ * @param sort         the sort document, or {@code null} if unsorted
+ */
+public record MongoQueryPlan(
+        Map<String, FieldPath> selectors,
+        List<Propagation> propagations,
+        @Nullable Bson sort
+) {
+
+    public MongoQueryPlan {
+        selectors = Map.copyOf(selectors);
+        propagations = List.copyOf(propagations);
+        if (sort != null && !(sort instanceof RawBsonDocument)) {
+            sort = new RawBsonDocument(sort.toBsonDocument(), new BsonDocumentCodec());
+        }
+    }
+
+    /**
+     * A propagated property searched with the free-text term.
+     *
+     * @param prefix the document path prefix of the nested properties, e.g. {@code category.}
+     * @param type   the type of the nested document
+     */
+    public record Propagation(String prefix, Class<?> type) {
+    }
+
+    /**
+     * @param selector an RSQL selector
+     * @return the resolved selector, or {@code null} if the plan does not contain it
+     */
+    public @Nullable FieldPath getSelector(String selector) {
+        return selectors.get(selector);
+    }
+}
@@ -1,12 +1,17 @@
 package com.peluware.omnisearch.mongodb.rsql;
 
 import com.peluware.omnisearch.rsql.DefaultRsqlBuilderOptions;
+import com.peluware.omnisearch.rsql.RsqlOptimizer;
 
 
 public class DefaultRsqlMongoBuilderOptions extends DefaultRsqlBuilderOptions implements RsqlMongoBuilderOptions {
 
     private RsqlMongoComparisionFilterBuilder filterBuilder;
 
+    public DefaultRsqlMongoBuilderOptions() {
+        setOptimizer(RsqlOptimizer.standard().withEqualityMerging());
+    }
+
     public RsqlMongoComparisionFilterBuilder getComparisionFilterBuilder() {
         if (this.filterBuilder == null) {
             this.filterBuilder = new DefaultRsqlMongoComparisionFilterBuilder();
@@ -2,14 +2,18 @@ package com.peluware.omnisearch.mongodb.rsql;
 
 import com.peluware.omnisearch.mongodb.resolvers.PropertyNameResolver;
 import com.peluware.omnisearch.mongodb.ReflectionUtils;
+import com.peluware.omnisearch.mongodb.plan.MongoQueryPlan;
 import cz.jirutka.rsql.parser.ast.*;
 import org.apache.commons.lang3.reflect.FieldUtils;
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -22,12 +26,21 @@ public class MongoFilterVisitor<T> implements RSQLVisitor<Bson, Void> {
 
     private final Class<T> documentClass;
     private final RsqlMongoBuilderOptions builderOptions;
+    private final @Nullable MongoQueryPlan plan;
 
-    // Cache simple para evitar reflexión repetida
-
-    public MongoFilterVisitor(Class<T> documentClass, RsqlMongoBuilderOptions builderOptions) {
+    /**
+     * @param documentClass  the document class the selectors are resolved from
+     * @param builderOptions the RSQL builder options
+     * @param plan           pre-resolved selectors, or {@code null} to resolve every selector by reflection
+     */
+    public MongoFilterVisitor(Class<T> documentClass, RsqlMongoBuilderOptions builderOptions, @Nullable MongoQueryPlan plan) {
         this.documentClass = documentClass;
         this.builderOptions = builderOptions;
+        this.plan = plan;
+    }
+
+    public MongoFilterVisitor(Class<T> documentClass, RsqlMongoBuilderOptions builderOptions) {
+        this(documentClass, builderOptions, null);
     }
 
     public MongoFilterVisitor(Class<T> documentClass) {
@@ -49,7 +62,8 @@ public class MongoFilterVisitor<T> implements RSQLVisitor<Bson, Void> {
     private Bson visitLogicalNode(LogicalNode node) {
         var children = node.getChildren();
         if (children.isEmpty()) {
-            return where("false"); // disjunction equivalent
+            // An empty OR matches nothing, an _id in no values is answered from the index without a $where
+            return node.getOperator() == LogicalOperator.OR ? in("_id", List.of()) : new Document();
         }
 
         var filters = new ArrayList<Bson>();
@@ -68,7 +82,7 @@ public class MongoFilterVisitor<T> implements RSQLVisitor<Bson, Void> {
         log.debug("Creating Predicate for ComparisonNode: {}", node);
         var argumentParser = builderOptions.getArgumentParser();
 
-        var fieldPath = findFieldType(node.getSelector(), documentClass);
+        var fieldPath = getFieldPath(node.getSelector());
         var castedArguments = argumentParser.parse(node.getArguments(), fieldPath.type);
 
         var comparisionFilterBuilder = builderOptions.getComparisionFilterBuilder();
@@ -81,6 +95,18 @@ public class MongoFilterVisitor<T> implements RSQLVisitor<Bson, Void> {
         );
     }
 
+    /**
+     * Resolves a selector against the document class, using the plan when it contains the selector.
+     *
+     * @param selector the RSQL selector
+     * @return the document path and type of the selector
+     * @throws IllegalArgumentException if a field of the selector does not exist
+     */
+    public FieldPath getFieldPath(String selector) {
+        var fieldPath = plan != null ? plan.getSelector(selector) : null;
+        return fieldPath != null ? fieldPath : findFieldType(selector, documentClass);
+    }
+
     protected FieldPath findFieldType(String originalPath, Class<?> clazz) {
         // Usar cache
         var cacheKey = clazz.getName() + "#" + originalPath;
@@ -134,6 +160,12 @@ public class MongoFilterVisitor<T> implements RSQLVisitor<Bson, Void> {
     }
 
 
-    protected record FieldPath(String path, Class<?> type) {
+    /**
+     * A selector resolved to its document path and type.
+     *
+     * @param path the document path
+     * @param type the field type, or the element type for arrays and collections
+     */
+    public record FieldPath(String path, Class<?> type) {
     }
 }
\ No newline at end of file
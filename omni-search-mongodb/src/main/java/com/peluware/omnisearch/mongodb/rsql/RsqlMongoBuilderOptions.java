@@ -25,6 +25,7 @@ package com.peluware.omnisearch.mongodb.rsql;
 
 
 import com.peluware.omnisearch.rsql.RsqlBuilderOptions;
+import com.peluware.omnisearch.rsql.RsqlOptimizer;
 
 public interface RsqlMongoBuilderOptions extends RsqlBuilderOptions {
 
@@ -34,4 +35,16 @@ public interface RsqlMongoBuilderOptions extends RsqlBuilderOptions {
      * @return the comparison filter builder
      */
     RsqlMongoComparisionFilterBuilder getComparisionFilterBuilder();
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * MongoDB compares {@code ==} exactly, so equalities on the same selector are merged into {@code =in=}.
+     * </p>
+     */
+    @Override
+    default RsqlOptimizer getOptimizer() {
+        return RsqlOptimizer.standard().withEqualityMerging();
+    }
 }
@@ -9,7 +9,18 @@ import com.mongodb.client.model.Filters;
 import com.peluware.domain.Order;
 import com.peluware.domain.Pagination;
 import com.peluware.domain.Sort;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
 import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.budget.QueryBudget;
+import com.peluware.omnisearch.budget.QueryBudgetExceededException;
+import com.peluware.omnisearch.count.CountAccuracy;
+import com.peluware.omnisearch.count.CountResult;
+import com.peluware.omnisearch.mongodb.resolvers.CollectionNameResolver;
+import com.peluware.omnisearch.mongodb.rsql.DefaultRsqlMongoBuilderOptions;
+import com.peluware.omnisearch.mongodb.rsql.MongoFilterVisitor;
+import com.peluware.omnisearch.rsql.RsqlNodeCache;
+import com.peluware.omnisearch.rsql.RsqlOptimizer;
+import com.peluware.omnisearch.utils.ConcurrentPages;
 
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bson.types.ObjectId;
@@ -23,6 +34,7 @@ import org.testcontainers.mongodb.MongoDBContainer;
 
 import java.time.Year;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.bson.codecs.configuration.CodecRegistries.*;
@@ -415,6 +427,206 @@ class MongoOmniSearchTest {
         assertEquals(1, results.size());
     }
 
+    @Test
+    @DisplayName("Should stream documents across several cursor batches")
+    void testStreamWithSmallBatchSize() {
+        var options = new OmniSearchOptions()
+                .sort(Sort.by("name", Order.Direction.ASC));
+        omniSearch.setBatchSize(2);
+
+        List<String> names;
+        try (var stream = omniSearch.stream(Product.class, options)) {
+            names = stream.map(Product::getName).toList();
+        }
+
+        assertEquals(omniSearch.list(Product.class, options).stream().map(Product::getName).toList(), names);
+        assertEquals(5, names.size());
+    }
+
+    @Test
+    @DisplayName("Should walk every page with keyset continuation tokens")
+    void testKeysetPagination() {
+        var names = new ArrayList<String>();
+        String token = null;
+        var pages = 0;
+        do {
+            var options = new OmniSearchOptions()
+                    .sort(Sort.by("price", Order.Direction.DESC))
+                    .keyset(2, token);
+            var page = omniSearch.keysetPage(Product.class, options);
+            page.content().forEach(product -> names.add(product.getName()));
+            token = page.nextToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("Gaming Laptop", "4K Monitor", "Office Chair", "Mechanical Keyboard", "Wireless Mouse"), names);
+    }
+
+    @Test
+    @DisplayName("Should estimate unfiltered counts from the collection metadata")
+    void testEstimatedCount() {
+        var unfiltered = omniSearch.countResult(Product.class, new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED));
+        var filtered = omniSearch.countResult(Product.class, new OmniSearchOptions().search("Chair").countAccuracy(CountAccuracy.ESTIMATED));
+
+        assertEquals(5, unfiltered.total());
+        assertFalse(unfiltered.exact());
+        // Small collections are not sampled
+        assertTrue(filtered.exact());
+    }
+
+    @Test
+    @DisplayName("Should stop counting at the count limit")
+    void testCountLimit() {
+        var capped = omniSearch.countedPage(Product.class, new OmniSearchOptions().countLimit(3));
+        var below = omniSearch.countResult(Product.class, new OmniSearchOptions().countLimit(10));
+
+        assertTrue(capped.isCapped());
+        assertEquals(3, capped.count().total());
+        assertEquals(CountResult.exact(5), below);
+    }
+
+    @Test
+    @DisplayName("Should run a batch of searches in one aggregation")
+    void testBatch() {
+        var options = List.of(
+                new OmniSearchOptions().sort(Sort.by("price", Order.Direction.DESC)).pagination(Pagination.of(0, 2)),
+                new OmniSearchOptions().search("Chair"),
+                new OmniSearchOptions().search("Nothing")
+        );
+
+        var pages = omniSearch.batch(Product.class, options);
+
+        assertEquals(3, pages.size());
+        for (int i = 0; i < options.size(); i++) {
+            var single = omniSearch.page(Product.class, options.get(i));
+            assertEquals(single.getContent().stream().map(Product::getName).toList(),
+                    pages.get(i).getContent().stream().map(Product::getName).toList(), "content of page " + i);
+            assertEquals(single.getTotalElements(), pages.get(i).getTotalElements(), "total of page " + i);
+        }
+        assertEquals(List.of("Gaming Laptop", "4K Monitor"), pages.get(0).getContent().stream().map(Product::getName).toList());
+        assertEquals(5, pages.get(0).getTotalElements());
+        assertEquals(List.of("Office Chair"), pages.get(1).getContent().stream().map(Product::getName).toList());
+        assertEquals(1, pages.get(1).getTotalElements());
+        assertTrue(pages.get(2).getContent().isEmpty());
+        assertEquals(0, pages.get(2).getTotalElements());
+        assertThrows(IllegalArgumentException.class, () -> omniSearch.batch(Product.class, List.of(new OmniSearchOptions().keyset(2, null))));
+    }
+
+    @Test
+    @DisplayName("Should cap and estimate batch totals like single pages")
+    void testBatchCountOptions() {
+        omniSearch.setCountEstimator((collection, filter) -> OptionalLong.of(1_000_000));
+        var options = List.of(
+                new OmniSearchOptions().countLimit(3),
+                new OmniSearchOptions().countAccuracy(CountAccuracy.ESTIMATED),
+                new OmniSearchOptions().search("Chair")
+        );
+
+        var pages = omniSearch.batch(Product.class, options);
+
+        for (int i = 0; i < options.size(); i++) {
+            assertEquals(omniSearch.page(Product.class, options.get(i)).getTotalElements(), pages.get(i).getTotalElements(), "total of page " + i);
+        }
+        assertEquals(3, pages.get(0).getTotalElements());
+        assertEquals(1_000_000, pages.get(1).getTotalElements());
+        assertEquals(1, pages.get(2).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should return the same page when the count runs on another thread")
+    void testConcurrentPage() {
+        var options = new OmniSearchOptions().sort(Sort.by("price", Order.Direction.DESC)).pagination(Pagination.of(0, 2));
+        var sequential = omniSearch.page(Product.class, options);
+        var counts = new AtomicInteger();
+        omniSearch.enableConcurrentPage(command -> {
+            counts.incrementAndGet();
+            ConcurrentPages.defaultExecutor().execute(command);
+        });
+
+        var page = omniSearch.page(Product.class, options);
+
+        assertEquals(1, counts.get());
+        assertEquals(List.of("Gaming Laptop", "4K Monitor"), page.getContent().stream().map(Product::getName).toList());
+        assertEquals(sequential.getContent().stream().map(Product::getName).toList(), page.getContent().stream().map(Product::getName).toList());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(sequential.getTotalElements(), page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should propagate a failure of either query of a concurrent page")
+    void testConcurrentPageFailures() {
+        var failingCount = new MongoOmniSearch(database) {
+            @Override
+            public <E> long count(Class<E> entityClass, OmniSearchBaseOptions options) {
+                throw new IllegalStateException("Count failed");
+            }
+        };
+        failingCount.enableConcurrentPage();
+        var failingList = new MongoOmniSearch(database) {
+            @Override
+            public <E> List<E> list(Class<E> entityClass, OmniSearchOptions options) {
+                throw new IllegalStateException("List failed");
+            }
+        };
+        failingList.enableConcurrentPage();
+
+        var page = failingCount.page(Product.class, new OmniSearchOptions().search("Chair"));
+        var countFailure = assertThrows(IllegalStateException.class, page::getTotalElements);
+        var listFailure = assertThrows(IllegalStateException.class, () -> failingList.page(Product.class, new OmniSearchOptions()));
+
+        assertEquals(List.of("Office Chair"), page.getContent().stream().map(Product::getName).toList());
+        assertEquals("Count failed", countFailure.getMessage());
+        assertEquals("List failed", listFailure.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject searches over the query budget")
+    void testQueryBudget() {
+        var builderOptions = new DefaultRsqlMongoBuilderOptions();
+        builderOptions.setQueryBudget(QueryBudget.unlimited().withMaxOrBranches(2).withMaxSearchColumns(1));
+        var budgeted = new MongoOmniSearch(database, RsqlNodeCache.defaultParser(), builderOptions);
+
+        var orBranches = assertThrows(QueryBudgetExceededException.class, () -> budgeted.list(Product.class, new OmniSearchOptions()
+                .query("name=='Gaming Laptop',name=='Office Chair',name=='4K Monitor'")));
+        var searchColumns = assertThrows(QueryBudgetExceededException.class, () -> budgeted.count(Product.class, new OmniSearchOptions()
+                .search("Chair")));
+
+        assertEquals(QueryBudget.Limit.OR_BRANCHES, orBranches.getLimit());
+        assertEquals(QueryBudget.Limit.SEARCH_COLUMNS, searchColumns.getLimit());
+        assertEquals(2, budgeted.list(Product.class, new OmniSearchOptions().query("name=='Gaming Laptop',name=='Office Chair'")).size());
+    }
+
+    @Test
+    @DisplayName("Should merge equalities and answer constant-false queries")
+    void testOptimizedQuery() {
+        var merged = omniSearch.list(Product.class, new OmniSearchOptions()
+                .query("name=='Office Chair',(name=='4K Monitor',name=='Office Chair')"));
+        var filter = RsqlOptimizer.alwaysFalse().accept(new MongoFilterVisitor<>(Product.class));
+        var collection = database.getCollection(CollectionNameResolver.resolveCollectionName(Product.class));
+
+        assertEquals(2, merged.size());
+        assertEquals(0, collection.countDocuments(filter));
+    }
+
+    public record ProductRow(String name, Double price) {
+    }
+
+    @Test
+    @DisplayName("Should read only the requested fields")
+    void testProjection() {
+        var rows = omniSearch.project(Product.class, new OmniSearchOptions()
+                .query("name=='Gaming Laptop'"), ProductRow.class);
+        var products = omniSearch.list(Product.class, new OmniSearchOptions()
+                .query("name=='Gaming Laptop'")
+                .fields("name"));
+
+        assertEquals(List.of(new ProductRow("Gaming Laptop", 1299.99)), rows);
+        assertEquals("Gaming Laptop", products.getFirst().getName());
+        assertNull(products.getFirst().getPrice());
+        assertTrue(products.getFirst().getReviews() == null || products.getFirst().getReviews().isEmpty());
+    }
+
     @Test
     @DisplayName("Should combine search with sorting and pagination")
     void testSearchWithSortingAndPagination() {
@@ -516,4 +728,19 @@ class MongoOmniSearchTest {
         assertEquals(1, results.size()); // Should return 1 product with price == 89.99
         assertEquals("Mechanical Keyboard", results.getFirst().getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should share an unmodifiable sort between requests of the same shape")
+    void testSharedSortIsUnmodifiable() {
+        var filterBuilder = new DefaultMongoOmniSearchFilterBuilder();
+        var options = new OmniSearchOptions()
+                .sort(Sort.by("price", Order.Direction.ASC));
+
+        var sort = filterBuilder.buildSort(Product.class, options);
+
+        assertSame(sort, filterBuilder.buildSort(Product.class, options));
+        var document = assertInstanceOf(org.bson.BsonDocument.class, sort);
+        assertThrows(UnsupportedOperationException.class, () -> document.put("name", new org.bson.BsonInt32(1)));
+        assertEquals(1, document.getInt32("price").getValue());
+    }
+}
@@ -0,0 +1,69 @@
+package com.peluware.omnisearch.reactive;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearch;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Non-blocking counterpart of {@link OmniSearch}, for providers backed by asynchronous drivers.
+ *
+ * <p>
+ * This contract only depends on the JDK ({@link CompletionStage} and {@link Flow.Publisher}), so it can be
+ * implemented and consumed with any reactive library. The {@code omni-search-reactive-mutiny} module exposes
+ * it with Mutiny types.
+ * </p>
+ */
+public interface ReactiveOmniSearch {
+
+    /**
+     * Executes a search operation for the specified entity class using the provided options.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return a stage completed with the list of matched entities
+     */
+    <E> CompletionStage<List<E>> list(Class<E> entityClass, OmniSearchOptions options);
+
+    /**
+     * Counts the total number of matched entities for the specified entity class using the provided options.
+     *
+     * @param entityClass the class of the entity to count
+     * @param options     the search options including filters and joins
+     * @param <E>         the entity type
+     * @return a stage completed with the total number of matched entities
+     */
+    <E> CompletionStage<Long> count(Class<E> entityClass, OmniSearchBaseOptions options);
+
+    /**
+     * Executes a search operation for the specified entity class and publishes the matched entities as they
+     * are read, honouring the demand of the subscriber.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return a publisher of matched entities
+     */
+    <E> Flow.Publisher<E> stream(Class<E> entityClass, OmniSearchOptions options);
+
+    /**
+     * Executes a paginated search operation for the specified entity class using the provided options.
+     * The list and count operations are both started before either completes.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return a stage completed with the paginated result of matched entities
+     */
+    default <E> CompletionStage<Page<E>> page(Class<E> entityClass, OmniSearchOptions options) {
+        return list(entityClass, options).thenCombine(
+                count(entityClass, options),
+                (content, total) -> Page.deferred(content, options.getPagination(), options.getSort(), () -> total)
+        );
+    }
+}
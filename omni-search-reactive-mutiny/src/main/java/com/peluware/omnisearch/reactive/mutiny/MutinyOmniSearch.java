@@ -0,0 +1,78 @@
+package com.peluware.omnisearch.reactive.mutiny;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.reactive.ReactiveOmniSearch;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+
+/**
+ * Defines the contract for non-blocking search operations with Mutiny types, as used by Quarkus and
+ * Hibernate Reactive.
+ *
+ * <p>
+ * Every operation is lazy: nothing is executed until the returned {@link Uni} or {@link Multi} is subscribed.
+ * Any {@link ReactiveOmniSearch} can be exposed through this contract with {@link #of(ReactiveOmniSearch)}.
+ * </p>
+ */
+public interface MutinyOmniSearch {
+
+    /**
+     * Executes a search operation for the specified entity class using the provided options.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return the list of matched entities
+     */
+    <E> Uni<List<E>> list(Class<E> entityClass, OmniSearchOptions options);
+
+    /**
+     * Counts the total number of matched entities for the specified entity class using the provided options.
+     *
+     * @param entityClass the class of the entity to count
+     * @param options     the search options including filters and joins
+     * @param <E>         the entity type
+     * @return the total number of matched entities
+     */
+    <E> Uni<Long> count(Class<E> entityClass, OmniSearchBaseOptions options);
+
+    /**
+     * Executes a search operation for the specified entity class and emits the matched entities one by one.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return the matched entities
+     */
+    <E> Multi<E> stream(Class<E> entityClass, OmniSearchOptions options);
+
+    /**
+     * Executes a paginated search operation for the specified entity class using the provided options.
+     * The list and count operations are subscribed together.
+     *
+     * @param entityClass the class of the entity to search
+     * @param options     the search options including filters, sorting, and pagination
+     * @param <E>         the entity type
+     * @return the paginated result of matched entities
+     */
+    default <E> Uni<Page<E>> page(Class<E> entityClass, OmniSearchOptions options) {
+        return Uni.combine().all()
+                .unis(list(entityClass, options), count(entityClass, options))
+                .asTuple()
+                .map(tuple -> Page.deferred(tuple.getItem1(), options.getPagination(), options.getSort(), tuple::getItem2));
+    }
+
+    /**
+     * Exposes a {@link ReactiveOmniSearch} with Mutiny types.
+     *
+     * @param delegate the search to adapt
+     * @return the adapted search
+     */
+    static MutinyOmniSearch of(ReactiveOmniSearch delegate) {
+        return new MutinyOmniSearchAdapter(delegate);
+    }
+}
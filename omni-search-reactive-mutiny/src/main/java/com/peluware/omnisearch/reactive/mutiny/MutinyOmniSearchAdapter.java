@@ -0,0 +1,50 @@
+package com.peluware.omnisearch.reactive.mutiny;
+
+import com.peluware.domain.Page;
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.reactive.ReactiveOmniSearch;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+
+/**
+ * Exposes a {@link ReactiveOmniSearch} as a {@link MutinyOmniSearch}. Each subscription to a returned
+ * {@link Uni} or {@link Multi} starts a new operation on the delegate.
+ */
+public class MutinyOmniSearchAdapter implements MutinyOmniSearch {
+
+    private final ReactiveOmniSearch delegate;
+
+    public MutinyOmniSearchAdapter(ReactiveOmniSearch delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <E> Uni<List<E>> list(Class<E> entityClass, OmniSearchOptions options) {
+        return Uni.createFrom().completionStage(() -> delegate.list(entityClass, options));
+    }
+
+    @Override
+    public <E> Uni<Long> count(Class<E> entityClass, OmniSearchBaseOptions options) {
+        return Uni.createFrom().completionStage(() -> delegate.count(entityClass, options));
+    }
+
+    @Override
+    public <E> Multi<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+        return Multi.createFrom().deferred(() -> Multi.createFrom().publisher(delegate.stream(entityClass, options)));
+    }
+
+    @Override
+    public <E> Uni<Page<E>> page(Class<E> entityClass, OmniSearchOptions options) {
+        return Uni.createFrom().completionStage(() -> delegate.page(entityClass, options));
+    }
+
+    /**
+     * @return the adapted search
+     */
+    public ReactiveOmniSearch getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,105 @@
+package com.peluware.omnisearch.reactive.mutiny;
+
+import com.peluware.omnisearch.OmniSearchBaseOptions;
+import com.peluware.omnisearch.OmniSearchOptions;
+import com.peluware.omnisearch.reactive.ReactiveOmniSearch;
+import io.smallrye.mutiny.Multi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutinyOmniSearchAdapterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * In-memory search over a fixed list of names, counting how many operations were started.
+     */
+    static class NamesSearch implements ReactiveOmniSearch {
+
+        private final List<String> names = List.of("Alice", "Bob", "Dave");
+        private final AtomicInteger operations = new AtomicInteger();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <E> CompletionStage<List<E>> list(Class<E> entityClass, OmniSearchOptions options) {
+            operations.incrementAndGet();
+            return CompletableFuture.completedFuture((List<E>) names);
+        }
+
+        @Override
+        public <E> CompletionStage<Long> count(Class<E> entityClass, OmniSearchBaseOptions options) {
+            operations.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> (long) names.size());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <E> Flow.Publisher<E> stream(Class<E> entityClass, OmniSearchOptions options) {
+            operations.incrementAndGet();
+            return (Flow.Publisher<E>) Multi.createFrom().iterable(names);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not start any operation before subscription")
+    void testLazy() {
+        // Given
+        var delegate = new NamesSearch();
+        var search = MutinyOmniSearch.of(delegate);
+
+        // When
+        var list = search.list(String.class, new OmniSearchOptions());
+        var count = search.count(String.class, new OmniSearchOptions());
+        var stream = search.stream(String.class, new OmniSearchOptions());
+
+        // Then
+        assertEquals(0, delegate.operations.get());
+        assertEquals(List.of("Alice", "Bob", "Dave"), list.await().atMost(TIMEOUT));
+        assertEquals(3L, count.await().atMost(TIMEOUT));
+        assertEquals(List.of("Alice", "Bob", "Dave"), stream.collect().asList().await().atMost(TIMEOUT));
+        assertEquals(3, delegate.operations.get());
+    }
+
+    @Test
+    @DisplayName("Should start a new operation on every subscription")
+    void testResubscription() {
+        // Given
+        var delegate = new NamesSearch();
+        var list = MutinyOmniSearch.of(delegate).list(String.class, new OmniSearchOptions());
+
+        // When
+        list.await().atMost(TIMEOUT);
+        list.await().atMost(TIMEOUT);
+
+        // Then
+        assertEquals(2, delegate.operations.get());
+    }
+
+    @Test
+    @DisplayName("Should propagate failures of the delegate")
+    void testFailure() {
+        // Given
+        var delegate = new NamesSearch() {
+            @Override
+            public <E> CompletionStage<Long> count(Class<E> entityClass, OmniSearchBaseOptions options) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown property: foo"));
+            }
+        };
+
+        // When
+        var count = MutinyOmniSearch.of(delegate).count(String.class, new OmniSearchOptions().query("foo==1"));
+
+        // Then
+        var exception = assertThrows(IllegalArgumentException.class, () -> count.await().atMost(TIMEOUT));
+        assertEquals("Unknown property: foo", exception.getMessage());
+    }
+}